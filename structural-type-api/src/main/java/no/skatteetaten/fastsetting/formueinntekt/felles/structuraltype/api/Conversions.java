@@ -0,0 +1,620 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class Conversions {
+
+    private static final int LOWER_CACHE_BOUND = -128, UPPER_CACHE_BOUND = 1024;
+
+    private static final BigInteger[] INTEGERS = new BigInteger[UPPER_CACHE_BOUND - LOWER_CACHE_BOUND + 1];
+    private static final BigDecimal[] DECIMALS = new BigDecimal[UPPER_CACHE_BOUND - LOWER_CACHE_BOUND + 1];
+
+    static {
+        for (int index = 0; index < INTEGERS.length; index++) {
+            INTEGERS[index] = BigInteger.valueOf(index + LOWER_CACHE_BOUND);
+            DECIMALS[index] = BigDecimal.valueOf(index + LOWER_CACHE_BOUND);
+        }
+    }
+
+    private static final ClassValue<Map<String, Map<String, Object>>> CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Map<String, Map<String, Object>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private Conversions() {
+    }
+
+    public static boolean booleanValue(Boolean value) {
+        return value != null && value;
+    }
+
+    public static boolean booleanValue(String value) {
+        return Boolean.parseBoolean(value);
+    }
+
+    public static byte byteValue(Number value) {
+        return value == null ? 0 : value.byteValue();
+    }
+
+    public static byte byteValue(String value) {
+        return value == null ? 0 : Byte.parseByte(value);
+    }
+
+    public static short shortValue(Number value) {
+        return value == null ? 0 : value.shortValue();
+    }
+
+    public static short shortValue(String value) {
+        return value == null ? 0 : Short.parseShort(value);
+    }
+
+    public static char charValue(Character value) {
+        return value == null ? 0 : value;
+    }
+
+    public static char charValue(String value) {
+        return value == null ? 0 : value.charAt(0);
+    }
+
+    public static int intValue(Number value) {
+        return value == null ? 0 : value.intValue();
+    }
+
+    public static int intValue(String value) {
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+    public static int intValue(Year value) {
+        return value == null ? 0 : value.getValue();
+    }
+
+    public static long longValue(Number value) {
+        return value == null ? 0 : value.longValue();
+    }
+
+    public static long longValue(String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    public static float floatValue(Number value) {
+        return value == null ? 0 : value.floatValue();
+    }
+
+    public static float floatValue(String value) {
+        return value == null ? 0 : Float.parseFloat(value);
+    }
+
+    public static double doubleValue(Number value) {
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    public static double doubleValue(String value) {
+        return value == null ? 0 : Double.parseDouble(value);
+    }
+
+    public static Boolean toBoolean(String value) {
+        return value == null ? null : Boolean.valueOf(value);
+    }
+
+    public static Byte toByte(Number value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Byte) {
+            return (Byte) value;
+        } else {
+            return value.byteValue();
+        }
+    }
+
+    public static Byte toByte(String value) {
+        return value == null ? null : Byte.valueOf(value);
+    }
+
+    public static Short toShort(Number value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Short) {
+            return (Short) value;
+        } else {
+            return value.shortValue();
+        }
+    }
+
+    public static Short toShort(String value) {
+        return value == null ? null : Short.valueOf(value);
+    }
+
+    public static Character toCharacter(String value) {
+        return value == null ? null : value.charAt(0);
+    }
+
+    public static Integer toInteger(Number value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Integer) {
+            return (Integer) value;
+        } else {
+            return value.intValue();
+        }
+    }
+
+    public static Integer toInteger(String value) {
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    public static Integer toInteger(Year value) {
+        return value == null ? null : value.getValue();
+    }
+
+    public static Long toLong(Number value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Long) {
+            return (Long) value;
+        } else {
+            return value.longValue();
+        }
+    }
+
+    public static Long toLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    public static Float toFloat(Number value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Float) {
+            return (Float) value;
+        } else {
+            return value.floatValue();
+        }
+    }
+
+    public static Float toFloat(String value) {
+        return value == null ? null : Float.valueOf(value);
+    }
+
+    public static Double toDouble(Number value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Double) {
+            return (Double) value;
+        } else {
+            return value.doubleValue();
+        }
+    }
+
+    public static Double toDouble(String value) {
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    public static BigInteger toBigInteger(long value) {
+        return value >= LOWER_CACHE_BOUND && value <= UPPER_CACHE_BOUND
+            ? INTEGERS[(int) value - LOWER_CACHE_BOUND]
+            : BigInteger.valueOf(value);
+    }
+
+    public static BigInteger toBigInteger(BigDecimal value) {
+        return value == null ? null : value.toBigInteger();
+    }
+
+    public static BigInteger toBigInteger(Number value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return toBigInteger(value.longValue());
+        } else {
+            return new BigInteger(value.toString());
+        }
+    }
+
+    public static BigInteger toBigInteger(String value) {
+        return value == null ? null : new BigInteger(value);
+    }
+
+    public static BigInteger toBigInteger(Year value) {
+        return value == null ? null : toBigInteger(value.getValue());
+    }
+
+    public static BigDecimal toBigDecimal(long value) {
+        return value >= LOWER_CACHE_BOUND && value <= UPPER_CACHE_BOUND
+            ? DECIMALS[(int) value - LOWER_CACHE_BOUND]
+            : BigDecimal.valueOf(value);
+    }
+
+    public static BigDecimal toBigDecimal(double value) {
+        return BigDecimal.valueOf(value);
+    }
+
+    public static BigDecimal toBigDecimal(Float value) {
+        return value == null ? null : BigDecimal.valueOf(value);
+    }
+
+    public static BigDecimal toBigDecimal(Number value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return toBigDecimal(value.longValue());
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Double) {
+            return BigDecimal.valueOf(value.doubleValue());
+        } else {
+            return new BigDecimal(value.toString());
+        }
+    }
+
+    public static BigDecimal toBigDecimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    public static Number toNumber(String value) {
+        if (value == null) {
+            return null;
+        } else if (value.indexOf('.') == -1) {
+            return Long.valueOf(value);
+        } else {
+            return Double.valueOf(value);
+        }
+    }
+
+    public static LocalDate toLocalDate(LocalDateTime value) {
+        return value == null ? null : value.toLocalDate();
+    }
+
+    public static LocalDate toLocalDate(String value) {
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    public static LocalDateTime toLocalDateTime(LocalDate value) {
+        return value == null ? null : value.atStartOfDay();
+    }
+
+    public static LocalDateTime toLocalDateTime(String value) {
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+
+    public static LocalTime toLocalTime(String value) {
+        return value == null ? null : LocalTime.parse(value);
+    }
+
+    public static OffsetDateTime toOffsetDateTime(String value) {
+        return value == null ? null : OffsetDateTime.parse(value);
+    }
+
+    public static OffsetTime toOffsetTime(String value) {
+        return value == null ? null : OffsetTime.parse(value);
+    }
+
+    public static ZonedDateTime toZonedDateTime(String value) {
+        return value == null ? null : ZonedDateTime.parse(value);
+    }
+
+    public static Year toYear(int value) {
+        return Year.of(value);
+    }
+
+    public static Year toYear(Number value) {
+        return value == null ? null : Year.of(value.intValue());
+    }
+
+    public static Year toYear(String value) {
+        return value == null ? null : Year.of(Integer.parseInt(value));
+    }
+
+    public static boolean isByte(String value) {
+        return isIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    public static boolean isShort(String value) {
+        return isIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    public static boolean isInteger(String value) {
+        return isIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static boolean isLong(String value) {
+        return isIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public static boolean isFloat(String value) {
+        return isFloating(value);
+    }
+
+    public static boolean isDouble(String value) {
+        return isFloating(value);
+    }
+
+    public static boolean isNumber(String value) {
+        return value.indexOf('.') == -1 ? isLong(value) : isDouble(value);
+    }
+
+    public static boolean isCharacter(String value) {
+        return !value.isEmpty();
+    }
+
+    public static boolean isBigInteger(String value) {
+        int length = value.length(), index = 0;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            index++;
+        }
+        if (index == length) {
+            return false;
+        }
+        for (; index < length; index++) {
+            if (Character.digit(value.charAt(index), 10) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isBigDecimal(String value) {
+        int length = value.length(), index = 0, digits = 0, fraction = 0;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            index++;
+        }
+        while (index < length && Character.isDigit(value.charAt(index))) {
+            index++;
+            digits++;
+        }
+        if (index < length && value.charAt(index) == '.') {
+            index++;
+            while (index < length && Character.isDigit(value.charAt(index))) {
+                index++;
+                digits++;
+                fraction++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        } else if (index < length && (value.charAt(index) == 'e' || value.charAt(index) == 'E')) {
+            int exponent = ++index;
+            if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+                index++;
+            }
+            if (index == length || !Character.isDigit(value.charAt(index)) || !isInteger(value.substring(exponent))) {
+                return false;
+            }
+            long scale = fraction - Long.parseLong(value.substring(exponent));
+            return scale >= Integer.MIN_VALUE && scale <= Integer.MAX_VALUE;
+        } else {
+            return index == length;
+        }
+    }
+
+    public static boolean isYear(int value) {
+        return value >= Year.MIN_VALUE && value <= Year.MAX_VALUE;
+    }
+
+    public static boolean isYear(String value) {
+        return isInteger(value) && isYear(Integer.parseInt(value));
+    }
+
+    public static boolean isLocalDate(String value) {
+        return isTemporal(value, DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    public static boolean isLocalTime(String value) {
+        return isTemporal(value, DateTimeFormatter.ISO_LOCAL_TIME);
+    }
+
+    public static boolean isLocalDateTime(String value) {
+        return isTemporal(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    public static boolean isOffsetDateTime(String value) {
+        return isTemporal(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    public static boolean isOffsetTime(String value) {
+        return isTemporal(value, DateTimeFormatter.ISO_OFFSET_TIME);
+    }
+
+    public static boolean isZonedDateTime(String value) {
+        return isTemporal(value, DateTimeFormatter.ISO_ZONED_DATE_TIME);
+    }
+
+    public static <T extends Enum<T>> boolean isConstant(
+        Class<T> type, String serializer, Function<? super T, ?> accessor, String value
+    ) {
+        return constants(type, serializer, accessor).containsKey(value);
+    }
+
+    public static <T extends Enum<T>> T toConstant(
+        Class<T> type, String serializer, Function<? super T, ?> accessor, String value
+    ) {
+        if (value == null) {
+            return null;
+        }
+        Object constant = constants(type, serializer, accessor).get(value);
+        if (constant == null) {
+            throw new IllegalArgumentException("No constant of " + type.getTypeName() + " with " + serializer + " " + value);
+        }
+        return type.cast(constant);
+    }
+
+    private static <T extends Enum<T>> Map<String, Object> constants(
+        Class<T> type, String serializer, Function<? super T, ?> accessor
+    ) {
+        Map<String, Map<String, Object>> serializers = CONSTANTS.get(type);
+        Map<String, Object> constants = serializers.get(serializer);
+        if (constants == null) {
+            constants = serializers.computeIfAbsent(serializer, name -> Arrays.stream(type.getEnumConstants()).collect(Collectors.toMap(
+                constant -> String.valueOf(accessor.apply(constant)),
+                Function.<Object>identity(),
+                (left, right) -> left
+            )));
+        }
+        return constants;
+    }
+
+    private static boolean isIntegral(String value, long min, long max) {
+        int length = value.length(), index = 0;
+        if (length == 0) {
+            return false;
+        }
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                return false;
+            }
+            negative = first == '-';
+            index++;
+        }
+        long limit = negative ? min : -max, multiplicationLimit = limit / 10, result = 0;
+        for (; index < length; index++) {
+            int digit = Character.digit(value.charAt(index), 10);
+            if (digit < 0 || result < multiplicationLimit) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        return true;
+    }
+
+    private static boolean isFloating(String value) {
+        String trimmed = value.trim();
+        int length = trimmed.length(), index = 0, digits = 0;
+        if (length > 0 && (trimmed.charAt(0) == '-' || trimmed.charAt(0) == '+')) {
+            index++;
+        }
+        if (trimmed.startsWith("NaN", index)) {
+            return index + 3 == length;
+        } else if (trimmed.startsWith("Infinity", index)) {
+            return index + 8 == length;
+        } else if (trimmed.startsWith("0x", index) || trimmed.startsWith("0X", index)) {
+            return isHexFloating(trimmed, index + 2);
+        }
+        while (index < length && isAsciiDigit(trimmed.charAt(index))) {
+            index++;
+            digits++;
+        }
+        if (index < length && trimmed.charAt(index) == '.') {
+            index++;
+            while (index < length && isAsciiDigit(trimmed.charAt(index))) {
+                index++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (index < length && (trimmed.charAt(index) == 'e' || trimmed.charAt(index) == 'E')) {
+            index++;
+            if (index < length && (trimmed.charAt(index) == '-' || trimmed.charAt(index) == '+')) {
+                index++;
+            }
+            int exponent = 0;
+            while (index < length && isAsciiDigit(trimmed.charAt(index))) {
+                index++;
+                exponent++;
+            }
+            if (exponent == 0) {
+                return false;
+            }
+        }
+        if (index < length && "fFdD".indexOf(trimmed.charAt(index)) != -1) {
+            index++;
+        }
+        return index == length;
+    }
+
+    private static boolean isHexFloating(String value, int index) {
+        int length = value.length(), digits = 0;
+        while (index < length && isAsciiHexDigit(value.charAt(index))) {
+            index++;
+            digits++;
+        }
+        if (index < length && value.charAt(index) == '.') {
+            index++;
+            while (index < length && isAsciiHexDigit(value.charAt(index))) {
+                index++;
+                digits++;
+            }
+        }
+        if (digits == 0 || index == length || value.charAt(index) != 'p' && value.charAt(index) != 'P') {
+            return false;
+        }
+        index++;
+        if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+            index++;
+        }
+        int exponent = 0;
+        while (index < length && isAsciiDigit(value.charAt(index))) {
+            index++;
+            exponent++;
+        }
+        if (exponent == 0) {
+            return false;
+        }
+        if (index < length && "fFdD".indexOf(value.charAt(index)) != -1) {
+            index++;
+        }
+        return index == length;
+    }
+
+    private static boolean isAsciiDigit(char value) {
+        return value >= '0' && value <= '9';
+    }
+
+    private static boolean isAsciiHexDigit(char value) {
+        return isAsciiDigit(value) || value >= 'a' && value <= 'f' || value >= 'A' && value <= 'F';
+    }
+
+    private static boolean isTemporal(String value, DateTimeFormatter formatter) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter.parseUnresolved(value, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != value.length()) {
+            return false;
+        } else if (formatter.getResolverStyle() == ResolverStyle.LENIENT) {
+            return true;
+        }
+        for (ChronoField field : ChronoField.values()) {
+            if (parsed.isSupported(field) && !field.range().isValidValue(parsed.getLong(field))) {
+                return false;
+            }
+        }
+        if (formatter.getResolverStyle() == ResolverStyle.STRICT
+            && parsed.isSupported(ChronoField.YEAR)
+            && parsed.isSupported(ChronoField.MONTH_OF_YEAR)
+            && parsed.isSupported(ChronoField.DAY_OF_MONTH)) {
+            return YearMonth.of(
+                parsed.get(ChronoField.YEAR),
+                parsed.get(ChronoField.MONTH_OF_YEAR)
+            ).isValidDay(parsed.get(ChronoField.DAY_OF_MONTH));
+        }
+        return true;
+    }
+}
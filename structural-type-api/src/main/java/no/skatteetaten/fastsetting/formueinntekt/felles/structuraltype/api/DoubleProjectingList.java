@@ -0,0 +1,68 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+
+public class DoubleProjectingList extends AbstractList<Double> {
+
+    private final List<?> delegate;
+
+    private final ToDoubleFunction<Object> converter;
+
+    @SuppressWarnings("unchecked")
+    public <P> DoubleProjectingList(List<P> delegate, ToDoubleFunction<? super P> converter) {
+        this.delegate = delegate;
+        this.converter = (ToDoubleFunction<Object>) converter;
+    }
+
+    public static <P> DoubleProjectingList of(List<P> delegate, ToDoubleFunction<? super P> converter) {
+        return new DoubleProjectingList(delegate == null ? Collections.emptyList() : delegate, converter);
+    }
+
+    public double getDouble(int index) {
+        return converter.applyAsDouble(delegate.get(index));
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    public PrimitiveIterator.OfDouble doubleIterator() {
+        Iterator<?> iterator = delegate.iterator();
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return converter.applyAsDouble(iterator.next());
+            }
+        };
+    }
+
+    public DoubleStream doubleStream() {
+        return delegate.stream().mapToDouble(converter);
+    }
+
+    public double[] toDoubleArray() {
+        double[] values = new double[delegate.size()];
+        int index = 0;
+        for (Object value : delegate) {
+            values[index++] = converter.applyAsDouble(value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,108 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+public class Fingerprint {
+
+    public static final long INITIAL = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private Fingerprint() {
+    }
+
+    public static long ofValue(long fingerprint, String name, Object value) {
+        if (value == null) {
+            return fingerprint;
+        }
+        return ofValue(ofText(fingerprint, name), value);
+    }
+
+    public static long ofValues(long fingerprint, String name, List<?> values) {
+        if (values == null || values.isEmpty()) {
+            return fingerprint;
+        }
+        fingerprint = ofNumber(ofText(fingerprint, name), values.size());
+        for (Object value : values) {
+            fingerprint = value == null ? ofNumber(fingerprint, 0) : ofValue(fingerprint, value);
+        }
+        return fingerprint;
+    }
+
+    public static long ofStructure(long fingerprint, String name, long nested) {
+        return ofNumber(ofText(fingerprint, name), nested);
+    }
+
+    public static long ofStructures(long fingerprint, String name, int size) {
+        return size == 0 ? fingerprint : ofNumber(ofText(fingerprint, name), size);
+    }
+
+    public static long ofNumber(long fingerprint, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            fingerprint = (fingerprint ^ (value >>> shift & 0xFF)) * PRIME;
+        }
+        return fingerprint;
+    }
+
+    public static long complete(long fingerprint) {
+        fingerprint = (fingerprint ^ fingerprint >>> 33) * 0xff51afd7ed558ccdL;
+        fingerprint = (fingerprint ^ fingerprint >>> 33) * 0xc4ceb9fe1a85ec53L;
+        return fingerprint ^ fingerprint >>> 33;
+    }
+
+    private static long ofValue(long fingerprint, Object value) {
+        if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            fingerprint = ofNumber(fingerprint, bytes.length);
+            for (byte current : bytes) {
+                fingerprint = (fingerprint ^ (current & 0xFF)) * PRIME;
+            }
+            return fingerprint;
+        } else if (value instanceof Enum<?>) {
+            return ofText(fingerprint, ((Enum<?>) value).name());
+        } else if (value instanceof Date) {
+            return ofNumber(fingerprint, ((Date) value).getTime());
+        } else if (value instanceof Calendar) {
+            return ofNumber(fingerprint, ((Calendar) value).getTimeInMillis());
+        } else if (value instanceof XMLGregorianCalendar) {
+            return ofCalendar(fingerprint, (XMLGregorianCalendar) value);
+        } else if (value instanceof Duration) {
+            return ofNumber(fingerprint, value.hashCode());
+        } else {
+            return ofText(fingerprint, value.toString());
+        }
+    }
+
+    private static long ofCalendar(long fingerprint, XMLGregorianCalendar value) {
+        if (value.getTimezone() != DatatypeConstants.FIELD_UNDEFINED) {
+            value = value.normalize();
+        }
+        fingerprint = ofText(fingerprint, String.valueOf(value.getEonAndYear()));
+        fingerprint = ofNumber(fingerprint, value.getMonth());
+        fingerprint = ofNumber(fingerprint, value.getDay());
+        fingerprint = ofNumber(fingerprint, value.getHour());
+        fingerprint = ofNumber(fingerprint, value.getMinute());
+        fingerprint = ofNumber(fingerprint, value.getSecond());
+        BigDecimal fraction = value.getFractionalSecond();
+        fingerprint = ofText(fingerprint, fraction == null || fraction.signum() == 0
+            ? ""
+            : fraction.stripTrailingZeros().toPlainString());
+        return ofNumber(fingerprint, value.getTimezone());
+    }
+
+    private static long ofText(long fingerprint, String text) {
+        fingerprint = ofNumber(fingerprint, text.length());
+        for (int index = 0; index < text.length(); index++) {
+            char current = text.charAt(index);
+            fingerprint = (fingerprint ^ (current & 0xFF)) * PRIME;
+            fingerprint = (fingerprint ^ (current >>> 8)) * PRIME;
+        }
+        return fingerprint;
+    }
+}
@@ -0,0 +1,37 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.function.ToIntFunction;
+
+public final class HashCodeCache {
+
+    private long version;
+
+    private Entry entry;
+
+    public void invalidate() {
+        version++;
+    }
+
+    public <T> int hashCode(T value, ToIntFunction<? super T> computation) {
+        long version = this.version;
+        Entry entry = this.entry;
+        if (entry != null && entry.version == version) {
+            return entry.hashCode;
+        }
+        int hashCode = computation.applyAsInt(value);
+        this.entry = new Entry(version, hashCode);
+        return hashCode;
+    }
+
+    private static final class Entry {
+
+        private final long version;
+
+        private final int hashCode;
+
+        private Entry(long version, int hashCode) {
+            this.version = version;
+            this.hashCode = hashCode;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+public class IntProjectingList extends AbstractList<Integer> {
+
+    private final List<?> delegate;
+
+    private final ToIntFunction<Object> converter;
+
+    @SuppressWarnings("unchecked")
+    public <P> IntProjectingList(List<P> delegate, ToIntFunction<? super P> converter) {
+        this.delegate = delegate;
+        this.converter = (ToIntFunction<Object>) converter;
+    }
+
+    public static <P> IntProjectingList of(List<P> delegate, ToIntFunction<? super P> converter) {
+        return new IntProjectingList(delegate == null ? Collections.emptyList() : delegate, converter);
+    }
+
+    public int getInt(int index) {
+        return converter.applyAsInt(delegate.get(index));
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    public PrimitiveIterator.OfInt intIterator() {
+        Iterator<?> iterator = delegate.iterator();
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return converter.applyAsInt(iterator.next());
+            }
+        };
+    }
+
+    public IntStream intStream() {
+        return delegate.stream().mapToInt(converter);
+    }
+
+    public int[] toIntArray() {
+        int[] values = new int[delegate.size()];
+        int index = 0;
+        for (Object value : delegate) {
+            values[index++] = converter.applyAsInt(value);
+        }
+        return values;
+    }
+}
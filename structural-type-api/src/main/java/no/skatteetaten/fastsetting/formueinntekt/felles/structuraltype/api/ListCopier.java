@@ -0,0 +1,71 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+public class ListCopier {
+
+    private static final int SPLITS_PER_THREAD = 4;
+
+    private ListCopier() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void copy(
+        List<? extends T> source,
+        List<? super T> target,
+        Function<? super T, ? extends T> copier,
+        int threshold
+    ) {
+        Object[] values = source.toArray();
+        if (values.length == 0) {
+            return;
+        } else if (values.length < threshold) {
+            for (int index = 0; index < values.length; index++) {
+                values[index] = copier.apply((T) values[index]);
+            }
+        } else {
+            new CopyAction<>(values, copier, 0, values.length, Math.max(
+                1,
+                values.length / (ForkJoinPool.getCommonPoolParallelism() * SPLITS_PER_THREAD)
+            )).invoke();
+        }
+        target.addAll((List<T>) Arrays.asList(values));
+    }
+
+    private static class CopyAction<T> extends RecursiveAction {
+
+        private final Object[] values;
+
+        private final Function<? super T, ? extends T> copier;
+
+        private final int from, to, batch;
+
+        private CopyAction(Object[] values, Function<? super T, ? extends T> copier, int from, int to, int batch) {
+            this.values = values;
+            this.copier = copier;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            if (to - from <= batch) {
+                for (int index = from; index < to; index++) {
+                    values[index] = copier.apply((T) values[index]);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                    new CopyAction<>(values, copier, from, middle, batch),
+                    new CopyAction<>(values, copier, middle, to, batch)
+                );
+            }
+        }
+    }
+}
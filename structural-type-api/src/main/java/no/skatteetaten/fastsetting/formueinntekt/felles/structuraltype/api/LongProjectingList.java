@@ -0,0 +1,68 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+
+public class LongProjectingList extends AbstractList<Long> {
+
+    private final List<?> delegate;
+
+    private final ToLongFunction<Object> converter;
+
+    @SuppressWarnings("unchecked")
+    public <P> LongProjectingList(List<P> delegate, ToLongFunction<? super P> converter) {
+        this.delegate = delegate;
+        this.converter = (ToLongFunction<Object>) converter;
+    }
+
+    public static <P> LongProjectingList of(List<P> delegate, ToLongFunction<? super P> converter) {
+        return new LongProjectingList(delegate == null ? Collections.emptyList() : delegate, converter);
+    }
+
+    public long getLong(int index) {
+        return converter.applyAsLong(delegate.get(index));
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    public PrimitiveIterator.OfLong longIterator() {
+        Iterator<?> iterator = delegate.iterator();
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return converter.applyAsLong(iterator.next());
+            }
+        };
+    }
+
+    public LongStream longStream() {
+        return delegate.stream().mapToLong(converter);
+    }
+
+    public long[] toLongArray() {
+        long[] values = new long[delegate.size()];
+        int index = 0;
+        for (Object value : delegate) {
+            values[index++] = converter.applyAsLong(value);
+        }
+        return values;
+    }
+}
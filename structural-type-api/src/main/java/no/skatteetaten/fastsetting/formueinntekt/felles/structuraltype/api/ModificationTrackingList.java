@@ -0,0 +1,70 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+public class ModificationTrackingList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final HashCodeCache cache;
+
+    private final List<E> delegate;
+
+    public ModificationTrackingList(HashCodeCache cache) {
+        this.cache = cache;
+        delegate = new ArrayList<>();
+    }
+
+    @Override
+    public E get(int index) {
+        return delegate.get(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = delegate.set(index, element);
+        cache.invalidate();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        delegate.add(index, element);
+        modCount++;
+        cache.invalidate();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> elements) {
+        boolean modified = delegate.addAll(elements);
+        if (modified) {
+            modCount++;
+            cache.invalidate();
+        }
+        return modified;
+    }
+
+    @Override
+    public E remove(int index) {
+        E previous = delegate.remove(index);
+        modCount++;
+        cache.invalidate();
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (!delegate.isEmpty()) {
+            delegate.clear();
+            modCount++;
+            cache.invalidate();
+        }
+    }
+}
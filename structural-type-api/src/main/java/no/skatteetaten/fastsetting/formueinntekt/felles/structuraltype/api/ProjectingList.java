@@ -1,8 +1,17 @@
 package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public class ProjectingList<E, P> extends AbstractList<E> {
 
@@ -18,7 +27,13 @@ public class ProjectingList<E, P> extends AbstractList<E> {
     }
 
     public static <E, P> List<E> of(List<P> delegate, Function<P, E> wrap, Function<E, P> unwrap) {
-        return delegate == null ? new ProjectingEmptyList<>() : new ProjectingList<>(delegate, wrap, unwrap);
+        if (delegate == null) {
+            return new ProjectingEmptyList<>();
+        } else if (delegate instanceof RandomAccess) {
+            return new ProjectingRandomAccessList<>(delegate, wrap, unwrap);
+        } else {
+            return new ProjectingList<>(delegate, wrap, unwrap);
+        }
     }
 
     @Override
@@ -49,4 +64,82 @@ public class ProjectingList<E, P> extends AbstractList<E> {
     public int size() {
         return delegate.size();
     }
+
+    @Override
+    public boolean addAll(Collection<? extends E> elements) {
+        return delegate.addAll(unwrap(elements));
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> elements) {
+        return delegate.addAll(index, unwrap(elements));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return delegate.removeIf(value -> filter.test(wrap.apply(value)));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> elements) {
+        return removeIf(elements::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+        return removeIf(element -> !elements.contains(element));
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        ListIterator<P> iterator = delegate.listIterator();
+        while (iterator.hasNext()) {
+            P value = unwrap.apply(operator.apply(wrap.apply(iterator.next())));
+            if (value == null) {
+                iterator.remove();
+            } else {
+                iterator.set(value);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> comparator) {
+        Comparator<? super E> resolved = comparator == null
+            ? (Comparator<? super E>) Comparator.naturalOrder()
+            : comparator;
+        delegate.sort((left, right) -> resolved.compare(wrap.apply(left), wrap.apply(right)));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return new ProjectingListIterator<>(delegate.listIterator(index), wrap, unwrap);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ProjectingSpliterator<>(delegate.spliterator(), wrap);
+    }
+
+    private List<P> unwrap(Collection<? extends E> elements) {
+        List<P> values = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            P value = unwrap.apply(element);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
 }
@@ -0,0 +1,71 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.ListIterator;
+import java.util.function.Function;
+
+public class ProjectingListIterator<E, P> implements ListIterator<E> {
+
+    private final ListIterator<P> delegate;
+
+    private final Function<P, E> wrap;
+    private final Function<E, P> unwrap;
+
+    public ProjectingListIterator(ListIterator<P> delegate, Function<P, E> wrap, Function<E, P> unwrap) {
+        this.delegate = delegate;
+        this.wrap = wrap;
+        this.unwrap = unwrap;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return delegate.hasNext();
+    }
+
+    @Override
+    public E next() {
+        return wrap.apply(delegate.next());
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return delegate.hasPrevious();
+    }
+
+    @Override
+    public E previous() {
+        return wrap.apply(delegate.previous());
+    }
+
+    @Override
+    public int nextIndex() {
+        return delegate.nextIndex();
+    }
+
+    @Override
+    public int previousIndex() {
+        return delegate.previousIndex();
+    }
+
+    @Override
+    public void remove() {
+        delegate.remove();
+    }
+
+    @Override
+    public void set(E element) {
+        P value = unwrap.apply(element);
+        if (value == null) {
+            delegate.remove();
+        } else {
+            delegate.set(value);
+        }
+    }
+
+    @Override
+    public void add(E element) {
+        P value = unwrap.apply(element);
+        if (value != null) {
+            delegate.add(value);
+        }
+    }
+}
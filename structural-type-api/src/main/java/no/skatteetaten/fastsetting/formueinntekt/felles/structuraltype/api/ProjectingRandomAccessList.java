@@ -0,0 +1,12 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+public class ProjectingRandomAccessList<E, P> extends ProjectingList<E, P> implements RandomAccess {
+
+    public ProjectingRandomAccessList(List<P> delegate, Function<P, E> wrap, Function<E, P> unwrap) {
+        super(delegate, wrap, unwrap);
+    }
+}
@@ -1,6 +1,9 @@
 package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
 
 import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -72,4 +75,12 @@ public class ProjectingSingletonList<E, P> extends AbstractList<E> {
     public int size() {
         return getter.get() == null ? 0 : 1;
     }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        P value = getter.get();
+        return value == null
+            ? Spliterators.emptySpliterator()
+            : new ProjectingSpliterator<>(Collections.singletonList(value).spliterator(), wrap);
+    }
 }
@@ -0,0 +1,50 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class ProjectingSpliterator<E, P> implements Spliterator<E> {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+
+    private final Spliterator<P> delegate;
+
+    private final Function<P, E> wrap;
+
+    public ProjectingSpliterator(Spliterator<P> delegate, Function<P, E> wrap) {
+        this.delegate = delegate;
+        this.wrap = wrap;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        return delegate.tryAdvance(value -> action.accept(wrap.apply(value)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        delegate.forEachRemaining(value -> action.accept(wrap.apply(value)));
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        Spliterator<P> split = delegate.trySplit();
+        return split == null ? null : new ProjectingSpliterator<>(split, wrap);
+    }
+
+    @Override
+    public long estimateSize() {
+        return delegate.estimateSize();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return delegate.getExactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return delegate.characteristics() & CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,33 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface Rebindable<T, S> {
+
+    S rebind(T delegate);
+
+    static <U, S> void forEach(Iterable<? extends U> delegates, Rebindable<U, ? extends S> cursor, Consumer<? super S> consumer) {
+        for (U delegate : delegates) {
+            consumer.accept(cursor.rebind(delegate));
+        }
+    }
+
+    static <U, S> Iterable<S> iterate(Iterable<? extends U> delegates, Rebindable<U, ? extends S> cursor) {
+        return () -> {
+            Iterator<? extends U> iterator = delegates.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public S next() {
+                    return cursor.rebind(iterator.next());
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+public class TrialException extends RuntimeException {
+
+    private final String property;
+
+    private final TrialFailure failure;
+
+    public TrialException(String property, TrialFailure failure, Throwable cause) {
+        super("Could not set property '" + property + "': " + failure, cause, false, false);
+        this.property = property;
+        this.failure = failure;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public TrialFailure getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,22 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.time.DateTimeException;
+
+public enum TrialFailure {
+    CONVERSION,
+    UNSUPPORTED,
+    PROJECTION,
+    OTHER;
+
+    public static TrialFailure of(RuntimeException exception) {
+        if (exception instanceof ProjectionTypeException) {
+            return PROJECTION;
+        } else if (exception instanceof IllegalArgumentException || exception instanceof DateTimeException) {
+            return CONVERSION;
+        } else if (exception instanceof UnsupportedOperationException) {
+            return UNSUPPORTED;
+        } else {
+            return OTHER;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.function.Supplier;
+
+@FunctionalInterface
+public interface TrialSink<T> {
+
+    void onFailure(T target, String property, TrialFailure failure, Supplier<TrialException> exception);
+
+    static <U> TrialSink<U> ignoring() {
+        return (target, property, failure, exception) -> { };
+    }
+
+    static <U> TrialSink<U> throwing() {
+        return (target, property, failure, exception) -> {
+            throw exception.get();
+        };
+    }
+}
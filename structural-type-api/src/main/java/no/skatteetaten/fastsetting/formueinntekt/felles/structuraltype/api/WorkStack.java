@@ -0,0 +1,182 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class WorkStack {
+
+    private static final Object TEXT = new Object();
+
+    private static final int WIDTH = 3, INITIAL = 16;
+
+    private Object[] entries = new Object[WIDTH * INITIAL];
+
+    private int size;
+
+    private WorkStack() {
+    }
+
+    public static <T> int hashCode(T value, HashCodeStep<? super T> step, Set<Object> checked) {
+        WorkStack stack = new WorkStack();
+        stack.pushHashCode(value, step);
+        int hashCode = 0;
+        while (stack.size > 0) {
+            stack.size -= WIDTH;
+            @SuppressWarnings("unchecked")
+            HashCodeStep<Object> current = (HashCodeStep<Object>) stack.entries[stack.size];
+            Object next = stack.entries[stack.size + 1];
+            stack.release();
+            if (next == null || checked != null && !checked.add(next)) {
+                hashCode = 31 * hashCode;
+            } else {
+                int mark = stack.size;
+                hashCode = 31 * hashCode + current.apply(next, stack);
+                stack.reverse(mark);
+            }
+        }
+        return hashCode;
+    }
+
+    public static <T> boolean equals(T left, T right, EqualsStep<? super T> step, Map<Object, Set<Object>> checked) {
+        WorkStack stack = new WorkStack();
+        stack.pushEquals(left, right, step);
+        while (stack.size > 0) {
+            stack.size -= WIDTH;
+            @SuppressWarnings("unchecked")
+            EqualsStep<Object> current = (EqualsStep<Object>) stack.entries[stack.size];
+            Object nextLeft = stack.entries[stack.size + 1], nextRight = stack.entries[stack.size + 2];
+            stack.release();
+            if (nextLeft == nextRight) {
+                continue;
+            } else if (nextLeft == null || nextRight == null) {
+                return false;
+            } else if (checked != null && !checked.computeIfAbsent(
+                nextLeft,
+                ignored -> Collections.newSetFromMap(new IdentityHashMap<>())
+            ).add(nextRight)) {
+                continue;
+            }
+            if (!current.apply(nextLeft, nextRight, stack)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static <T> void toString(T value, ToStringStep<? super T> step, StringBuilder builder, Set<Object> checked) {
+        WorkStack stack = new WorkStack();
+        stack.pushToString(value, step);
+        while (stack.size > 0) {
+            stack.size -= WIDTH;
+            Object current = stack.entries[stack.size], next = stack.entries[stack.size + 1];
+            stack.release();
+            if (current == TEXT) {
+                builder.append((String) next);
+            } else if (next == null) {
+                builder.append("null");
+            } else if (checked != null && !checked.add(next)) {
+                builder.append("Recursive reference to ").append(next.getClass().getTypeName())
+                    .append(" with identity ").append(System.identityHashCode(next));
+            } else {
+                int mark = stack.size;
+                @SuppressWarnings("unchecked")
+                ToStringStep<Object> cast = (ToStringStep<Object>) current;
+                cast.apply(next, builder, stack);
+                stack.reverse(mark);
+            }
+        }
+    }
+
+    public static <T> T copy(T original, Map<Object, Object> copies, CopyFactory<T> factory) {
+        WorkStack stack = new WorkStack();
+        T copy = factory.apply(original, copies, stack);
+        while (stack.size > 0) {
+            stack.size -= WIDTH;
+            @SuppressWarnings("unchecked")
+            CopyStep<Object> current = (CopyStep<Object>) stack.entries[stack.size];
+            Object nextOriginal = stack.entries[stack.size + 1], nextCopy = stack.entries[stack.size + 2];
+            stack.release();
+            current.apply(nextOriginal, nextCopy, copies, stack);
+        }
+        return copy;
+    }
+
+    public <T> void pushHashCode(T value, HashCodeStep<? super T> step) {
+        push(step, value, null);
+    }
+
+    public <T> void pushEquals(T left, T right, EqualsStep<? super T> step) {
+        push(step, left, right);
+    }
+
+    public <T> void pushToString(T value, ToStringStep<? super T> step) {
+        push(step, value, null);
+    }
+
+    public <T> void pushCopy(T original, T copy, CopyStep<? super T> step) {
+        push(step, original, copy);
+    }
+
+    public void pushText(String text) {
+        push(TEXT, text, null);
+    }
+
+    private void push(Object step, Object left, Object right) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[size] = step;
+        entries[size + 1] = left;
+        entries[size + 2] = right;
+        size += WIDTH;
+    }
+
+    private void release() {
+        entries[size] = null;
+        entries[size + 1] = null;
+        entries[size + 2] = null;
+    }
+
+    private void reverse(int mark) {
+        for (int low = mark, high = size - WIDTH; low < high; low += WIDTH, high -= WIDTH) {
+            for (int offset = 0; offset < WIDTH; offset++) {
+                Object entry = entries[low + offset];
+                entries[low + offset] = entries[high + offset];
+                entries[high + offset] = entry;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface HashCodeStep<T> {
+
+        int apply(T value, WorkStack stack);
+    }
+
+    @FunctionalInterface
+    public interface EqualsStep<T> {
+
+        boolean apply(T left, T right, WorkStack stack);
+    }
+
+    @FunctionalInterface
+    public interface ToStringStep<T> {
+
+        void apply(T value, StringBuilder builder, WorkStack stack);
+    }
+
+    @FunctionalInterface
+    public interface CopyFactory<T> {
+
+        T apply(T original, Map<Object, Object> copies, WorkStack stack);
+    }
+
+    @FunctionalInterface
+    public interface CopyStep<T> {
+
+        void apply(T original, T copy, Map<Object, Object> copies, WorkStack stack);
+    }
+}
@@ -51,6 +51,13 @@ public class BeanPropertyStrategy implements PropertyStrategy {
         case TRIAL:
             prefix = "trial";
             break;
+        case PRIMITIVE:
+        case NULLABLE:
+            prefix = "get";
+            break;
+        case CHECK:
+            prefix = cardinality == Cardinality.LIST ? "canAdd" : "canSet";
+            break;
         default:
             throw new IllegalStateException(definition.toString());
         }
@@ -0,0 +1,147 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import com.squareup.javapoet.CodeBlock;
+
+public class CostAwareTypeResolver implements TypeResolver {
+
+    private static final double DEFAULT_WEIGHT = 1, DEFAULT_COST = 1;
+
+    private final TypeResolver delegate;
+
+    private final Map<Class<?>, Double> weights;
+    private final Map<Class<?>, Map<Class<?>, Double>> costs;
+
+    private final Consumer<Resolution> reporter;
+
+    public CostAwareTypeResolver() {
+        delegate = new SimpleTypeResolver();
+        weights = Collections.emptyMap();
+        costs = Collections.emptyMap();
+        reporter = resolution -> { };
+    }
+
+    public CostAwareTypeResolver(TypeResolver delegate) {
+        this.delegate = delegate;
+        weights = Collections.emptyMap();
+        costs = Collections.emptyMap();
+        reporter = resolution -> { };
+    }
+
+    private CostAwareTypeResolver(
+        TypeResolver delegate,
+        Map<Class<?>, Double> weights,
+        Map<Class<?>, Map<Class<?>, Double>> costs,
+        Consumer<Resolution> reporter
+    ) {
+        this.delegate = delegate;
+        this.weights = weights;
+        this.costs = costs;
+        this.reporter = reporter;
+    }
+
+    public CostAwareTypeResolver withWeight(Class<?> type, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight of " + type.getTypeName() + " must not be negative: " + weight);
+        }
+        Map<Class<?>, Double> weights = new HashMap<>(this.weights);
+        weights.put(type, weight);
+        return new CostAwareTypeResolver(delegate, weights, costs, reporter);
+    }
+
+    public CostAwareTypeResolver withCost(Class<?> source, Class<?> target, double cost) {
+        if (cost < 0) {
+            throw new IllegalArgumentException("Cost of conversion from " + source.getTypeName() + " to " + target.getTypeName() + " must not be negative: " + cost);
+        }
+        Map<Class<?>, Map<Class<?>, Double>> costs = new HashMap<>(this.costs);
+        Map<Class<?>, Double> targets = new HashMap<>(costs.getOrDefault(source, Collections.emptyMap()));
+        targets.put(target, cost);
+        costs.put(source, targets);
+        return new CostAwareTypeResolver(delegate, weights, costs, reporter);
+    }
+
+    public CostAwareTypeResolver withReporter(Consumer<Resolution> reporter) {
+        return new CostAwareTypeResolver(delegate, weights, costs, reporter);
+    }
+
+    @Override
+    public Class<?> merge(Collection<Class<?>> types) {
+        Class<?> resolved = delegate.merge(types);
+        double minimum = cost(types, resolved);
+        for (Class<?> candidate : types) {
+            if (candidate != resolved && isLossless(types, candidate)) {
+                double cost = cost(types, candidate);
+                if (cost < minimum) {
+                    resolved = candidate;
+                    minimum = cost;
+                }
+            }
+        }
+        reporter.accept(new Resolution(types, resolved, minimum));
+        return resolved;
+    }
+
+    @Override
+    public Optional<CodeBlock> convert(Class<?> source, Class<?> target, CodeBlock value) {
+        return delegate.convert(source, target, value);
+    }
+
+    @Override
+    public Optional<CodeBlock> check(Class<?> source, Class<?> target, CodeBlock value) {
+        return delegate.check(source, target, value);
+    }
+
+    private boolean isLossless(Collection<Class<?>> types, Class<?> candidate) {
+        for (Class<?> type : types) {
+            if (type != candidate && !delegate.merge(Arrays.asList(type, candidate)).equals(candidate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double cost(Collection<Class<?>> types, Class<?> candidate) {
+        double cost = 0;
+        for (Class<?> type : types) {
+            if (type != candidate) {
+                cost += weights.getOrDefault(type, DEFAULT_WEIGHT) * (
+                    costs.getOrDefault(type, Collections.emptyMap()).getOrDefault(candidate, DEFAULT_COST)
+                    + costs.getOrDefault(candidate, Collections.emptyMap()).getOrDefault(type, DEFAULT_COST)
+                );
+            }
+        }
+        return cost;
+    }
+
+    public static class Resolution {
+
+        private final Collection<Class<?>> types;
+        private final Class<?> type;
+        private final double cost;
+
+        Resolution(Collection<Class<?>> types, Class<?> type, double cost) {
+            this.types = types;
+            this.type = type;
+            this.cost = cost;
+        }
+
+        public Collection<Class<?>> getTypes() {
+            return types;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public double getCost() {
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            return "Resolved " + types + " to " + type.getTypeName() + " at expected cost of " + cost;
+        }
+    }
+}
@@ -5,5 +5,14 @@ public enum FeatureGeneration {
     COPY,
     READ_DELEGATE,
     HASHCODE_EQUALS,
-    TO_STRING
+    TO_STRING,
+    LIST_ADAPTER,
+    CURSOR,
+    BRANCH_CACHE,
+    STATIC_ACCESS,
+    CLASS_DISPATCH,
+    ITERATIVE,
+    CACHED_HASHCODE,
+    FINGERPRINT,
+    FAST_COPY
 }
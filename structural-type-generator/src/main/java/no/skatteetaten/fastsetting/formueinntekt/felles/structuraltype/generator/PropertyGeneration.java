@@ -9,5 +9,8 @@ public enum PropertyGeneration {
     MERGE,
     CLEAR,
     FACTORY,
-    OWNER
+    OWNER,
+    PRIMITIVE,
+    CHECK,
+    NULLABLE
 }
@@ -14,6 +14,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -22,6 +23,7 @@ import java.util.stream.Stream;
 
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.TypeName;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.Conversions;
 
 public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
 
@@ -72,8 +74,11 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
         if (source.equals(target)) {
             return Optional.empty();
         } else if (source == String.class && target.isEnum()) {
-            return Optional.of(CodeBlock.builder().add(
-                "$L == null ? null : $T.$L($L)",
+            return Optional.of(enumHandler.isSymmetric(target) ? CodeBlock.builder().add(
+                "$T.toConstant($T.class, $S, $T::$N, $L)",
+                Conversions.class, target, enumHandler.serializer(target), target, enumHandler.serializer(target), value
+            ).build() : CodeBlock.builder().add(
+                "$L == null ? null : $T.$N($L)",
                 value, target, enumHandler.deserializer(target), value
             ).build());
         } else if (source.isEnum() && target == String.class) {
@@ -82,11 +87,25 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
                 value, value, enumHandler.serializer(source)
             ).build());
         } else {
-            return Optional.of(
-                Generalization.convert(source, target).apply(value).build()
+            return Optional.of(Generalization.convert(source, target).apply(value).build());
+        }
+    }
+
+    @Override
+    public Optional<CodeBlock> check(Class<?> source, Class<?> target, CodeBlock value) {
+        if (source.equals(target) || source.isEnum() && target == String.class) {
+            return Optional.empty();
+        } else if (source == String.class && target.isEnum()) {
+            return enumHandler.isSymmetric(target) ? Optional.of(CodeBlock.builder().add(
+                "$L == null || $T.isConstant($T.class, $S, $T::$N, $L)",
+                value, Conversions.class, target, enumHandler.serializer(target), target, enumHandler.serializer(target), value
+            ).build()) : Optional.empty();
+        } else {
+            return Generalization.check(source, target).map(
+                validator -> validator.apply(value).build()
             ).map(code -> source.isPrimitive() ? code : CodeBlock.builder().add(
-                "$L == null ? $L : $L",
-                value, target == boolean.class ? "false" : target.isPrimitive() ? "0" : "null", code
+                "$L == null || $L",
+                value, code
             ).build());
         }
     }
@@ -96,154 +115,168 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
         PRIMITIVE_BOOLEAN(boolean.class, new Definition(
             Boolean.class,
             code -> CodeBlock.builder().add("$L", code),
-            code -> CodeBlock.builder().add("$L", code)
+            Definition.using("booleanValue")
         ), new Definition(
             String.class,
             code -> CodeBlock.builder().add("$T.valueOf($L)", String.class, code),
-            code -> CodeBlock.builder().add("$T.parseBoolean($L)", Boolean.class, code)
+            Definition.using("booleanValue")
         )),
 
-        PRIMITIVE_BYTE(byte.class, Definition.ofNumericPrimitiveType(Byte.class, "byteValue", "parseByte")),
+        PRIMITIVE_BYTE(byte.class, Definition.ofNumericPrimitiveType(Byte.class, "byteValue")),
 
-        PRIMITIVE_SHORT(short.class, Definition.ofNumericPrimitiveType(Short.class, "shortValue", "parseShort")),
+        PRIMITIVE_SHORT(short.class, Definition.ofNumericPrimitiveType(Short.class, "shortValue")),
 
         PRIMITIVE_CHARACTER(char.class, new Definition(
             Character.class,
             code -> CodeBlock.builder().add("$T.valueOf($L)", Character.class, code),
-            code -> CodeBlock.builder().add("$L.charValue()", code)
+            Definition.using("charValue")
         ), new Definition(
             String.class,
             code -> CodeBlock.builder().add("$T.valueOf($L)", String.class, code),
-            code -> CodeBlock.builder().add("$T.valueOf($L.charAt(0))", Character.class, code)
+            Definition.using("charValue"),
+            Definition.using("isCharacter")
         )),
 
-        PRIMITIVE_INTEGER(int.class, Definition.ofNumericPrimitiveType(Integer.class, "intValue", "parseInt")),
+        PRIMITIVE_INTEGER(int.class, Definition.ofNumericPrimitiveType(Integer.class, "intValue")),
 
-        PRIMITIVE_LONG(long.class, Definition.ofNumericPrimitiveType(Long.class, "longValue", "parseLong")),
+        PRIMITIVE_LONG(long.class, Definition.ofNumericPrimitiveType(Long.class, "longValue")),
 
-        PRIMITIVE_FLOAT(float.class, Definition.ofNumericPrimitiveType(Float.class, "floatValue", "parseFloat")),
+        PRIMITIVE_FLOAT(float.class, Definition.ofNumericPrimitiveType(Float.class, "floatValue")),
 
-        PRIMITIVE_DOUBLE(double.class, Definition.ofNumericPrimitiveType(Double.class, "doubleValue", "parseDouble")),
+        PRIMITIVE_DOUBLE(double.class, Definition.ofNumericPrimitiveType(Double.class, "doubleValue")),
 
         BOOLEAN(Boolean.class, new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("$T.valueOf($L)", Boolean.class, code)
+            Definition.text(),
+            Definition.using("toBoolean")
         )),
 
-        BYTE(Byte.class, Definition.ofNumericWrapperType(Byte.class, "byteValue")),
+        BYTE(Byte.class, Definition.ofNumericWrapperType(Byte.class, "toByte")),
 
-        SHORT(Short.class, Definition.ofNumericWrapperType(Short.class, "shortValue")),
+        SHORT(Short.class, Definition.ofNumericWrapperType(Short.class, "toShort")),
 
         CHARACTER(Character.class, new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$T.valueOf($L)", String.class, code),
-            code -> CodeBlock.builder().add("$T.valueOf($L.charAt(0))", Character.class, code)
+            Definition.text(),
+            Definition.using("toCharacter"),
+            Definition.using("isCharacter")
         )),
 
-        INTEGER(Integer.class, Definition.ofNumericWrapperType(Integer.class, "intValue")),
+        INTEGER(Integer.class, Definition.ofNumericWrapperType(Integer.class, "toInteger")),
 
-        LONG(Long.class, Definition.ofNumericWrapperType(Long.class, "longValue")),
+        LONG(Long.class, Definition.ofNumericWrapperType(Long.class, "toLong")),
 
-        FLOAT(Float.class, Definition.ofNumericWrapperType(Float.class, "floatValue")),
+        FLOAT(Float.class, Definition.ofNumericWrapperType(Float.class, "toFloat")),
 
-        DOUBLE(Double.class, Definition.ofNumericWrapperType(Double.class, "doubleValue")),
+        DOUBLE(Double.class, Definition.ofNumericWrapperType(Double.class, "toDouble")),
 
         BIG_INTEGER(BigInteger.class, new Definition(
             BigDecimal.class,
-            code -> CodeBlock.builder().add("new $T($L)", BigDecimal.class, code),
-            code -> CodeBlock.builder().add("$L.toBigInteger()", code)
+            Definition.using("toBigDecimal"),
+            Definition.using("toBigInteger")
         ), new Definition(
             Number.class,
             code -> CodeBlock.builder().add("($T) $L", Number.class, code),
-            code -> CodeBlock.builder().add("new $T($L.toString())", BigInteger.class, code)
+            Definition.using("toBigInteger"),
+            code -> CodeBlock.builder().add("$T.isBigInteger($L.toString())", Conversions.class, code)
         ), new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("new $T($L)", BigInteger.class, code)
+            Definition.text(),
+            Definition.using("toBigInteger"),
+            Definition.using("isBigInteger")
         )),
 
         BIG_DECIMAL(BigDecimal.class, new Definition(
             Number.class,
             code -> CodeBlock.builder().add("($T) $L", Number.class, code),
-            code -> CodeBlock.builder().add("new $T($L.toString())", BigDecimal.class, code)
+            Definition.using("toBigDecimal"),
+            code -> CodeBlock.builder().add("$T.isBigDecimal($L.toString())", Conversions.class, code)
         ), new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("new $T($L)", BigDecimal.class, code)
+            Definition.text(),
+            Definition.using("toBigDecimal"),
+            Definition.using("isBigDecimal")
         )),
 
         LOCAL_DATE(LocalDate.class, new Definition(
             LocalDateTime.class,
-            code -> CodeBlock.builder().add("$L.atStartOfDay()", code),
-            code -> CodeBlock.builder().add("$L.toLocalDate()", code)
+            Definition.using("toLocalDateTime"),
+            Definition.using("toLocalDate")
         ), new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("$T.parse($L)", LocalDate.class, code)
+            Definition.text(),
+            Definition.using("toLocalDate"),
+            Definition.using("isLocalDate")
         )),
 
         LOCAL_TIME(LocalTime.class, new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("$T.parse($L)", LocalTime.class, code)
+            Definition.text(),
+            Definition.using("toLocalTime"),
+            Definition.using("isLocalTime")
         )),
 
         LOCAL_DATE_TIME(LocalDateTime.class, new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("$T.parse($L)", LocalDateTime.class, code)
+            Definition.text(),
+            Definition.using("toLocalDateTime"),
+            Definition.using("isLocalDateTime")
         )),
 
         OFFSET_DATE_TIME(OffsetDateTime.class, new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("$T.parse($L)", OffsetDateTime.class, code)
+            Definition.text(),
+            Definition.using("toOffsetDateTime"),
+            Definition.using("isOffsetDateTime")
         )),
 
         OFFSET_TIME(OffsetTime.class, new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("$T.parse($L)", OffsetTime.class, code)
+            Definition.text(),
+            Definition.using("toOffsetTime"),
+            Definition.using("isOffsetTime")
         )),
 
         ZONED_DATE_TIME(ZonedDateTime.class, new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("$T.parse($L)", ZonedDateTime.class, code)
+            Definition.text(),
+            Definition.using("toZonedDateTime"),
+            Definition.using("isZonedDateTime")
         )),
 
         YEAR(Year.class, new Definition(
             int.class,
-            code -> CodeBlock.builder().add("$L.getValue()", code),
-            code -> CodeBlock.builder().add("$T.of($L)", Year.class, code)
+            Definition.using("intValue"),
+            Definition.using("toYear"),
+            Definition.using("isYear")
         ), new Definition(
             Integer.class,
-            code -> CodeBlock.builder().add("($T) $L.getValue()", Integer.class, code),
-            code -> CodeBlock.builder().add("$T.of($L.intValue())", Year.class, code)
+            Definition.using("toInteger"),
+            Definition.using("toYear"),
+            code -> CodeBlock.builder().add("$T.isYear($L.intValue())", Conversions.class, code)
         ), new Definition(
             BigInteger.class,
-            code -> CodeBlock.builder().add("$T.valueOf($L.getValue())", BigInteger.class, code),
-            code -> CodeBlock.builder().add("$T.of($L.intValue())", Year.class, code)
+            Definition.using("toBigInteger"),
+            Definition.using("toYear"),
+            code -> CodeBlock.builder().add("$T.isYear($L.intValue())", Conversions.class, code)
         ), new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add("$T.of($T.parseInt($L))", Year.class, Integer.class, code)
+            Definition.text(),
+            Definition.using("toYear"),
+            Definition.using("isYear")
         )),
 
         NUMBER(Number.class, new Definition(
             String.class,
-            code -> CodeBlock.builder().add("$L.toString()", code),
-            code -> CodeBlock.builder().add(
-                "$L.indexOf('.') == -1 ? ($T) $T.valueOf($L) : ($T) $T.valueOf($L)",
-                code, Number.class, Long.class, code, Number.class, Double.class, code
-            )
+            Definition.text(),
+            Definition.using("toNumber"),
+            Definition.using("isNumber")
         )),
 
         STRING(String.class);
 
         private static final Map<TypeName, SimpleTypeResolver.Generalization> TYPES;
-        private static final Map<Conversion, Function<CodeBlock, CodeBlock.Builder>> CONVERSIONS;
+        private static final Map<Conversion, Function<CodeBlock, CodeBlock.Builder>> CONVERSIONS, CHECKS;
 
         static {
             TYPES = Arrays.stream(values()).collect(Collectors.toMap(
@@ -257,6 +290,11 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
                     new Conversion(definition.target, generalization.type), definition.decoder
                 ))
             )).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            CHECKS = Arrays.stream(values()).flatMap(generalization -> generalization.definitions.stream().filter(
+                definition -> definition.validator != null
+            ).map(definition -> Map.entry(
+                new Conversion(definition.target, generalization.type), definition.validator
+            ))).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
         }
 
         private final Class<?> type;
@@ -298,6 +336,10 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
             }
         }
 
+        static Optional<Function<CodeBlock, CodeBlock.Builder>> check(Class<?> source, Class<?> target) {
+            return Optional.ofNullable(CHECKS.get(new Conversion(source, target)));
+        }
+
         Class<?> findMostSpecificWith(SimpleTypeResolver.Generalization other) {
             return representations.stream()
                 .filter(other.representations::contains)
@@ -311,61 +353,81 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
 
             private final Class<?> target;
 
-            private final Function<CodeBlock, CodeBlock.Builder> encoder, decoder;
+            private final Function<CodeBlock, CodeBlock.Builder> encoder, decoder, validator;
 
             Definition(
                 Class<?> target,
                 Function<CodeBlock, CodeBlock.Builder> encoder,
                 Function<CodeBlock, CodeBlock.Builder> decoder
+            ) {
+                this(target, encoder, decoder, null);
+            }
+
+            Definition(
+                Class<?> target,
+                Function<CodeBlock, CodeBlock.Builder> encoder,
+                Function<CodeBlock, CodeBlock.Builder> decoder,
+                Function<CodeBlock, CodeBlock.Builder> validator
             ) {
                 this.target = target;
                 this.encoder = encoder;
                 this.decoder = decoder;
+                this.validator = validator;
+            }
+
+            static Function<CodeBlock, CodeBlock.Builder> using(String method) {
+                return code -> CodeBlock.builder().add("$T.$N($L)", Conversions.class, method, code);
             }
 
-            static List<Definition> ofNumericPrimitiveType(Class<?> boxed, String unwrap, String wrap) {
+            static Function<CodeBlock, CodeBlock.Builder> text() {
+                return code -> CodeBlock.builder().add("$T.toString($L, null)", Objects.class, code);
+            }
+
+            static List<Definition> ofNumericPrimitiveType(Class<?> boxed, String unwrap) {
                 return Stream.of(new Definition(
                     boxed,
                     code -> CodeBlock.builder().add("$L", code),
-                    code -> CodeBlock.builder().add("$L", code)
+                    using(unwrap)
                 ), new Definition(
                     BigDecimal.class,
-                    code -> CodeBlock.builder().add("$T.valueOf($L)", BigDecimal.class, code),
-                    code -> CodeBlock.builder().add("$L.$N()", code, unwrap)
+                    using("toBigDecimal"),
+                    using(unwrap)
                 ), new Definition(
                     BigInteger.class,
-                    code -> CodeBlock.builder().add("$T.valueOf($L)", BigInteger.class, code),
-                    code -> CodeBlock.builder().add("$L.$N()", code, unwrap)
+                    using("toBigInteger"),
+                    using(unwrap)
                 ), new Definition(
                     Number.class,
                     code -> CodeBlock.builder().add("$T.valueOf($L)", boxed, code),
-                    code -> CodeBlock.builder().add("$L.$N()", code, unwrap)
+                    using(unwrap)
                 ), new Definition(
                     String.class,
                     code -> CodeBlock.builder().add("$T.valueOf($L)", String.class, code),
-                    code -> CodeBlock.builder().add("$T.$N($L)", boxed, wrap, code)
+                    using(unwrap),
+                    using("is" + boxed.getSimpleName())
                 )).filter(definition ->
                     boxed != Float.class && boxed != Double.class || definition.target != BigInteger.class
                 ).collect(Collectors.toList());
             }
 
-            static List<Definition> ofNumericWrapperType(Class<?> boxed, String unwrap) {
+            static List<Definition> ofNumericWrapperType(Class<?> boxed, String wrap) {
                 return Stream.of(new Definition(
                     Number.class,
                     code -> CodeBlock.builder().add("($T) $L", Number.class, code),
-                    code -> CodeBlock.builder().add("$T.valueOf($L.$N())", boxed, code, unwrap)
+                    using(wrap)
                 ), new Definition(
                     BigDecimal.class,
-                    code -> CodeBlock.builder().add("$T.valueOf($L.$N())", BigDecimal.class, code, unwrap),
-                    code -> CodeBlock.builder().add("$T.valueOf($L.$N())", boxed, code, unwrap)
+                    using("toBigDecimal"),
+                    using(wrap)
                 ), new Definition(
                     BigInteger.class,
-                    code -> CodeBlock.builder().add("$T.valueOf($L.$N())", BigInteger.class, code, unwrap),
-                    code -> CodeBlock.builder().add("$T.valueOf($L.$N())", boxed, code, unwrap)
+                    using("toBigInteger"),
+                    using(wrap)
                 ), new Definition(
                     String.class,
-                    code -> CodeBlock.builder().add("$L.toString()", code),
-                    code -> CodeBlock.builder().add("$T.valueOf($L)", boxed, code)
+                    text(),
+                    using(wrap),
+                    using("is" + boxed.getSimpleName())
                 )).filter(definition ->
                     boxed != Float.class && boxed != Double.class || definition.target != BigInteger.class
                 ).collect(Collectors.toList());
@@ -408,6 +470,10 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
 
         String deserializer(Class<?> type);
 
+        default boolean isSymmetric(Class<?> type) {
+            return false;
+        }
+
         class Simple implements EnumHandler {
 
             @Override
@@ -419,6 +485,11 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
             public String deserializer(Class<?> type) {
                 return "valueOf";
             }
+
+            @Override
+            public boolean isSymmetric(Class<?> type) {
+                return true;
+            }
         }
 
 
@@ -460,6 +531,11 @@ public class SimpleTypeResolver implements TypeResolver.WithPairedMerge {
             public String deserializer(Class<?> type) {
                 return type.isAnnotationPresent(xmlEnum) ? "fromValue" : "valueOf";
             }
+
+            @Override
+            public boolean isSymmetric(Class<?> type) {
+                return true;
+            }
         }
     }
 }
@@ -53,6 +53,12 @@ public class StructuralType {
 
     private final boolean exceptionOnEmptySetter;
 
+    private final int methodSizeLimit;
+
+    private final BiConsumer<ClassName, String> methodSplitListener;
+
+    private final int parallelCopyThreshold;
+
     public StructuralType() {
         namingStrategy = new CommonPrefixNamingStrategy();
         propertyStrategy = new BeanPropertyStrategy();
@@ -67,10 +73,21 @@ public class StructuralType {
         keyResolvers = Collections.emptyList();
         predefinitions = Collections.emptyMap();
         grouper = new IndexAlignedGrouper();
-        propertyGenerations = EnumSet.allOf(PropertyGeneration.class);
-        featureGenerations = EnumSet.allOf(FeatureGeneration.class);
+        propertyGenerations = EnumSet.complementOf(EnumSet.of(
+            PropertyGeneration.PRIMITIVE, PropertyGeneration.CHECK, PropertyGeneration.NULLABLE
+        ));
+        featureGenerations = EnumSet.complementOf(EnumSet.of(
+            FeatureGeneration.LIST_ADAPTER, FeatureGeneration.CURSOR, FeatureGeneration.BRANCH_CACHE,
+            FeatureGeneration.STATIC_ACCESS, FeatureGeneration.CLASS_DISPATCH, FeatureGeneration.ITERATIVE,
+            FeatureGeneration.CACHED_HASHCODE,
+            FeatureGeneration.FINGERPRINT,
+            FeatureGeneration.FAST_COPY
+        ));
         implementationGenerations = EnumSet.allOf(ImplementationGeneration.class);
         exceptionOnEmptySetter = false;
+        methodSizeLimit = 8000;
+        methodSplitListener = (type, method) -> { };
+        parallelCopyThreshold = 10000;
     }
 
     private StructuralType(
@@ -90,7 +107,10 @@ public class StructuralType {
         Set<PropertyGeneration> propertyGenerations,
         Set<FeatureGeneration> featureGenerations,
         Set<ImplementationGeneration> implementationGenerations,
-        boolean exceptionOnEmptySetter
+        boolean exceptionOnEmptySetter,
+        int methodSizeLimit,
+        BiConsumer<ClassName, String> methodSplitListener,
+        int parallelCopyThreshold
     ) {
         this.namingStrategy = namingStrategy;
         this.propertyStrategy = propertyStrategy;
@@ -109,6 +129,9 @@ public class StructuralType {
         this.featureGenerations = featureGenerations;
         this.implementationGenerations = implementationGenerations;
         this.exceptionOnEmptySetter = exceptionOnEmptySetter;
+        this.methodSizeLimit = methodSizeLimit;
+        this.methodSplitListener = methodSplitListener;
+        this.parallelCopyThreshold = parallelCopyThreshold;
     }
 
     public StructuralType withNamingStrategy(NamingStrategy namingStrategy) {
@@ -129,7 +152,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -151,7 +177,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -173,7 +202,10 @@ public class StructuralType {
                 propertyGenerations,
                 featureGenerations,
                 implementationGenerations,
-                exceptionOnEmptySetter
+                exceptionOnEmptySetter,
+                methodSizeLimit,
+                methodSplitListener,
+                parallelCopyThreshold
         );
     }
 
@@ -195,7 +227,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -217,7 +252,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -239,7 +277,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -261,7 +302,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -283,7 +327,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -305,7 +352,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -327,7 +377,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -350,7 +403,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -388,7 +444,10 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -410,7 +469,10 @@ public class StructuralType {
                 propertyGenerations,
                 featureGenerations,
                 implementationGenerations,
-                exceptionOnEmptySetter
+                exceptionOnEmptySetter,
+                methodSizeLimit,
+                methodSplitListener,
+                parallelCopyThreshold
         );
     }
 
@@ -434,7 +496,10 @@ public class StructuralType {
             ),
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -458,7 +523,10 @@ public class StructuralType {
                 generations[0], Arrays.stream(generations).skip(1).toArray(FeatureGeneration[]::new)
             ),
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -482,7 +550,10 @@ public class StructuralType {
             generations.length == 0 ? EnumSet.noneOf(ImplementationGeneration.class) : EnumSet.of(
                 generations[0], Arrays.stream(generations).skip(1).toArray(ImplementationGeneration[]::new)
             ),
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -504,7 +575,91 @@ public class StructuralType {
             propertyGenerations,
             featureGenerations,
             implementationGenerations,
-            exceptionOnEmptySetter
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
+        );
+    }
+
+    public StructuralType withMethodSizeLimit(int methodSizeLimit) {
+        if (methodSizeLimit < 1) {
+            throw new IllegalArgumentException("Method size limit must be positive: " + methodSizeLimit);
+        }
+        return new StructuralType(
+            namingStrategy,
+            propertyStrategy,
+            structuralResolver,
+            typeResolver,
+            accessResolver,
+            interfaceResolver,
+            nodeResolver,
+            condition,
+            normalizeIntersections,
+            normalizeEnumerations,
+            keyResolvers,
+            predefinitions,
+            grouper,
+            propertyGenerations,
+            featureGenerations,
+            implementationGenerations,
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
+        );
+    }
+
+    public StructuralType withMethodSplitListener(BiConsumer<ClassName, String> methodSplitListener) {
+        return new StructuralType(
+            namingStrategy,
+            propertyStrategy,
+            structuralResolver,
+            typeResolver,
+            accessResolver,
+            interfaceResolver,
+            nodeResolver,
+            condition,
+            normalizeIntersections,
+            normalizeEnumerations,
+            keyResolvers,
+            predefinitions,
+            grouper,
+            propertyGenerations,
+            featureGenerations,
+            implementationGenerations,
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
+        );
+    }
+
+    public StructuralType withParallelCopyThreshold(int parallelCopyThreshold) {
+        if (parallelCopyThreshold < 1) {
+            throw new IllegalArgumentException("Parallel copy threshold must be positive: " + parallelCopyThreshold);
+        }
+        return new StructuralType(
+            namingStrategy,
+            propertyStrategy,
+            structuralResolver,
+            typeResolver,
+            accessResolver,
+            interfaceResolver,
+            nodeResolver,
+            condition,
+            normalizeIntersections,
+            normalizeEnumerations,
+            keyResolvers,
+            predefinitions,
+            grouper,
+            propertyGenerations,
+            featureGenerations,
+            implementationGenerations,
+            exceptionOnEmptySetter,
+            methodSizeLimit,
+            methodSplitListener,
+            parallelCopyThreshold
         );
     }
 
@@ -550,16 +705,17 @@ public class StructuralType {
         );
         resolver.complete();
         Map<ClassName, JavaFile> files = new LinkedHashMap<>();
+        MethodSplitter methodSplitter = new MethodSplitter(methodSizeLimit, methodSplitListener);
         root.traverse((description, constants) -> {
         }, resolver.guard(new StructureEmitter(
             propertyGenerations, featureGenerations, implementationGenerations,
-            resolver, resolver, resolver.interfaces, files::put
+            resolver, resolver, resolver.interfaces, resolver, methodSplitter, files::put
         )));
         if (implementationGenerations.contains(ImplementationGeneration.TEMPLATE)) {
             root.traverse((description, constants) -> {
             }, resolver.guard(new TemplateEmitter(
                 propertyGenerations, featureGenerations,
-                resolver, resolver, files::put
+                resolver, resolver, resolver, methodSplitter, parallelCopyThreshold, files::put
             )));
         }
         if (implementationGenerations.contains(ImplementationGeneration.PROJECTION)) {
@@ -567,17 +723,17 @@ public class StructuralType {
                 resolver, files::put
             ))::test, resolver.guard(new ProjectionEmitter(
                 propertyGenerations, featureGenerations,
-                resolver, resolver, typeResolver, accessResolver, exceptionOnEmptySetter, files::put
+                resolver, resolver, resolver, typeResolver, accessResolver, exceptionOnEmptySetter, methodSplitter, parallelCopyThreshold, files::put
             )));
         }
         return files;
     }
 
-    private class PrecomputedResolver implements NameResolver, PropertyResolver {
+    private class PrecomputedResolver implements NameResolver, PropertyResolver, RecursionResolver {
 
         private final Set<ClassName> reserved = new HashSet<>();
 
-        private final Map<CompoundDescription, ClassName> structures = new HashMap<>(), templates = new HashMap<>();
+        private final Map<CompoundDescription, ClassName> structures = new HashMap<>(), templates = new HashMap<>(), dispatches = new HashMap<>();
 
         private final Map<CompoundDescription, Map<SingularDescription, ClassName>> projections = new HashMap<>();
 
@@ -585,6 +741,8 @@ public class StructuralType {
 
         private final Map<ClassName, List<Class<?>>> interfaces = new HashMap<>();
 
+        private final Map<ClassName, Boolean> recursive = new HashMap<>();
+
         @Override
         public ClassName structure(CompoundDescription compound) {
             return structures.get(compound);
@@ -600,11 +758,21 @@ public class StructuralType {
             return projections.get(compound).get(singular);
         }
 
+        @Override
+        public ClassName dispatch(CompoundDescription compound) {
+            return dispatches.get(compound);
+        }
+
         @Override
         public String accessor(ClassName structure, String name, PropertyGeneration sort) {
             return properties.get(structure).get(name).get(sort);
         }
 
+        @Override
+        public boolean isRecursive(CompoundDescription compound) {
+            return recursive.getOrDefault(structures.get(compound), true);
+        }
+
         private boolean proccess(CompoundDescription compound, boolean branch) {
             ClassName structure = namingStrategy.structure(
                 compound.getSingulars().stream().filter(
@@ -648,6 +816,16 @@ public class StructuralType {
                             return projection;
                         })
                     ));
+                    if (predefinition == null
+                        && featureGenerations.contains(FeatureGeneration.FACTORY_ON_STRUCTURE)
+                        && featureGenerations.contains(FeatureGeneration.CLASS_DISPATCH)) {
+                        ClassName dispatch = ClassName.get(structure.packageName(), structure.simpleName() + "Dispatch");
+                        for (int index = 0; reserved.contains(dispatch); index++) {
+                            dispatch = ClassName.get(structure.packageName(), structure.simpleName() + "Dispatch" + index);
+                        }
+                        reserved.add(dispatch);
+                        dispatches.put(compound, dispatch);
+                    }
                 }
             }
             return true;
@@ -678,6 +856,9 @@ public class StructuralType {
                                 return propertyGenerations.contains(generation);
                             case ASSUME:
                                 return entry.getValue().getCardinality() == Cardinality.OPTIONAL;
+                            case NULLABLE:
+                                return entry.getValue().getCardinality() == Cardinality.OPTIONAL
+                                    && propertyGenerations.contains(generation);
                             case SETTER:
                                 if (entry.getKey().isEmpty()) {
                                     return false;
@@ -698,6 +879,14 @@ public class StructuralType {
                                         PropertyGeneration.FACTORY
                                     ));
                                 }
+                            case PRIMITIVE:
+                                return !entry.getKey().isEmpty()
+                                    && entry.getValue().getDescription().apply(
+                                        Number.class::isAssignableFrom,
+                                        ignored -> false,
+                                        ignored -> false
+                                    )
+                                    && propertyGenerations.contains(generation);
                             case MERGE:
                             case FACTORY:
                                 return !entry.getKey().isEmpty()
@@ -726,6 +915,43 @@ public class StructuralType {
                     LinkedHashMap::new
                 )))
             ));
+            Map<ClassName, Set<ClassName>> references = new HashMap<>();
+            structures.forEach((description, name) -> {
+                if (description.getSort() == CompoundDescription.Sort.BRANCH) {
+                    references.put(name, references(description));
+                }
+            });
+            references.keySet().forEach(name -> isRecursive(name, references));
+        }
+
+        private Set<ClassName> references(CompoundDescription compound) {
+            Set<ClassName> references = compound.getSubDescriptions().stream()
+                .map(structures::get)
+                .collect(Collectors.toCollection(HashSet::new));
+            for (CompoundDescription current = compound; current != null; current = current.getSuperDescription().orElse(null)) {
+                current.accept(
+                    type -> { },
+                    constants -> { },
+                    properties -> properties.values().stream()
+                        .map(CompoundDescription.Property::getDescription)
+                        .filter(description -> description.getSort() == CompoundDescription.Sort.BRANCH)
+                        .map(structures::get)
+                        .forEach(references::add)
+                );
+            }
+            return references;
+        }
+
+        private boolean isRecursive(ClassName structure, Map<ClassName, Set<ClassName>> references) {
+            Boolean recursive = this.recursive.get(structure);
+            if (recursive == null) {
+                this.recursive.put(structure, true);
+                recursive = !references.containsKey(structure)
+                    || predefinitions.containsKey(structure)
+                    || references.get(structure).stream().anyMatch(reference -> isRecursive(reference, references));
+                this.recursive.put(structure, recursive);
+            }
+            return recursive;
         }
 
         private <T> BiPredicate<CompoundDescription, T> guard(BiConsumer<CompoundDescription, T> delegate) {
@@ -12,6 +12,10 @@ public interface TypeResolver {
 
     Optional<CodeBlock> convert(Class<?> source, Class<?> target, CodeBlock value);
 
+    default Optional<CodeBlock> check(Class<?> source, Class<?> target, CodeBlock value) {
+        return Optional.empty();
+    }
+
     interface WithPairedMerge extends TypeResolver {
 
         @Override
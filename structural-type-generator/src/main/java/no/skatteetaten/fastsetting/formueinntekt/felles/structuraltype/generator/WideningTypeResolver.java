@@ -0,0 +1,116 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.squareup.javapoet.CodeBlock;
+
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.Conversions;
+
+public class WideningTypeResolver implements TypeResolver.WithPairedMerge {
+
+    private static final List<Class<?>> PRIMITIVES = Arrays.asList(
+        byte.class,
+        short.class,
+        int.class,
+        long.class,
+        float.class,
+        double.class
+    );
+
+    private static final Map<Class<?>, Set<Class<?>>> WIDENINGS = Map.of(
+        byte.class, Set.of(byte.class, short.class, int.class, long.class, float.class, double.class),
+        short.class, Set.of(short.class, int.class, long.class, float.class, double.class),
+        int.class, Set.of(int.class, long.class, double.class),
+        long.class, Set.of(long.class),
+        float.class, Set.of(float.class, double.class),
+        double.class, Set.of(double.class)
+    );
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = Map.of(
+        Byte.class, byte.class,
+        Short.class, short.class,
+        Integer.class, int.class,
+        Long.class, long.class,
+        Float.class, float.class,
+        Double.class, double.class
+    );
+
+    private final TypeResolver.WithPairedMerge delegate;
+
+    public WideningTypeResolver() {
+        delegate = new SimpleTypeResolver();
+    }
+
+    public WideningTypeResolver(TypeResolver.WithPairedMerge delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Class<?> merge(Class<?> current, Class<?> next) {
+        if (current == next) {
+            return current;
+        }
+        Class<?> currentPrimitive = toPrimitive(current), nextPrimitive = toPrimitive(next);
+        if (currentPrimitive == null || nextPrimitive == null) {
+            return delegate.merge(current, next);
+        }
+        return PRIMITIVES.stream()
+            .filter(WIDENINGS.get(currentPrimitive)::contains)
+            .filter(WIDENINGS.get(nextPrimitive)::contains)
+            .findFirst()
+            .<Class<?>>map(primitive -> current.isPrimitive() && next.isPrimitive() ? primitive : toWrapper(primitive))
+            .orElseGet(() -> delegate.merge(current, next));
+    }
+
+    @Override
+    public Optional<CodeBlock> convert(Class<?> source, Class<?> target, CodeBlock value) {
+        if (source.equals(target) || !isWidening(source, target) && !isWidening(target, source)) {
+            return delegate.convert(source, target, value);
+        }
+        Class<?> primitive = toPrimitive(target);
+        if (!source.isPrimitive()) {
+            return Optional.of(CodeBlock.builder().add(
+                "$T.$N($L)",
+                Conversions.class,
+                target.isPrimitive() ? primitive.getName() + "Value" : "to" + target.getSimpleName(),
+                value
+            ).build());
+        }
+        CodeBlock converted = CodeBlock.builder().add("($T) $L", primitive, value).build();
+        return Optional.of(target.isPrimitive()
+            ? converted
+            : CodeBlock.builder().add("$T.valueOf($L)", target, converted).build());
+    }
+
+    @Override
+    public Optional<CodeBlock> check(Class<?> source, Class<?> target, CodeBlock value) {
+        if (source.equals(target) || !isWidening(source, target) && !isWidening(target, source)) {
+            return delegate.check(source, target, value);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isWidening(Class<?> source, Class<?> target) {
+        Class<?> sourcePrimitive = toPrimitive(source), targetPrimitive = toPrimitive(target);
+        return sourcePrimitive != null
+            && targetPrimitive != null
+            && WIDENINGS.get(sourcePrimitive).contains(targetPrimitive)
+            && (source.isPrimitive() || !target.isPrimitive());
+    }
+
+    private static Class<?> toPrimitive(Class<?> type) {
+        return type.isPrimitive() ? (WIDENINGS.containsKey(type) ? type : null) : WRAPPERS.get(type);
+    }
+
+    private static Class<?> toWrapper(Class<?> primitive) {
+        return WRAPPERS.entrySet().stream()
+            .filter(entry -> entry.getValue() == primitive)
+            .map(Map.Entry::getKey)
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Not a numeric primitive: " + primitive));
+    }
+}
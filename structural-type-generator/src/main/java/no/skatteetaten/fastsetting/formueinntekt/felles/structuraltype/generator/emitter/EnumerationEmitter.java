@@ -60,9 +60,7 @@ public class EnumerationEmitter implements BiConsumer<CompoundDescription, Map<S
                     .addStatement("return $T.$N", structure, name)
                     .unindent();
         });
-        CodeBlock.Builder unwrap = CodeBlock.builder()
-            .beginControlFlow("if (value == null)")
-            .addStatement("return null");
+        CodeBlock.Builder tables = CodeBlock.builder();
         Map<Enum<?>, String> names = constants.entrySet().stream()
             .flatMap(entry -> entry.getValue().values().stream().map(enumeration -> Map.entry(enumeration, normalized.get(entry.getKey()))))
             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
@@ -91,22 +89,39 @@ public class EnumerationEmitter implements BiConsumer<CompoundDescription, Map<S
                     .endControlFlow()
                     .build())
                 .build());
-            unwrap.nextControlFlow("else if (type == $T.class)", singular.getType()).beginControlFlow("switch (value)");
-            constants.forEach((constant, values) -> {
-                unwrap.add("case $N:\n", normalized.get(constant)).indent();
-                if (values.containsKey(singular.getType())) {
-                    unwrap.addStatement("return (E) $T.$N", singular.getType(), values.get(singular.getType()).name());
-                } else {
-                    unwrap.addStatement("return null");
-                }
-                unwrap.unindent();
-            });
-            unwrap.add("default:\n")
-                .indent()
-                .addStatement("throw new $T(value.toString())", IllegalStateException.class)
-                .unindent()
-                .endControlFlow();
+            if (tables.isEmpty()) {
+                tables.beginControlFlow("if (type == $T.class)", singular.getType());
+            } else {
+                tables.nextControlFlow("else if (type == $T.class)", singular.getType());
+            }
+            tables.addStatement("return new $T<?>[] { $L }", Enum.class, constants.values().stream()
+                .map(values -> values.containsKey(singular.getType())
+                    ? CodeBlock.builder().add("$T.$N", singular.getType(), values.get(singular.getType()).name()).build()
+                    : CodeBlock.builder().add("null").build())
+                .collect(CodeBlock.joining(", ")));
         });
+        TypeName table = ArrayTypeName.of(ParameterizedTypeName.get(ClassName.get(Enum.class), WildcardTypeName.subtypeOf(Object.class)));
+        TypeSpec tableValue = TypeSpec.anonymousClassBuilder("")
+            .superclass(ParameterizedTypeName.get(ClassName.get(ClassValue.class), table))
+            .addMethod(MethodSpec.methodBuilder("computeValue")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(table)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)), "type")
+                .addCode(tables.isEmpty()
+                    ? CodeBlock.builder().addStatement("return null").build()
+                    : tables.nextControlFlow("else").addStatement("return null").endControlFlow().build())
+                .build())
+            .build();
+        String unwrapping = structure.simpleName().equals("Unwrapping") ? "Unwrapping0" : "Unwrapping";
+        builder.addType(TypeSpec.classBuilder(unwrapping)
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .addField(FieldSpec.builder(
+                ParameterizedTypeName.get(ClassName.get(ClassValue.class), table),
+                "TABLES",
+                Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL
+            ).initializer("$L", tableValue).build())
+            .build());
         builder.addMethod(MethodSpec.methodBuilder("unwrap")
             .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember(
                 "value", CodeBlock.builder().add("$S", "unchecked").build()
@@ -119,12 +134,21 @@ public class EnumerationEmitter implements BiConsumer<CompoundDescription, Map<S
             .returns(TypeVariableName.get("E"))
             .addParameter(structure, "value")
             .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), TypeVariableName.get("E")), "type")
-            .addCode(unwrap.nextControlFlow("else").addStatement(
-                "throw new $T(type.getTypeName() + $S + $T.class.getTypeName())",
-                IllegalArgumentException.class,
-                " is not enumerated by ",
-                structure
-            ).endControlFlow().build())
+            .addCode(CodeBlock.builder()
+                .beginControlFlow("if (value == null)")
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("$T table = $N.TABLES.get(type)", table, unwrapping)
+                .beginControlFlow("if (table == null)")
+                .addStatement(
+                    "throw new $T(type.getTypeName() + $S + $T.class.getTypeName())",
+                    IllegalArgumentException.class,
+                    " is not enumerated by ",
+                    structure
+                )
+                .endControlFlow()
+                .addStatement("return (E) table[value.ordinal()]")
+                .build())
             .build());
         builder.addMethod(MethodSpec.methodBuilder("valueOfName")
             .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
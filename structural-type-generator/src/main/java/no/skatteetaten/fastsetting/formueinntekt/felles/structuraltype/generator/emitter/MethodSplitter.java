@@ -0,0 +1,100 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.emitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.*;
+
+public class MethodSplitter {
+
+    private static final Pattern TOKEN = Pattern.compile("[\\w$]+(\\.[\\w$]+)*|\"(\\\\.|[^\"\\\\])*\"|\\S");
+
+    private static final int BYTES_PER_TOKEN = 2;
+
+    private final int limit;
+    private final BiConsumer<ClassName, String> listener;
+
+    public MethodSplitter(int limit, BiConsumer<ClassName, String> listener) {
+        this.limit = limit;
+        this.listener = listener;
+    }
+
+    public CodeBlock split(
+        TypeSpec.Builder builder, ClassName type,
+        MethodSpec signature, List<CodeBlock> chunks, CodeBlock tail
+    ) {
+        return split(builder, type, signature, Collections.emptyList(), chunks, tail);
+    }
+
+    public CodeBlock split(
+        TypeSpec.Builder builder, ClassName type,
+        MethodSpec signature, List<ParameterSpec> carried, List<CodeBlock> chunks, CodeBlock tail
+    ) {
+        List<List<CodeBlock>> partitions = new ArrayList<>();
+        List<CodeBlock> current = new ArrayList<>();
+        int size = estimate(tail);
+        for (CodeBlock chunk : chunks) {
+            int estimate = estimate(chunk);
+            if (!current.isEmpty() && size + estimate > limit) {
+                partitions.add(current);
+                current = new ArrayList<>();
+                size = estimate(tail);
+            }
+            current.add(chunk);
+            size += estimate;
+        }
+        if (partitions.isEmpty()) {
+            return CodeBlock.builder().add(CodeBlock.join(current, "")).add(tail).build();
+        }
+        partitions.add(current);
+        listener.accept(type, signature.name);
+        String arguments = Stream.concat(signature.parameters.stream(), carried.stream())
+            .map(parameter -> parameter.name)
+            .collect(Collectors.joining(", "));
+        Set<String> used = builder.methodSpecs.stream().map(method -> method.name).collect(Collectors.toSet());
+        String prefix = signature.name;
+        while (used.contains(prefix + 0)) {
+            prefix = prefix + "_";
+        }
+        for (int index = 0; index < partitions.size(); index++) {
+            CodeBlock.Builder code = CodeBlock.builder().add(CodeBlock.join(partitions.get(index), ""));
+            if (index < partitions.size() - 1) {
+                code.add(invocation(signature, prefix + (index + 1), arguments));
+            } else {
+                code.add(tail);
+            }
+            builder.addMethod(MethodSpec.methodBuilder(prefix + index)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(signature.returnType)
+                .addParameters(signature.parameters)
+                .addParameters(carried)
+                .addCode(code.build())
+                .build());
+        }
+        return invocation(signature, prefix + 0, arguments);
+    }
+
+    private static CodeBlock invocation(MethodSpec signature, String name, String arguments) {
+        return signature.returnType.equals(TypeName.VOID)
+            ? CodeBlock.builder().addStatement("$N($L)", name, arguments).build()
+            : CodeBlock.builder().addStatement("return $N($L)", name, arguments).build();
+    }
+
+    static int estimate(CodeBlock code) {
+        int tokens = 0;
+        Matcher matcher = TOKEN.matcher(code.toString());
+        while (matcher.find()) {
+            tokens++;
+        }
+        return tokens * BYTES_PER_TOKEN;
+    }
+}
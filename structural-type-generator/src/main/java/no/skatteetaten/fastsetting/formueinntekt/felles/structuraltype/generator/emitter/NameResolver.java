@@ -16,6 +16,8 @@ public interface NameResolver {
 
     ClassName projection(CompoundDescription compound, SingularDescription singular);
 
+    ClassName dispatch(CompoundDescription compound);
+
     default List<ClassName> projections(CompoundDescription compound) {
         return compound.getSingulars().stream()
             .map(singular -> projection(compound, singular))
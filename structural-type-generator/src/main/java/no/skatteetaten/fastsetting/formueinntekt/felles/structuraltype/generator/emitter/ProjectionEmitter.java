@@ -3,15 +3,19 @@ package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generato
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -21,9 +25,13 @@ import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.Deleg
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ExpansionOf;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ProjectingEmptyList;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ProjectingList;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ProjectingListIterator;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ProjectingSingletonList;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ProjectingSpliterator;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ProjectionOf;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ProjectionTypeException;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.Rebindable;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.WorkStack;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.AccessResolver;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.Cardinality;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.FeatureGeneration;
@@ -40,9 +48,12 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
     private final Set<FeatureGeneration> featureGenerations;
     private final NameResolver nameResolver;
     private final PropertyResolver propertyResolver;
+    private final RecursionResolver recursionResolver;
     private final TypeResolver typeResolver;
     private final AccessResolver accessResolver;
     private final boolean exceptionOnEmptySetter;
+    private final MethodSplitter methodSplitter;
+    private final int parallelCopyThreshold;
     private final BiConsumer<ClassName, JavaFile> consumer;
 
     public ProjectionEmitter(
@@ -50,18 +61,24 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
         Set<FeatureGeneration> featureGenerations,
         NameResolver nameResolver,
         PropertyResolver propertyResolver,
+        RecursionResolver recursionResolver,
         TypeResolver typeResolver,
         AccessResolver accessResolver,
         boolean exceptionOnEmptySetter,
+        MethodSplitter methodSplitter,
+        int parallelCopyThreshold,
         BiConsumer<ClassName, JavaFile> consumer
     ) {
         this.propertyGenerations = propertyGenerations;
         this.featureGenerations = featureGenerations;
         this.nameResolver = nameResolver;
         this.propertyResolver = propertyResolver;
+        this.recursionResolver = recursionResolver;
         this.typeResolver = typeResolver;
         this.accessResolver = accessResolver;
         this.exceptionOnEmptySetter = exceptionOnEmptySetter;
+        this.methodSplitter = methodSplitter;
+        this.parallelCopyThreshold = parallelCopyThreshold;
         this.consumer = consumer;
     }
 
@@ -72,19 +89,34 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
             ClassName projection = nameResolver.projection(compound, singular);
             CodeBlock.Builder wrap = CodeBlock.builder()
                 .beginControlFlow("if ($N == null)", DELEGATE)
-                .addStatement("return null");
+                .addStatement("return null"), dispatch = CodeBlock.builder();
             singular.getSubDescriptions().forEach(singularSubtype -> compound.getSubDescriptions().stream()
                 .filter(compoundSubtype -> compoundSubtype.getSingulars().contains(singularSubtype))
-                .forEach(compoundSubtype -> wrap.nextControlFlow(
-                    "else if ($N instanceof $T)",
-                    DELEGATE,
-                    singularSubtype.getType()
-                ).addStatement(
-                    "return $T.wrap(($T) $N)",
-                    nameResolver.projection(compoundSubtype, singularSubtype),
-                    singularSubtype.getType(),
-                    DELEGATE
-                )));
+                .forEach(compoundSubtype -> {
+                    wrap.nextControlFlow(
+                        "else if ($N instanceof $T)",
+                        DELEGATE,
+                        singularSubtype.getType()
+                    ).addStatement(
+                        "return $T.wrap(($T) $N)",
+                        nameResolver.projection(compoundSubtype, singularSubtype),
+                        singularSubtype.getType(),
+                        DELEGATE
+                    );
+                    if (dispatch.isEmpty()) {
+                        dispatch.beginControlFlow("if ($T.class.isAssignableFrom(type))", singularSubtype.getType());
+                    } else {
+                        dispatch.nextControlFlow("else if ($T.class.isAssignableFrom(type))", singularSubtype.getType());
+                    }
+                    dispatch.addStatement(
+                        "return $N -> $T.wrap(($T) $N)",
+                        DELEGATE,
+                        nameResolver.projection(compoundSubtype, singularSubtype),
+                        singularSubtype.getType(),
+                        DELEGATE
+                    );
+                }));
+            boolean dispatched = featureGenerations.contains(FeatureGeneration.CLASS_DISPATCH) && !dispatch.isEmpty();
             TypeSpec.Builder builder = TypeSpec.classBuilder(projection)
                 .addSuperinterface(structure)
                 .addModifiers(Modifier.PUBLIC)
@@ -92,9 +124,7 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     "$T.class",
                     singular.getType()
                 ).build()).build())
-                .addField(FieldSpec.builder(singular.getType(), DELEGATE)
-                    .addModifiers(Modifier.FINAL, Modifier.PRIVATE)
-                    .build())
+                .addField(FieldSpec.builder(singular.getType(), DELEGATE).addModifiers(Modifier.FINAL, Modifier.PRIVATE).build())
                 .addMethod(MethodSpec.constructorBuilder()
                     .addParameter(singular.getType(), DELEGATE)
                     .addModifiers(Modifier.PROTECTED)
@@ -106,8 +136,15 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     .addParameter(singular.getBoxedType(), DELEGATE)
                     .returns(projection)
                     .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-                    .addCode(wrap.nextControlFlow("else")
-                        .addStatement("return new $T($N)", projection, DELEGATE)
+                    .addCode(dispatched ? CodeBlock.builder()
+                        .beginControlFlow("if ($N == null)", DELEGATE)
+                        .addStatement("return null")
+                        .endControlFlow()
+                        .addStatement("return $N.TABLE.get($N.getClass()).apply($N)", nestedName("Dispatch", structure, projection, singular), DELEGATE, DELEGATE)
+                        .build() : wrap.nextControlFlow("else")
+                        .addStatement(isFlyweight(singular)
+                            ? CodeBlock.builder().add("return $L", flyweight(singular, structure, projection, CodeBlock.builder().add("$N", DELEGATE).build())).build()
+                            : CodeBlock.builder().add("return new $T($N)", projection, DELEGATE).build())
                         .endControlFlow()
                         .build())
                     .build())
@@ -119,7 +156,9 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                         .beginControlFlow("if ($N == null)", PROJECTION)
                         .addStatement("return null")
                         .nextControlFlow("else if ($N instanceof $T)", PROJECTION, projection)
-                        .addStatement("return (($T) $N).$N", projection, PROJECTION, DELEGATE)
+                        .addStatement(featureGenerations.contains(FeatureGeneration.CURSOR) && !singular.isLeaf()
+                            ? CodeBlock.builder().add("return (($T) $N).doDelegate()", projection, PROJECTION).build()
+                            : CodeBlock.builder().add("return (($T) $N).$N", projection, PROJECTION, DELEGATE).build())
                         .nextControlFlow("else")
                         .addStatement(
                             "throw new $T($N.getClass(), $T.class)",
@@ -136,23 +175,29 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 MethodSpec.Builder of = MethodSpec.methodBuilder("of")
                     .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                     .returns(structure);
-                expansion.accept((cardinality, type) -> builder.addMethod(of.addCode(CodeBlock.builder().addStatement(
-                    "return new $T($L)",
+                expansion.accept((cardinality, type) -> builder.addMethod(of.addCode(flyweightOf(
+                    singular,
+                    structure,
                     projection,
                     typeResolver.convert(type, singular.getType(), value.build()).orElseGet(value::build)
-                ).build()).addParameter(type, "value").build()), (cardinality, enumerations) -> {
+                )).addParameter(type, "value").build()), (cardinality, enumerations) -> {
                     ClassName name = nameResolver.structure(expansion.getDescription());
-                    builder.addMethod(of.addCode(CodeBlock.builder().addStatement(
-                        "return new $T($T.unwrap($L, $T.class))",
+                    builder.addMethod(of.addCode(flyweightOf(
+                        singular,
+                        structure,
                         projection,
-                        name,
-                        value.build(),
-                        singular.getType()
-                    ).build()).addParameter(name, "value").build());
+                        CodeBlock.builder().add("$T.unwrap($L, $T.class)", name, value.build(), singular.getType()).build()
+                    )).addParameter(name, "value").build());
                 }, (cardinality, nested) -> {
                     throw new IllegalStateException();
                 });
             }
+            if (isFlyweight(singular)) {
+                builder.addType(flyweights(singular, structure, projection));
+            }
+            if (dispatched) {
+                builder.addType(dispatch(singular, structure, projection, dispatch));
+            }
             compound.getSuperDescription().ifPresent(superCompound -> singular.getSuperDescription().ifPresentOrElse(superSingular -> builder.superclass(nameResolver.projection(
                 superCompound,
                 superSingular
@@ -193,21 +238,27 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 if (!propertyGenerations.containsAll(EnumSet.of(PropertyGeneration.GETTER, PropertyGeneration.SETTER))) {
                     throw new IllegalStateException("The copy feature requires getter and setter properties to be enabled");
                 }
+                boolean tracked = !featureGenerations.contains(FeatureGeneration.FAST_COPY) || recursionResolver.isRecursive(compound);
+                boolean iterative = featureGenerations.contains(FeatureGeneration.ITERATIVE);
                 if (singular.isLeaf()) {
                     builder
-                        .addMethod(propertyResolver.copyOfExpansion(structure))
-                        .addMethod(propertyResolver.copyOfExpansion(structure, projection));
+                        .addMethod(propertyResolver.copyOfExpansion(structure, tracked))
+                        .addMethod(propertyResolver.copyOfExpansion(structure, projection, tracked));
                 } else {
+                    ClassName superProjection = compound.getSuperDescription().flatMap(superCompound -> singular.getSuperDescription().map(superSingular -> nameResolver.projection(
+                        superCompound,
+                        superSingular
+                    ))).orElse(null);
+                    CodeBlock construction = accessResolver.constructor(singular.getType())
+                        .map(value -> CodeBlock.builder().add("new $T($L)", projection, value).build())
+                        .orElse(null);
+                    if (iterative) {
+                        builder.addMethod(propertyResolver.copyOfIterative(structure, projection))
+                            .addMethod(propertyResolver.copyOfIterative(structure, projection, superProjection, construction, tracked));
+                    } else {
+                        builder.addMethod(propertyResolver.copyOf(structure, superProjection, construction, tracked));
+                    }
                     builder.addMethod(propertyResolver.copyOf(
-                        structure,
-                        compound.getSuperDescription().flatMap(superCompound -> singular.getSuperDescription().map(superSingular -> nameResolver.projection(
-                            superCompound,
-                            superSingular
-                        ))).orElse(null),
-                        accessResolver.constructor(singular.getType())
-                            .map(value -> CodeBlock.builder().add("new $T($L)", projection, value).build())
-                            .orElse(null)
-                    )).addMethod(propertyResolver.copyOf(
                             structure,
                             properties.keySet().stream().filter(singular::hasProperty).collect(Collectors.toList()),
                             name -> properties.get(name).getDescription().getSort() != CompoundDescription.Sort.BRANCH,
@@ -218,10 +269,14 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                                 ignored -> nameResolver.structure(properties.get(name).getDescription())
                             ),
                             (name, copies) -> CodeBlock.builder().add(
-                                "copyTo($T.class, $N).orElseThrow()",
+                                iterative ? "copyTo($T.class, $N, stack).orElseThrow()" : "copyTo($T.class, $N).orElseThrow()",
                                 singular.getProperties().get(name).getDescription().getType(),
                                 copies
-                            ).build()
+                            ).build(),
+                            (signature, chunks) -> methodSplitter.split(builder, projection, signature, chunks, CodeBlock.builder().build()),
+                            tracked,
+                            iterative,
+                            parallelCopyThreshold
                     ));
                     builder.addMethod(MethodSpec.methodBuilder("copy")
                         .addModifiers(Modifier.PUBLIC)
@@ -240,12 +295,22 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), WildcardTypeName.subtypeOf(Object.class)))
                     .addAnnotation(Override.class)
                     .addCode(CodeBlock.builder().addStatement(
-                        "return $T.of(this.$N)",
+                        "return $T.of($L)",
                         Optional.class,
-                        DELEGATE
+                        delegate(singular.isLeaf())
                     ).build())
                     .build());
             }
+            if (featureGenerations.contains(FeatureGeneration.FINGERPRINT)
+                && !singular.isLeaf()
+                && singular.getSuperDescription().isEmpty()) {
+                builder.addMethod(MethodSpec.methodBuilder("structuralIdentity")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(Object.class)
+                    .addAnnotation(Override.class)
+                    .addStatement("return $L", delegate(false))
+                    .build());
+            }
             if (singular.isLeaf()) {
                 if (propertyGenerations.containsAll(EnumSet.of(PropertyGeneration.GETTER, PropertyGeneration.SETTER))) {
                     builder.addMethod(MethodSpec.methodBuilder("copy")
@@ -282,13 +347,13 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 properties.forEach((name, property) -> {
                     if (singular.hasProperty(name)) {
                         property.accept((cardinality, type) -> addTypedLeaf(
-                            builder, structure, singular.getProperties().get(name), name, cardinality,
+                            builder, structure, projection, singular.getProperties().get(name), name, cardinality,
                             singular.getType(), type
                         ), (cardinality, ignored) -> addEnumeratedLeaf(
-                            builder, structure, singular.getProperties().get(name), name, cardinality,
+                            builder, structure, projection, singular.getProperties().get(name), name, cardinality,
                             singular.getType(), nameResolver.structure(property.getDescription())
                         ), (cardinality, nested) -> addBranch(
-                            builder, structure, singular.getProperties().get(name), name, cardinality,
+                            builder, structure, projection, singular.getProperties().get(name), name, cardinality,
                             singular.getType(), nameResolver.structure(property.getDescription()),
                             nameResolver.projection(
                                 property.getDescription(),
@@ -309,21 +374,30 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     }
                 });
             }
+            if (featureGenerations.contains(FeatureGeneration.STATIC_ACCESS) && !singular.isLeaf()) {
+                addAccess(builder, structure, projection, compound.getSuperDescription().flatMap(superCompound -> singular.getSuperDescription().map(superSingular -> nameResolver.projection(
+                    superCompound,
+                    superSingular
+                ))).orElse(null), singular, properties);
+            }
+            if (featureGenerations.contains(FeatureGeneration.CURSOR) && !singular.isLeaf()) {
+                addCursor(builder, structure, projection, singular);
+            }
             if (featureGenerations.contains(FeatureGeneration.HASHCODE_EQUALS)) {
                 addHashCode(builder, projection, compound.getSuperDescription().flatMap(superCompound -> singular.getSuperDescription().map(superSingular -> nameResolver.projection(
                     superCompound,
                     superSingular
-                ))).orElse(null), singular, properties);
+                ))).orElse(null), singular, properties, recursionResolver.isRecursive(compound));
                 addEquals(builder, projection, compound.getSuperDescription().flatMap(superCompound -> singular.getSuperDescription().map(superSingular -> nameResolver.projection(
                     superCompound,
                     superSingular
-                ))).orElse(null), singular, properties);
+                ))).orElse(null), singular, properties, recursionResolver.isRecursive(compound));
             }
             if (featureGenerations.contains(FeatureGeneration.TO_STRING)) {
                 addToString(builder, structure, projection, compound.getSuperDescription().flatMap(superCompound -> singular.getSuperDescription().map(superSingular -> nameResolver.projection(
                     superCompound,
                     superSingular
-                ))).orElse(null), singular, properties);
+                ))).orElse(null), singular, properties, recursionResolver.isRecursive(compound));
             }
             consumer.accept(projection, JavaFile.builder(
                 projection.packageName(), builder.build()
@@ -331,6 +405,137 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
         });
     }
 
+    private CodeBlock.Builder cached(Class<?> owner, SingularDescription.Property property, ClassName delegate, String cache) {
+        return CodeBlock.builder().addStatement(
+            "$T value = $L",
+            property.getDescription().getType(),
+            accessResolver.getter(
+                owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                delegate(false)
+            )
+        ).addStatement(
+            "$T cache = this.$N",
+            delegate,
+            cache
+        ).beginControlFlow(
+            "if (cache == null || $T.unwrap(cache) != value)",
+            delegate
+        ).addStatement(
+            "cache = $T.wrap(value)",
+            delegate
+        ).addStatement(
+            "this.$N = cache",
+            cache
+        ).endControlFlow();
+    }
+
+    private void addAccess(
+        TypeSpec.Builder builder, ClassName structure, ClassName projection, ClassName base,
+        SingularDescription singular, Map<String, CompoundDescription.Property> properties
+    ) {
+        if (!propertyGenerations.contains(PropertyGeneration.GETTER)) {
+            throw new IllegalStateException("The static access feature requires getter properties to be enabled");
+        }
+        TypeSpec.Builder access = TypeSpec.classBuilder(accessName(projection))
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PROTECTED).build());
+        if (base != null) {
+            access.superclass(base.nestedClass(accessName(base)));
+        }
+        CodeBlock target = CodeBlock.builder().add("$N", DELEGATE).build();
+        properties.forEach((name, property) -> {
+            if (singular.hasProperty(name)) {
+                SingularDescription.Property delegate = singular.getProperties().get(name);
+                property.accept((cardinality, type) -> access.addMethod(MethodSpec.methodBuilder(
+                    propertyResolver.accessor(structure, name, PropertyGeneration.GETTER)
+                ).addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                    .returns(cardinality.asReturnType(TypeName.get(type)))
+                    .addParameter(singular.getType(), DELEGATE)
+                    .addCode(typedLeafGetter(
+                        builder, projection, delegate, name, cardinality, singular.getType(), type, target, false
+                    ))
+                    .build()), (cardinality, ignored) -> access.addMethod(MethodSpec.methodBuilder(
+                    propertyResolver.accessor(structure, name, PropertyGeneration.GETTER)
+                ).addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                    .returns(cardinality.asReturnType(nameResolver.structure(property.getDescription())))
+                    .addParameter(singular.getType(), DELEGATE)
+                    .addCode(enumeratedLeafGetter(
+                        builder, projection, delegate, name, cardinality, singular.getType(),
+                        nameResolver.structure(property.getDescription()), target, false
+                    ))
+                    .build()), (cardinality, nested) -> access.addMethod(MethodSpec.methodBuilder(
+                    propertyResolver.accessor(structure, name, PropertyGeneration.GETTER)
+                ).addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                    .returns(cardinality.asReturnType(nameResolver.structure(property.getDescription())))
+                    .addParameter(singular.getType(), DELEGATE)
+                    .addCode(branchGetter(
+                        builder, projection, delegate, name, cardinality, singular.getType(),
+                        nameResolver.structure(property.getDescription()),
+                        nameResolver.projection(property.getDescription(), delegate.getDescription()),
+                        null, target, false
+                    ))
+                    .build()));
+            }
+        });
+        builder.addType(access.build());
+    }
+
+    private CodeBlock delegate(boolean leaf) {
+        return !leaf && featureGenerations.contains(FeatureGeneration.CURSOR)
+            ? CodeBlock.builder().add("this.doDelegate()").build()
+            : CodeBlock.builder().add("this.$N", DELEGATE).build();
+    }
+
+    private static String accessName(ClassName projection) {
+        return projection.simpleName().equals("Access") ? "Access0" : "Access";
+    }
+
+    private static String nestedName(String base, ClassName structure, ClassName projection, SingularDescription singular) {
+        String name = base;
+        int index = 0;
+        while (name.equals(projection.simpleName()) || name.equals(structure.simpleName()) || name.equals(singular.getType().getSimpleName())) {
+            name = base + index++;
+        }
+        return name;
+    }
+
+    private void addCursor(
+        TypeSpec.Builder builder, ClassName structure, ClassName projection, SingularDescription singular
+    ) {
+        MethodSpec.Builder resolve = MethodSpec.methodBuilder("doDelegate")
+            .addModifiers(Modifier.PROTECTED)
+            .returns(singular.getType())
+            .addStatement("return this.$N", DELEGATE);
+        if (singular.getSuperDescription().isPresent()) {
+            resolve.addAnnotation(Override.class);
+        }
+        builder.addMethod(resolve.build());
+        builder.addType(TypeSpec.classBuilder(nestedName("Cursor", structure, projection, singular))
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .superclass(projection)
+            .addSuperinterface(ParameterizedTypeName.get(ClassName.get(Rebindable.class), TypeName.get(singular.getType()), structure))
+            .addField(FieldSpec.builder(singular.getType(), DELEGATE).addModifiers(Modifier.PRIVATE).build())
+            .addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("super(null)")
+                .build())
+            .addMethod(MethodSpec.methodBuilder("doDelegate")
+                .addModifiers(Modifier.PROTECTED)
+                .addAnnotation(Override.class)
+                .returns(singular.getType())
+                .addStatement("return this.$N", DELEGATE)
+                .build())
+            .addMethod(MethodSpec.methodBuilder("rebind")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(structure)
+                .addParameter(singular.getType(), DELEGATE)
+                .addStatement("this.$N = $N", DELEGATE, DELEGATE)
+                .addStatement("return this")
+                .build())
+            .build());
+    }
+
     private void addMissing(
         TypeSpec.Builder builder, ClassName structure,
         String name, Cardinality cardinality, TypeName type,
@@ -356,6 +561,12 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
             builder.addMethod(propertyResolver.getter(structure, name, type, cardinality, true, true)
                 .addCode(getter.build())
                 .build());
+            if (cardinality == Cardinality.OPTIONAL && propertyGenerations.contains(PropertyGeneration.NULLABLE)) {
+                builder.addMethod(propertyResolver.nullable(
+                    structure, name, type,
+                    CodeBlock.builder().addStatement("return null").build()
+                ));
+            }
         }
         if (!name.isEmpty()) {
             if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
@@ -375,6 +586,12 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     });
                 }
             }
+            if (exceptionOnEmptySetter && propertyGenerations.contains(PropertyGeneration.CHECK)) {
+                builder.addMethod(propertyResolver.check(
+                    structure, name, type,
+                    CodeBlock.builder().add("false").build()
+                ));
+            }
             if (propertyGenerations.contains(PropertyGeneration.TRIAL)) {
                 builder.addMethod(propertyResolver.trial(structure, name, type, true, false));
                 if (expansion != null) {
@@ -426,103 +643,173 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
         }
     }
 
-    private void addTypedLeaf(
-        TypeSpec.Builder builder, ClassName structure, SingularDescription.Property property,
-        String name, Cardinality cardinality, Class<?> owner, Class<?> type
+    private CodeBlock typedLeafGetter(
+        TypeSpec.Builder builder, ClassName projection, SingularDescription.Property property,
+        String name, Cardinality cardinality, Class<?> owner, Class<?> type,
+        CodeBlock target, boolean instance
     ) {
-        if (propertyGenerations.contains(PropertyGeneration.GETTER)) {
-            CodeBlock.Builder getter;
-            switch (cardinality) {
-            case SINGLE: {
-                CodeBlock value = accessResolver.getter(
-                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                    CodeBlock.builder().add("this.$N", DELEGATE).build()
+        CodeBlock.Builder getter;
+        switch (cardinality) {
+        case SINGLE: {
+            CodeBlock value = accessResolver.getter(
+                owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                target
+            );
+            getter = CodeBlock.builder().addStatement(
+                "return $L",
+                typeResolver.convert(property.getDescription().getType(), type, value).orElse(value)
+            );
+            break;
+        }
+        case OPTIONAL: {
+            CodeBlock value = accessResolver.getter(
+                owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                target
+            );
+            getter = CodeBlock.builder().addStatement(
+                property.getDescription().getType().isPrimitive() ? "return $T.of($L)" : "return $T.ofNullable($L)",
+                Optional.class,
+                typeResolver.convert(property.getDescription().getType(), type, value).orElse(value)
+            );
+            break;
+        }
+        case LIST:
+            if (instance && featureGenerations.contains(FeatureGeneration.LIST_ADAPTER)) {
+                getter = CodeBlock.builder().add(addListAdapter(
+                    builder, projection, property, name, owner, TypeName.get(type),
+                    value -> typeResolver.convert(property.getDescription().getType(), type, value).orElse(value),
+                    value -> typeResolver.convert(type, property.getDescription().getType(), value).orElse(value)
+                ));
+            } else if (property.getCardinality() == Cardinality.LIST) {
+                getter = CodeBlock.builder().add(
+                    "$T.of($L, $L, $L)",
+                    ProjectingList.class,
+                    accessResolver.getter(
+                        owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                        target
+                    ),
+                    typeResolver.convert(
+                        property.getDescription().getType(), type, CodeBlock.builder().add("value").build()
+                    ).map(code ->
+                        CodeBlock.builder().add("value -> $L", code)
+                    ).orElseGet(() ->
+                        CodeBlock.builder().add("$T.identity()", Function.class)
+                    ).build(),
+                    typeResolver.convert(
+                        type, property.getDescription().getType(), CodeBlock.builder().add("value").build()
+                    ).map(code ->
+                        CodeBlock.builder().add("value -> $L", code)
+                    ).orElseGet(() ->
+                        CodeBlock.builder().add("$T.identity()", Function.class)
+                    ).build()
                 );
-                getter = CodeBlock.builder().addStatement(
-                    "return $L",
-                    typeResolver.convert(property.getDescription().getType(), type, value).orElse(value)
+            } else {
+                getter = CodeBlock.builder().add(
+                    "new $T<>(() -> $L, value -> $L, $L, $L)",
+                    ProjectingSingletonList.class,
+                    accessResolver.getter(
+                        owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                        target
+                    ),
+                    accessResolver.setter(
+                        owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                        target,
+                        CodeBlock.builder().add("value").build()
+                    ),
+                    typeResolver.convert(
+                        property.getDescription().getType(), type, CodeBlock.builder().add("value").build()
+                    ).map(code ->
+                        CodeBlock.builder().add("value -> $L", code)
+                    ).orElseGet(() ->
+                        CodeBlock.builder().add("$T.identity()", Function.class)
+                    ).build(),
+                    typeResolver.convert(
+                        type, property.getDescription().getType(), CodeBlock.builder().add("value").build()
+                    ).map(code ->
+                        CodeBlock.builder().add("value -> $L", code)
+                    ).orElseGet(() ->
+                        CodeBlock.builder().add("$T.identity()", Function.class)
+                    ).build()
                 );
-                break;
             }
-            case OPTIONAL: {
-                CodeBlock value = accessResolver.getter(
-                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                    CodeBlock.builder().add("this.$N", DELEGATE).build()
-                );
-                getter = CodeBlock.builder().addStatement(
-                    property.getDescription().getType().isPrimitive() ? "return $T.of($L)" : "return $T.ofNullable($L)",
-                    Optional.class,
-                    typeResolver.convert(property.getDescription().getType(), type, value).orElse(value)
+            if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
+                getter = list(owner, property, target).addStatement("return $L", getter.build());
+            } else {
+                getter = list(owner, property, target).addStatement(
+                    "return $T.unmodifiableList($L)", Collections.class, getter.build()
                 );
-                break;
-            }
-            case LIST:
-                if (property.getCardinality() == Cardinality.LIST) {
-                    getter = CodeBlock.builder().add(
-                        "$T.of($L, $L, $L)",
-                        ProjectingList.class,
-                        accessResolver.getter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build()
-                        ),
-                        typeResolver.convert(
-                            property.getDescription().getType(), type, CodeBlock.builder().add("value").build()
-                        ).map(code ->
-                            CodeBlock.builder().add("value -> $L", code)
-                        ).orElseGet(() ->
-                            CodeBlock.builder().add("$T.identity()", Function.class)
-                        ).build(),
-                        typeResolver.convert(
-                            type, property.getDescription().getType(), CodeBlock.builder().add("value").build()
-                        ).map(code ->
-                            CodeBlock.builder().add("value -> $L", code)
-                        ).orElseGet(() ->
-                            CodeBlock.builder().add("$T.identity()", Function.class)
-                        ).build()
-                    );
-                } else {
-                    getter = CodeBlock.builder().add(
-                        "new $T<>(() -> $L, value -> $L, $L, $L)",
-                        ProjectingSingletonList.class,
-                        accessResolver.getter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build()
-                        ),
-                        accessResolver.setter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build(),
-                            CodeBlock.builder().add("value").build()
-                        ),
-                        typeResolver.convert(
-                            property.getDescription().getType(), type, CodeBlock.builder().add("value").build()
-                        ).map(code ->
-                            CodeBlock.builder().add("value -> $L", code)
-                        ).orElseGet(() ->
-                            CodeBlock.builder().add("$T.identity()", Function.class)
-                        ).build(),
-                        typeResolver.convert(
-                            type, property.getDescription().getType(), CodeBlock.builder().add("value").build()
-                        ).map(code ->
-                            CodeBlock.builder().add("value -> $L", code)
-                        ).orElseGet(() ->
-                            CodeBlock.builder().add("$T.identity()", Function.class)
-                        ).build()
-                    );
-                }
-                if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
-                    getter = list(owner, property).addStatement("return $L", getter.build());
-                } else {
-                    getter = list(owner, property).addStatement(
-                        "return $T.unmodifiableList($L)", Collections.class, getter.build()
-                    );
-                }
-                break;
-            default:
-                throw new IllegalStateException();
             }
+            break;
+        default:
+            throw new IllegalStateException();
+        }
+        return getter.build();
+    }
+
+    private CodeBlock primitiveGetter(
+        SingularDescription.Property property, Class<?> owner, Class<?> type, Class<?> primitive
+    ) {
+        CodeBlock value = accessResolver.getter(
+            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+            delegate(false)
+        );
+        if (property.getDescription().getType() == primitive) {
+            return CodeBlock.builder().addStatement("return $L", value).build();
+        } else if (property.getDescription().getType().isPrimitive()) {
+            return CodeBlock.builder().addStatement("return ($T) $L", primitive, value).build();
+        } else if (Number.class.isAssignableFrom(property.getDescription().getType())) {
+            return CodeBlock.builder()
+                .addStatement("$T value = $L", property.getDescription().getType(), value)
+                .addStatement("return value == null ? defaultValue : value.$N()", primitive.getName() + "Value")
+                .build();
+        } else {
+            return CodeBlock.builder()
+                .addStatement("$T value = $L", type, typeResolver.convert(
+                    property.getDescription().getType(), type, value
+                ).orElse(value))
+                .addStatement("return value == null ? defaultValue : value.$N()", primitive.getName() + "Value")
+                .build();
+        }
+    }
+
+    private void addTypedLeaf(
+        TypeSpec.Builder builder, ClassName structure, ClassName projection, SingularDescription.Property property,
+        String name, Cardinality cardinality, Class<?> owner, Class<?> type
+    ) {
+        if (propertyGenerations.contains(PropertyGeneration.GETTER)) {
             builder.addMethod(propertyResolver.getter(structure, name, TypeName.get(type), cardinality, true, true)
-                .addCode(getter.build())
+                .addCode(typedLeafGetter(
+                    builder, projection, property, name, cardinality, owner, type,
+                    delegate(false), true
+                ))
                 .build());
+            if (cardinality == Cardinality.OPTIONAL && propertyGenerations.contains(PropertyGeneration.NULLABLE)) {
+                builder.addMethod(propertyResolver.nullable(structure, name, TypeName.get(type), typedLeafGetter(
+                    builder, projection, property, name, Cardinality.SINGLE, owner, type,
+                    delegate(false), true
+                )));
+            }
+        }
+        if (cardinality == Cardinality.LIST && property.getCardinality() == Cardinality.LIST && !name.isEmpty()
+            && Number.class.isAssignableFrom(type)
+            && Number.class.isAssignableFrom(property.getDescription().getType())
+            && propertyGenerations.contains(PropertyGeneration.PRIMITIVE)) {
+            CodeBlock list = accessResolver.getter(
+                owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                delegate(false)
+            );
+            builder.addMethod(propertyResolver.primitive(structure, name, property.getDescription().getType(), int.class, list));
+            builder.addMethod(propertyResolver.primitive(structure, name, property.getDescription().getType(), long.class, list));
+            builder.addMethod(propertyResolver.primitive(structure, name, property.getDescription().getType(), double.class, list));
+        } else if (cardinality != Cardinality.LIST && !name.isEmpty()
+            && Number.class.isAssignableFrom(type)
+            && propertyGenerations.contains(PropertyGeneration.PRIMITIVE)) {
+            for (Class<?> primitive : Arrays.asList(int.class, long.class, double.class)) {
+                builder.addMethod(propertyResolver.primitive(
+                    structure, name, TypeName.get(type), cardinality, primitive,
+                    primitiveGetter(property, owner, type, primitive)
+                ));
+            }
         }
         if (!name.isEmpty()) {
             if (!Collections.disjoint(propertyGenerations, EnumSet.of(
@@ -539,12 +826,12 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                         "$L.add($L)",
                         accessResolver.getter(
                             owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build()
+                            delegate(false)
                         ),
                         code
                     ).build() : CodeBlock.builder().addStatement(accessResolver.setter(
                         owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                        CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                        delegate(false),
                         code
                     )).build()
                 ).orElseGet(
@@ -552,16 +839,24 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                         "$L.add($L)",
                         accessResolver.getter(
                             owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build()
+                            delegate(false)
                         ),
                         CodeBlock.builder().add("$N", name).build()
                     ).build() : CodeBlock.builder().addStatement(accessResolver.setter(
                         owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                        CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                        delegate(false),
                         CodeBlock.builder().add("$N", name).build()
                     )).build()
                 )).build());
             }
+            if (propertyGenerations.contains(PropertyGeneration.CHECK)) {
+                typeResolver.check(
+                    type, property.getDescription().getType(),
+                    CodeBlock.builder().add("$N", name).build()
+                ).ifPresent(condition -> builder.addMethod(propertyResolver.check(
+                    structure, name, TypeName.get(type), condition
+                )));
+            }
             if (propertyGenerations.contains(PropertyGeneration.TRIAL)) {
                 builder.addMethod(propertyResolver.trial(structure, name, TypeName.get(type), true, true));
             }
@@ -576,79 +871,104 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
         }
     }
 
-    private void addEnumeratedLeaf(
-        TypeSpec.Builder builder, ClassName structure, SingularDescription.Property property,
-        String name, Cardinality cardinality, Class<?> owner, TypeName type
+    private CodeBlock enumeratedLeafGetter(
+        TypeSpec.Builder builder, ClassName projection, SingularDescription.Property property,
+        String name, Cardinality cardinality, Class<?> owner, TypeName type,
+        CodeBlock target, boolean instance
     ) {
-        if (propertyGenerations.contains(PropertyGeneration.GETTER)) {
-            CodeBlock.Builder getter;
-            switch (cardinality) {
-            case SINGLE:
-                getter = CodeBlock.builder().addStatement(
-                    "return $T.wrap($L)",
-                    type,
+        CodeBlock.Builder getter;
+        switch (cardinality) {
+        case SINGLE:
+            getter = CodeBlock.builder().addStatement(
+                "return $T.wrap($L)",
+                type,
+                accessResolver.getter(
+                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                    target
+                )
+            );
+            break;
+        case OPTIONAL:
+            getter = CodeBlock.builder().addStatement(
+                "return $T.ofNullable($T.wrap($L))",
+                Optional.class,
+                type,
+                accessResolver.getter(
+                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                    target
+                )
+            );
+            break;
+        case LIST:
+            if (instance && featureGenerations.contains(FeatureGeneration.LIST_ADAPTER)) {
+                getter = CodeBlock.builder().add(addListAdapter(
+                    builder, projection, property, name, owner, type,
+                    value -> CodeBlock.builder().add("$T.wrap($L)", type, value).build(),
+                    value -> CodeBlock.builder().add(
+                        "$T.unwrap($L, $T.class)", type, value, property.getDescription().getType()
+                    ).build()
+                ));
+            } else if (property.getCardinality() == Cardinality.LIST) {
+                getter = CodeBlock.builder().add(
+                    "$T.of($L, $T::wrap, value -> $T.unwrap(value, $T.class))",
+                    ProjectingList.class,
                     accessResolver.getter(
                         owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                        CodeBlock.builder().add("this.$N", DELEGATE).build()
-                    )
-                );
-                break;
-            case OPTIONAL:
-                getter = CodeBlock.builder().addStatement(
-                    "return $T.ofNullable($T.wrap($L))",
-                    Optional.class,
+                        target
+                    ),
                     type,
+                    type,
+                    property.getDescription().getType()
+                );
+            } else {
+                getter = CodeBlock.builder().add(
+                    "new $T<>(() -> $L, value -> $L, $T::wrap, value -> $T.unwrap(value, $T.class))",
+                    ProjectingSingletonList.class,
                     accessResolver.getter(
                         owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                        CodeBlock.builder().add("this.$N", DELEGATE).build()
-                    )
+                        target
+                    ),
+                    accessResolver.setter(
+                        owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                        target,
+                        CodeBlock.builder().add("value").build()
+                    ),
+                    type,
+                    type,
+                    property.getDescription().getType()
+                );
+            }
+            if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
+                getter = list(owner, property, target).addStatement("return $L", getter.build());
+            } else {
+                getter = list(owner, property, target).addStatement(
+                    "return $T.unmodifiableList($L)", Collections.class, getter.build()
                 );
-                break;
-            case LIST:
-                if (property.getCardinality() == Cardinality.LIST) {
-                    getter = CodeBlock.builder().add(
-                        "$T.of($L, $T::wrap, value -> $T.unwrap(value, $T.class))",
-                        ProjectingList.class,
-                        accessResolver.getter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build()
-                        ),
-                        type,
-                        type,
-                        property.getDescription().getType()
-                    );
-                } else {
-                    getter = CodeBlock.builder().add(
-                        "new $T<>(() -> $L, value -> $L, $T::wrap, value -> $T.unwrap(value, $T.class))",
-                        ProjectingSingletonList.class,
-                        accessResolver.getter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build()
-                        ),
-                        accessResolver.setter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build(),
-                            CodeBlock.builder().add("value").build()
-                        ),
-                        type,
-                        type,
-                        property.getDescription().getType()
-                    );
-                }
-                if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
-                    getter = list(owner, property).addStatement("return $L", getter.build());
-                } else {
-                    getter = list(owner, property).addStatement(
-                        "return $T.unmodifiableList($L)", Collections.class, getter.build()
-                    );
-                }
-                break;
-            default:
-                throw new IllegalStateException();
             }
+            break;
+        default:
+            throw new IllegalStateException();
+        }
+        return getter.build();
+    }
+
+    private void addEnumeratedLeaf(
+        TypeSpec.Builder builder, ClassName structure, ClassName projection, SingularDescription.Property property,
+        String name, Cardinality cardinality, Class<?> owner, TypeName type
+    ) {
+        if (propertyGenerations.contains(PropertyGeneration.GETTER)) {
             builder.addMethod(propertyResolver.getter(structure, name, type, cardinality, true, true)
-                .addCode(getter.build())
+                .addCode(enumeratedLeafGetter(
+                    builder, projection, property, name, cardinality, owner, type,
+                    delegate(false), true
+                ))
                 .build());
+            if (cardinality == Cardinality.OPTIONAL && propertyGenerations.contains(PropertyGeneration.NULLABLE)) {
+                builder.addMethod(propertyResolver.nullable(structure, name, type, enumeratedLeafGetter(
+                    builder, projection, property, name, Cardinality.SINGLE, owner, type,
+                    delegate(false), true
+                )));
+            }
         }
         if (!Collections.disjoint(propertyGenerations, EnumSet.of(
             PropertyGeneration.SETTER, PropertyGeneration.TRIAL, PropertyGeneration.FLUENT
@@ -661,7 +981,7 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     "$L.add($L)",
                     accessResolver.getter(
                         owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                        CodeBlock.builder().add("this.$N", DELEGATE).build()
+                        delegate(false)
                     ),
                     CodeBlock.builder().add(
                         "$T.unwrap($N, $T.class)",
@@ -669,7 +989,7 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     ).build()
                 ).build() : CodeBlock.builder().addStatement(accessResolver.setter(
                     owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                    CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                    delegate(false),
                     CodeBlock.builder().add(
                         "$T.unwrap($N, $T.class)",
                         type, name, property.getDescription().getType()
@@ -677,6 +997,11 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 )).build()
             ).build());
         }
+        if (propertyGenerations.contains(PropertyGeneration.CHECK)) {
+            builder.addMethod(propertyResolver.check(structure, name, type, CodeBlock.builder().add(
+                "$N == null || $T.unwrap($N, $T.class) != null", name, type, name, property.getDescription().getType()
+            ).build()));
+        }
         if (propertyGenerations.contains(PropertyGeneration.TRIAL)) {
             builder.addMethod(propertyResolver.trial(structure, name, type, true, true));
         }
@@ -688,78 +1013,110 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
         }
     }
 
-    private void addBranch(
-        TypeSpec.Builder builder, ClassName structure, SingularDescription.Property property,
+    private CodeBlock branchGetter(
+        TypeSpec.Builder builder, ClassName projection, SingularDescription.Property property,
         String name, Cardinality cardinality, Class<?> owner, TypeName type,
-        ClassName delegate, CompoundDescription compound, CompoundDescription.Property expansion
+        ClassName delegate, String cache, CodeBlock target, boolean instance
     ) {
-        if (propertyGenerations.contains(PropertyGeneration.GETTER)) {
-            CodeBlock.Builder getter;
-            switch (cardinality) {
-            case SINGLE:
-                getter = CodeBlock.builder().addStatement(
-                    "return $T.wrap($L)",
-                    delegate,
+        CodeBlock.Builder getter;
+        switch (cardinality) {
+        case SINGLE:
+            getter = cache == null ? CodeBlock.builder().addStatement(
+                "return $T.wrap($L)",
+                delegate,
+                accessResolver.getter(
+                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                    target
+                )
+            ) : cached(owner, property, delegate, cache).addStatement("return cache");
+            break;
+        case OPTIONAL:
+            getter = cache == null ? CodeBlock.builder().addStatement(
+                "return $T.ofNullable($T.wrap($L))",
+                Optional.class,
+                delegate,
+                accessResolver.getter(
+                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                    target
+                )
+            ) : cached(owner, property, delegate, cache).addStatement("return $T.ofNullable(cache)", Optional.class);
+            break;
+        case LIST:
+            if (instance && featureGenerations.contains(FeatureGeneration.LIST_ADAPTER)) {
+                getter = CodeBlock.builder().add(addListAdapter(
+                    builder, projection, property, name, owner, type,
+                    value -> CodeBlock.builder().add("$T.wrap($L)", delegate, value).build(),
+                    value -> CodeBlock.builder().add("$T.unwrap($L)", delegate, value).build()
+                ));
+            } else if (property.getCardinality() == Cardinality.LIST) {
+                getter = CodeBlock.builder().add(
+                    "$T.of($L, $T::wrap, $T::unwrap)",
+                    ProjectingList.class,
                     accessResolver.getter(
                         owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                        CodeBlock.builder().add("this.$N", DELEGATE).build()
-                    )
-                );
-                break;
-            case OPTIONAL:
-                getter = CodeBlock.builder().addStatement(
-                    "return $T.ofNullable($T.wrap($L))",
-                    Optional.class,
+                        target
+                    ),
                     delegate,
+                    delegate
+                );
+            } else {
+                getter = CodeBlock.builder().add(
+                    "new $T<>(() -> $L, value -> $L, $T::wrap, $T::unwrap)",
+                    ProjectingSingletonList.class,
                     accessResolver.getter(
                         owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                        CodeBlock.builder().add("this.$N", DELEGATE).build()
-                    )
+                        target
+                    ),
+                    accessResolver.setter(
+                        owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                        target,
+                        CodeBlock.builder().add("value").build()
+                    ),
+                    delegate,
+                    delegate
                 );
-                break;
-            case LIST:
-                if (property.getCardinality() == Cardinality.LIST) {
-                    getter = CodeBlock.builder().add(
-                        "$T.of($L, $T::wrap, $T::unwrap)",
-                        ProjectingList.class,
-                        accessResolver.getter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build()
-                        ),
-                        delegate,
-                        delegate
-                    );
-                } else {
-                    getter = CodeBlock.builder().add(
-                        "new $T<>(() -> $L, value -> $L, $T::wrap, $T::unwrap)",
-                        ProjectingSingletonList.class,
-                        accessResolver.getter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build()
-                        ),
-                        accessResolver.setter(
-                            owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build(),
-                            CodeBlock.builder().add("value").build()
-                        ),
-                        delegate,
-                        delegate
-                    );
-                }
-                if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
-                    getter = list(owner, property).addStatement("return $L", getter.build());
-                } else {
-                    getter = list(owner, property).addStatement(
-                        "return $T.unmodifiableList($L)", Collections.class, getter.build()
-                    );
-                }
-                break;
-            default:
-                throw new IllegalStateException();
             }
+            if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
+                getter = list(owner, property, target).addStatement("return $L", getter.build());
+            } else {
+                getter = list(owner, property, target).addStatement(
+                    "return $T.unmodifiableList($L)", Collections.class, getter.build()
+                );
+            }
+            break;
+        default:
+            throw new IllegalStateException();
+        }
+        return getter.build();
+    }
+
+    private void addBranch(
+        TypeSpec.Builder builder, ClassName structure, ClassName projection, SingularDescription.Property property,
+        String name, Cardinality cardinality, Class<?> owner, TypeName type,
+        ClassName delegate, CompoundDescription compound, CompoundDescription.Property expansion
+    ) {
+        String cache = featureGenerations.contains(FeatureGeneration.BRANCH_CACHE)
+            && cardinality != Cardinality.LIST
+            && property.getCardinality() != Cardinality.LIST ? name + "Cache" : null;
+        CodeBlock invalidation = cache == null
+            ? CodeBlock.builder().build()
+            : CodeBlock.builder().addStatement("this.$N = null", cache).build();
+        if (cache != null) {
+            builder.addField(FieldSpec.builder(delegate, cache).addModifiers(Modifier.PRIVATE).build());
+        }
+        if (propertyGenerations.contains(PropertyGeneration.GETTER)) {
             builder.addMethod(propertyResolver.getter(structure, name, type, cardinality, true, true)
-                .addCode(getter.build())
+                .addCode(branchGetter(
+                    builder, projection, property, name, cardinality, owner, type,
+                    delegate, cache, delegate(false), true
+                ))
                 .build());
+            if (cardinality == Cardinality.OPTIONAL && propertyGenerations.contains(PropertyGeneration.NULLABLE)) {
+                builder.addMethod(propertyResolver.nullable(structure, name, type, branchGetter(
+                    builder, projection, property, name, Cardinality.SINGLE, owner, type,
+                    delegate, cache, delegate(false), true
+                )));
+            }
         }
         if (!Collections.disjoint(propertyGenerations, EnumSet.of(
             PropertyGeneration.SETTER,
@@ -771,17 +1128,17 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
             builder.addMethod(propertyResolver.setter(
                 structure, name, type,
                 true, propertyGenerations.contains(PropertyGeneration.SETTER)
-            ).addCode(
+            ).addCode(invalidation).addCode(
                 property.getCardinality() == Cardinality.LIST ? list(owner, property).addStatement(
                     "$L.add($L)",
                     accessResolver.getter(
                         owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                        CodeBlock.builder().add("this.$N", DELEGATE).build()
+                        delegate(false)
                     ),
                     CodeBlock.builder().add("$T.unwrap($N)", delegate, name).build()
                 ).build() : CodeBlock.builder().addStatement(accessResolver.setter(
                     owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                    CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                    delegate(false),
                     CodeBlock.builder().add("$T.unwrap($N)", delegate, name).build()
                 )).build()
             ).build());
@@ -790,12 +1147,12 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     expansion.getDescription().accept(expansionType -> builder.addMethod(propertyResolver.setter(
                         structure, name, TypeName.get(expansionType),
                         true, propertyGenerations.contains(PropertyGeneration.SETTER)
-                    ).addCode(
+                    ).addCode(invalidation).addCode(
                         property.getCardinality() == Cardinality.LIST ? list(owner, property).addStatement(
                             "$L.add($L)",
                             accessResolver.getter(
                                 owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                                CodeBlock.builder().add("this.$N", DELEGATE).build()
+                                delegate(false)
                             ),
                             typeResolver.convert(
                                 expansionType,
@@ -804,7 +1161,7 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                             ).orElseGet(() -> CodeBlock.builder().add("$N", name).build())
                         ).build() : CodeBlock.builder().addStatement(accessResolver.setter(
                             owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                            delegate(false),
                             typeResolver.convert(
                                 expansionType,
                                 property.getDescription().getType(),
@@ -814,12 +1171,12 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     ).build()), ignored -> builder.addMethod(propertyResolver.setter(
                         structure, name, nameResolver.structure(expansion.getDescription()),
                         true, propertyGenerations.contains(PropertyGeneration.SETTER)
-                    ).addCode(
+                    ).addCode(invalidation).addCode(
                         property.getCardinality() == Cardinality.LIST ? list(owner, property).addStatement(
                             "$L.add($L)",
                             accessResolver.getter(
                                 owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                                CodeBlock.builder().add("this.$N", DELEGATE).build()
+                                delegate(false)
                             ),
                             CodeBlock.builder().add(
                                 "$T.unwrap($N, $T.class)",
@@ -829,7 +1186,7 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                             ).build()
                         ).build() : CodeBlock.builder().addStatement(accessResolver.setter(
                             owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                            delegate(false),
                             CodeBlock.builder().add(
                                 "$T.unwrap($N, $T.class)",
                                 nameResolver.structure(expansion.getDescription()),
@@ -844,31 +1201,31 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     expansion.getDescription().accept(expansionType -> builder.addMethod(propertyResolver.setter(
                         structure, name, TypeName.get(expansionType),
                         true, propertyGenerations.contains(PropertyGeneration.SETTER)
-                    ).addCode(
+                    ).addCode(invalidation).addCode(
                         property.getCardinality() == Cardinality.LIST ? list(owner, property).addStatement(
                             "$L.clear()",
                             accessResolver.getter(
                                 owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                                CodeBlock.builder().add("this.$N", DELEGATE).build()
+                                delegate(false)
                             )
                         ).build() : CodeBlock.builder().addStatement(accessResolver.setter(
                             owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                            delegate(false),
                             CodeBlock.builder().add("null").build()
                         )).build()
                     ).build()), ignored -> builder.addMethod(propertyResolver.setter(
                         structure, name, nameResolver.structure(expansion.getDescription()),
                         true, propertyGenerations.contains(PropertyGeneration.SETTER)
-                    ).addCode(
+                    ).addCode(invalidation).addCode(
                         property.getCardinality() == Cardinality.LIST ? list(owner, property).addStatement(
                             "$L.clear()",
                             accessResolver.getter(
                                 owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                                CodeBlock.builder().add("this.$N", DELEGATE).build()
+                                delegate(false)
                             )
                         ).build() : CodeBlock.builder().addStatement(accessResolver.setter(
                             owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                            CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                            delegate(false),
                             CodeBlock.builder().add("null").build()
                         )).build()
                     ).build()), ignored -> {
@@ -877,6 +1234,11 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 }
             }
         }
+        if (propertyGenerations.contains(PropertyGeneration.CHECK)) {
+            builder.addMethod(propertyResolver.check(structure, name, type, CodeBlock.builder().add(
+                "$N == null || $N instanceof $T", name, name, delegate
+            ).build()));
+        }
         if (propertyGenerations.contains(PropertyGeneration.TRIAL)) {
             builder.addMethod(propertyResolver.trial(structure, name, type, true, true));
             if (expansion != null) {
@@ -962,6 +1324,77 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
         }
     }
 
+    private static boolean isFlyweight(SingularDescription singular) {
+        return singular.isLeaf() && (singular.getType().isEnum() || singular.getBoxedType() == Boolean.class);
+    }
+
+    private static CodeBlock flyweight(SingularDescription singular, ClassName structure, ClassName projection, CodeBlock value) {
+        String name = nestedName("Flyweight", structure, projection, singular);
+        if (singular.getType().isEnum()) {
+            return CodeBlock.builder().add("$N.INSTANCES[$L.ordinal()]", name, value).build();
+        } else {
+            return CodeBlock.builder().add("$L ? $N.TRUE : $N.FALSE", value, name, name).build();
+        }
+    }
+
+    private static CodeBlock flyweightOf(SingularDescription singular, ClassName structure, ClassName projection, CodeBlock value) {
+        if (!isFlyweight(singular)) {
+            return CodeBlock.builder().addStatement("return new $T($L)", projection, value).build();
+        } else if (singular.getType().isPrimitive()) {
+            return CodeBlock.builder().addStatement("return $L", flyweight(singular, structure, projection, value)).build();
+        } else {
+            return CodeBlock.builder()
+                .addStatement("$T $N = $L", singular.getType(), DELEGATE, value)
+                .addStatement(
+                    "return $N == null ? new $T(null) : $L",
+                    DELEGATE, projection, flyweight(singular, structure, projection, CodeBlock.builder().add("$N", DELEGATE).build())
+                )
+                .build();
+        }
+    }
+
+    private static TypeSpec flyweights(SingularDescription singular, ClassName structure, ClassName projection) {
+        TypeSpec.Builder builder = TypeSpec.classBuilder(nestedName("Flyweight", structure, projection, singular)).addModifiers(Modifier.PRIVATE, Modifier.STATIC);
+        if (singular.getType().isEnum()) {
+            builder.addField(FieldSpec.builder(ArrayTypeName.of(projection), "INSTANCES")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.stream($T.values()).map($T::new).toArray($T[]::new)", Arrays.class, singular.getType(), projection, projection)
+                .build());
+        } else {
+            builder.addField(FieldSpec.builder(projection, "TRUE")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T(true)", projection)
+                .build()).addField(FieldSpec.builder(projection, "FALSE")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T(false)", projection)
+                .build());
+        }
+        return builder.build();
+    }
+
+    private static TypeSpec dispatch(SingularDescription singular, ClassName structure, ClassName projection, CodeBlock.Builder dispatch) {
+        TypeName function = ParameterizedTypeName.get(ClassName.get(Function.class), TypeName.get(singular.getBoxedType()), projection);
+        return TypeSpec.classBuilder(nestedName("Dispatch", structure, projection, singular))
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(ClassValue.class), function), "TABLE")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", TypeSpec.anonymousClassBuilder("")
+                    .superclass(ParameterizedTypeName.get(ClassName.get(ClassValue.class), function))
+                    .addMethod(MethodSpec.methodBuilder("computeValue")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PROTECTED)
+                        .returns(function)
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)), "type")
+                        .addCode(dispatch.nextControlFlow("else")
+                            .addStatement("return $T::new", projection)
+                            .endControlFlow()
+                            .build())
+                        .build())
+                    .build())
+                .build())
+            .build();
+    }
+
     private void addTypedLeafExpansion(TypeSpec.Builder builder, ClassName structure, Class<?> type, Class<?> target) {
         builder.addAnnotation(AnnotationSpec.builder(ExpansionOf.class)
             .addMember("value", CodeBlock.builder().add("$T.class", structure).build())
@@ -978,6 +1411,14 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     "return $T.of(this.$N)", Optional.class, DELEGATE
                 )).build()
             ).build());
+            if (propertyGenerations.contains(PropertyGeneration.NULLABLE)) {
+                builder.addMethod(propertyResolver.nullable(
+                    structure, CompoundDescription.EXPANSION, TypeName.get(type),
+                    CodeBlock.builder().addStatement("return $L", typeResolver.convert(target, type, CodeBlock.builder().add(
+                        "this.$N", DELEGATE
+                    ).build()).orElseGet(() -> CodeBlock.builder().add("this.$N", DELEGATE).build())).build()
+                ));
+            }
         }
         if (propertyGenerations.contains(PropertyGeneration.OWNER)) {
             builder.addMethod(propertyResolver.owner(
@@ -999,6 +1440,12 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 type,
                 DELEGATE
             ).build()).build());
+            if (propertyGenerations.contains(PropertyGeneration.NULLABLE)) {
+                builder.addMethod(propertyResolver.nullable(
+                    structure, CompoundDescription.EXPANSION, type,
+                    CodeBlock.builder().addStatement("return $T.wrap(this.$N)", type, DELEGATE).build()
+                ));
+            }
         }
         if (propertyGenerations.contains(PropertyGeneration.OWNER)) {
             builder.addMethod(propertyResolver.owner(
@@ -1010,16 +1457,21 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
     private void addHashCode(
         TypeSpec.Builder builder,
         ClassName projection, ClassName base,
-        SingularDescription singular, Map<String, CompoundDescription.Property> properties
+        SingularDescription singular, Map<String, CompoundDescription.Property> properties,
+        boolean recursive
     ) {
+        boolean iterative = featureGenerations.contains(FeatureGeneration.ITERATIVE);
         if (base == null) {
             builder.addMethod(MethodSpec.methodBuilder("hashCode")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(int.class)
                 .addAnnotation(Override.class)
-                .addCode(CodeBlock.builder().addStatement(
+                .addCode(recursive ? CodeBlock.builder().addStatement(
                     "return this.hashCode($T.newSetFromMap(new $T<>()))",
                     Collections.class, IdentityHashMap.class
+                ).build() : CodeBlock.builder().addStatement(
+                    "return this.hashCode($T.emptySet())",
+                    Collections.class
                 ).build())
                 .build());
         }
@@ -1029,19 +1481,35 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
             .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
             .addAnnotation(Override.class)
             .addCode(CodeBlock.builder().addStatement(
-                "return $T.hashCode(this.$N, checked)",
-                projection, DELEGATE
+                "return $T.hashCode($L, checked)",
+                projection, delegate(singular.isLeaf())
             ).build())
             .build());
-        CodeBlock.Builder doHashCode = CodeBlock.builder().addStatement("int hashCode = 0");
+        if (iterative) {
+            builder.addMethod(MethodSpec.methodBuilder("hashCode")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addParameter(WorkStack.class, "stack")
+                .addAnnotation(Override.class)
+                .addCode(CodeBlock.builder().addStatement(
+                    "return $T.hashCode($L, stack)",
+                    projection, delegate(singular.isLeaf())
+                ).build())
+                .build());
+        }
+        ParameterSpec tracking = iterative
+            ? ParameterSpec.builder(WorkStack.class, "stack").build()
+            : ParameterSpec.builder(ParameterizedTypeName.get(Set.class, Object.class), "checked").build();
+        List<CodeBlock> doHashCode = new ArrayList<>();
         if (singular.isLeaf()) {
             if (singular.getType().isPrimitive()) {
-                doHashCode.addStatement("hashCode = hashCode + $T.hashCode(value)", singular.getBoxedType());
+                doHashCode.add(CodeBlock.builder().addStatement("hashCode = hashCode + $T.hashCode(value)", singular.getBoxedType()).build());
             } else {
-                doHashCode.addStatement("hashCode = hashCode + value.hashCode()");
+                doHashCode.add(CodeBlock.builder().addStatement("hashCode = hashCode + value.hashCode()").build());
             }
         } else {
             singular.getProperties().forEach((name, property) -> {
+                CodeBlock.Builder chunk = CodeBlock.builder();
                 Class<?> target = property.getDescription().getType();
                 CodeBlock value = accessResolver.getter(
                     singular.getType(), target, property.getName(), property.getCardinality(),
@@ -1049,17 +1517,27 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 );
                 if (property.getDescription().isLeaf()) {
                     if (target.isPrimitive()) {
-                        doHashCode.addStatement("hashCode = hashCode + $T.hashCode($L)", TypeName.get(target).box(), value);
+                        chunk.addStatement("hashCode = hashCode + $T.hashCode($L)", TypeName.get(target).box(), value);
                     } else if (property.getCardinality() != Cardinality.LIST) {
-                        doHashCode.beginControlFlow("if ($L != null)", value)
+                        chunk.beginControlFlow("if ($L != null)", value)
                             .addStatement("hashCode = hashCode + $L.hashCode()", value)
                             .endControlFlow();
                     } else {
-                        doHashCode.addStatement("hashCode = hashCode + $L.hashCode()", value);
+                        chunk.addStatement("hashCode = hashCode + $L.hashCode()", value);
+                    }
+                } else if (iterative) {
+                    ClassName nested = nameResolver.projection(properties.get(name).getDescription(), property.getDescription());
+                    if (property.getCardinality() == Cardinality.LIST) {
+                        chunk.addStatement("hashCode = hashCode + $L.size()", value)
+                            .beginControlFlow("for (int index = 0; index < $L.size(); index++)", value)
+                            .addStatement("stack.pushHashCode($L.get(index), $T::hashCode)", value, nested)
+                            .endControlFlow();
+                    } else {
+                        chunk.addStatement("stack.pushHashCode($L, $T::hashCode)", value, nested);
                     }
                 } else {
                     if (property.getCardinality() == Cardinality.LIST) {
-                        doHashCode.beginControlFlow("for (int index = 0; index < $L.size(); index++)", value)
+                        chunk.beginControlFlow("for (int index = 0; index < $L.size(); index++)", value)
                             .addStatement(
                                 "hashCode = hashCode + (index + 1) * $T.hashCode($L.get(index), checked)",
                                 nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
@@ -1067,7 +1545,7 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                             )
                             .endControlFlow();
                     } else {
-                        doHashCode.beginControlFlow("if ($L != null)", value)
+                        chunk.beginControlFlow("if ($L != null)", value)
                             .addStatement(
                                 "hashCode = hashCode + $T.hashCode($L, checked)",
                                 nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
@@ -1076,71 +1554,111 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                             .endControlFlow();
                     }
                 }
-                doHashCode.addStatement("hashCode = hashCode * 31");
+                doHashCode.add(chunk.addStatement("hashCode = hashCode * 31").build());
             });
         }
-        builder.addMethod(MethodSpec.methodBuilder("doHashCode")
+        MethodSpec doHashCodeSignature = MethodSpec.methodBuilder("doHashCode")
             .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
             .returns(int.class)
             .addParameter(singular.getType(), "value")
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
-            .addCode(doHashCode.addStatement("return hashCode").build())
+            .addParameter(tracking)
+            .build();
+        builder.addMethod(doHashCodeSignature.toBuilder()
+            .addStatement("int hashCode = 0")
+            .addCode(methodSplitter.split(
+                builder, projection, doHashCodeSignature,
+                Collections.singletonList(ParameterSpec.builder(int.class, "hashCode").build()),
+                doHashCode, CodeBlock.builder().addStatement("return hashCode").build()
+            ))
             .build());
         CodeBlock.Builder hashCode = CodeBlock.builder();
-        if (!singular.isLeaf()) {
+        if (!iterative && !singular.isLeaf() && recursive) {
             hashCode.beginControlFlow("if (!checked.add(value))")
                 .addStatement("return 0")
                 .endControlFlow();
         }
         hashCode.addStatement("$T hashCode = $T.class.hashCode()", int.class, projection);
         if (base != null) {
-            hashCode.addStatement("hashCode = hashCode + 31 * $T.doHashCode(value, checked)", base);
+            hashCode.addStatement("hashCode = hashCode + 31 * $T.doHashCode(value, $N)", base, tracking);
         }
-        hashCode.addStatement("hashCode = hashCode + doHashCode(value, checked)");
+        hashCode.addStatement("hashCode = hashCode + doHashCode(value, $N)", tracking);
         builder.addMethod(MethodSpec.methodBuilder("hashCode")
             .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
             .returns(int.class)
             .addParameter(singular.getType(), "value")
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
+            .addParameter(tracking)
             .addCode(hashCode.addStatement("return hashCode").build())
             .build());
+        if (iterative) {
+            builder.addMethod(MethodSpec.methodBuilder("hashCode")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(int.class)
+                .addParameter(singular.getType(), "value")
+                .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
+                .addCode(CodeBlock.builder().addStatement(
+                    "return $T.hashCode(value, $T::hashCode, $L)",
+                    WorkStack.class, projection, !singular.isLeaf() && recursive ? "checked" : "null"
+                ).build())
+                .build());
+        }
     }
 
     private void addEquals(
         TypeSpec.Builder builder,
         ClassName projection, ClassName base,
-        SingularDescription singular, Map<String, CompoundDescription.Property> properties
+        SingularDescription singular, Map<String, CompoundDescription.Property> properties,
+        boolean recursive
     ) {
+        boolean iterative = featureGenerations.contains(FeatureGeneration.ITERATIVE);
         if (base == null) {
             builder.addMethod(MethodSpec.methodBuilder("equals")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(boolean.class)
                 .addParameter(Object.class, "other")
                 .addAnnotation(Override.class)
-                .addCode(CodeBlock.builder().addStatement(
+                .addCode(recursive ? CodeBlock.builder().addStatement(
                     "return this.equals(other, new $T<>())",
                     IdentityHashMap.class
+                ).build() : CodeBlock.builder().addStatement(
+                    "return this.equals(other, $T.emptyMap())",
+                    Collections.class
                 ).build())
                 .build());
         }
-        builder.addMethod(MethodSpec.methodBuilder("equals")
-            .addModifiers(Modifier.PUBLIC)
+        ParameterSpec checked = ParameterSpec.builder(ParameterizedTypeName.get(
+            ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
+        ), "checked").build(), tracking = iterative ? ParameterSpec.builder(WorkStack.class, "stack").build() : checked;
+        for (ParameterSpec parameter : iterative ? Arrays.asList(checked, tracking) : Collections.singletonList(checked)) {
+            builder.addMethod(MethodSpec.methodBuilder("equals")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(Object.class, "other")
+                .addParameter(parameter)
+                .addAnnotation(Override.class)
+                .addCode(CodeBlock.builder()
+                    .beginControlFlow("if (other == null || this.getClass() != other.getClass())")
+                    .addStatement("return false")
+                    .endControlFlow()
+                    .addStatement(
+                        "return $T.equals($L, (($T) other).$L, $N)",
+                        projection,
+                        delegate(singular.isLeaf()),
+                        projection,
+                        !singular.isLeaf() && featureGenerations.contains(FeatureGeneration.CURSOR)
+                            ? CodeBlock.builder().add("doDelegate()").build()
+                            : CodeBlock.builder().add("$N", DELEGATE).build(),
+                        parameter
+                    )
+                    .build())
+                .build());
+        }
+        MethodSpec doEqualsSignature = MethodSpec.methodBuilder("doEquals")
+            .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
             .returns(boolean.class)
-            .addParameter(Object.class, "other")
-            .addParameter(ParameterizedTypeName.get(
-                ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
-            ), "checked")
-            .addAnnotation(Override.class)
-            .addCode(CodeBlock.builder()
-                .beginControlFlow("if (other == null || this.getClass() != other.getClass())")
-                .addStatement("return false")
-                .endControlFlow()
-                .addStatement(
-                    "return $T.equals(this.$N, (($T) other).$N, checked)",
-                    projection, DELEGATE, projection, DELEGATE
-                )
-                .build())
-            .build());
+            .addParameter(singular.getType(), "left")
+            .addParameter(singular.getType(), "right")
+            .addParameter(tracking)
+            .build();
         CodeBlock.Builder doEquals = CodeBlock.builder();
         if (singular.isLeaf()) {
             if (singular.getType() == float.class) {
@@ -1153,7 +1671,9 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 doEquals.addStatement("return $T.equals(left, right)", Objects.class);
             }
         } else {
+            List<CodeBlock> chunks = new ArrayList<>();
             singular.getProperties().forEach((name, property) -> {
+                CodeBlock.Builder chunk = CodeBlock.builder();
                 Class<?> target = property.getDescription().getType();
                 CodeBlock left = accessResolver.getter(
                     singular.getType(), target, property.getName(), property.getCardinality(),
@@ -1162,85 +1682,111 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                     singular.getType(), target, property.getName(), property.getCardinality(),
                     CodeBlock.builder().add("right").build()
                 );
-                if (property.getDescription().isLeaf()) {
-                    if (target == float.class) {
-                        doEquals.beginControlFlow("if ($T.compareTo($L, $L) != 0)", Float.class, left, right);
-                    } else if (target == double.class) {
-                        doEquals.beginControlFlow("if ($T.compareTo($L, $L) != 0)", Double.class, left, right);
-                    } else if (target.isPrimitive() || target.isEnum() && property.getCardinality() != Cardinality.LIST) {
-                        doEquals.beginControlFlow("if ($L != $L)", left, right);
+                if (!property.getDescription().isLeaf() && iterative) {
+                    ClassName nested = nameResolver.projection(properties.get(name).getDescription(), property.getDescription());
+                    if (property.getCardinality() == Cardinality.LIST) {
+                        chunk.beginControlFlow("if ($L.size() != $L.size())", left, right)
+                            .addStatement("return false")
+                            .endControlFlow()
+                            .beginControlFlow("for (int index = 0; index < $L.size(); index++)", left)
+                            .addStatement("stack.pushEquals($L.get(index), $L.get(index), $T::equals)", left, right, nested)
+                            .endControlFlow();
                     } else {
-                        doEquals.beginControlFlow("if (!$T.equals($L, $L))", Objects.class, left, right);
+                        chunk.addStatement("stack.pushEquals($L, $L, $T::equals)", left, right, nested);
                     }
+                    chunks.add(chunk.build());
                 } else {
-                    if (property.getCardinality() == Cardinality.LIST) {
-                        doEquals.beginControlFlow(
-                            "if ($L.size() != $L.size() || $T.range(0, $L.size()).anyMatch("
-                                + "index -> !$T.equals($L.get(index), $L.get(index), checked)))",
-                            left, right, IntStream.class, left,
-                            nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
-                            left, right
-                        );
+                    if (property.getDescription().isLeaf()) {
+                        if (target == float.class) {
+                            chunk.beginControlFlow("if ($T.compareTo($L, $L) != 0)", Float.class, left, right);
+                        } else if (target == double.class) {
+                            chunk.beginControlFlow("if ($T.compareTo($L, $L) != 0)", Double.class, left, right);
+                        } else if (target.isPrimitive() || target.isEnum() && property.getCardinality() != Cardinality.LIST) {
+                            chunk.beginControlFlow("if ($L != $L)", left, right);
+                        } else {
+                            chunk.beginControlFlow("if (!$T.equals($L, $L))", Objects.class, left, right);
+                        }
                     } else {
-                        doEquals.beginControlFlow(
-                            "if (!$T.equals($L, $L, checked))",
-                            nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
-                            left, right
-                        );
+                        if (property.getCardinality() == Cardinality.LIST) {
+                            chunk.beginControlFlow(
+                                "if ($L.size() != $L.size() || $T.range(0, $L.size()).anyMatch("
+                                    + "index -> !$T.equals($L.get(index), $L.get(index), checked)))",
+                                left, right, IntStream.class, left,
+                                nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
+                                left, right
+                            );
+                        } else {
+                            chunk.beginControlFlow(
+                                "if (!$T.equals($L, $L, checked))",
+                                nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
+                                left, right
+                            );
+                        }
                     }
+                    chunks.add(chunk.addStatement("return false").endControlFlow().build());
                 }
-                doEquals.addStatement("return false").endControlFlow();
             });
-            doEquals.addStatement("return true");
+            doEquals.add(methodSplitter.split(
+                builder, projection, doEqualsSignature,
+                chunks, CodeBlock.builder().addStatement("return true").build()
+            ));
         }
-        builder.addMethod(MethodSpec.methodBuilder("doEquals")
-            .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
-            .returns(boolean.class)
-            .addParameter(singular.getType(), "left")
-            .addParameter(singular.getType(), "right")
-            .addParameter(ParameterizedTypeName.get(
-                ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
-            ), "checked")
-            .addCode(doEquals.build())
-            .build());
+        builder.addMethod(doEqualsSignature.toBuilder().addCode(doEquals.build()).build());
         CodeBlock.Builder equals = CodeBlock.builder();
-        if (!singular.isLeaf()) {
+        if (!iterative && !singular.isLeaf()) {
             equals.beginControlFlow("if (left == null)")
                 .addStatement("return right == null")
                 .nextControlFlow("else if (right == null)")
-                .addStatement("return false")
-                .nextControlFlow("else if (checked.containsKey(left) && checked.get(left).contains(right))")
-                .addStatement("return true")
-                .endControlFlow()
-                .addStatement("$T current = checked.get(left)", ParameterizedTypeName.get(Set.class, Object.class))
-                .beginControlFlow("if (current == null)")
-                .addStatement("current = $T.newSetFromMap(new $T<>())", Collections.class, IdentityHashMap.class)
-                .addStatement("checked.put(left, current)")
-                .endControlFlow()
-                .addStatement("current.add(right)");
+                .addStatement("return false");
+            if (recursive) {
+                equals.nextControlFlow("else if (checked.containsKey(left) && checked.get(left).contains(right))")
+                    .addStatement("return true")
+                    .endControlFlow()
+                    .addStatement("$T current = checked.get(left)", ParameterizedTypeName.get(Set.class, Object.class))
+                    .beginControlFlow("if (current == null)")
+                    .addStatement("current = $T.newSetFromMap(new $T<>())", Collections.class, IdentityHashMap.class)
+                    .addStatement("checked.put(left, current)")
+                    .endControlFlow()
+                    .addStatement("current.add(right)");
+            } else {
+                equals.endControlFlow();
+            }
         }
         if (base == null) {
-            equals.addStatement("return doEquals(left, right, checked)");
+            equals.addStatement("return doEquals(left, right, $N)", tracking);
         } else {
-            equals.addStatement("return $T.doEquals(left, right, checked) && doEquals(left, right, checked)", base);
+            equals.addStatement("return $T.doEquals(left, right, $N) && doEquals(left, right, $N)", base, tracking, tracking);
         }
         builder.addMethod(MethodSpec.methodBuilder("equals")
             .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
             .returns(boolean.class)
             .addParameter(singular.getType(), "left")
             .addParameter(singular.getType(), "right")
-            .addParameter(ParameterizedTypeName.get(
-                ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
-            ), "checked")
+            .addParameter(tracking)
             .addCode(equals.build())
             .build());
+        if (iterative) {
+            builder.addMethod(MethodSpec.methodBuilder("equals")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(boolean.class)
+                .addParameter(singular.getType(), "left")
+                .addParameter(singular.getType(), "right")
+                .addParameter(checked)
+                .addCode(CodeBlock.builder().addStatement(
+                    "return $T.equals(left, right, $T::equals, $L)",
+                    WorkStack.class, projection, !singular.isLeaf() && recursive ? "checked" : "null"
+                ).build())
+                .build());
+        }
     }
 
     private void addToString(
         TypeSpec.Builder builder,
         ClassName structure, ClassName projection, ClassName base,
-        SingularDescription singular, Map<String, CompoundDescription.Property> properties
+        SingularDescription singular, Map<String, CompoundDescription.Property> properties,
+        boolean recursive
     ) {
+        boolean iterative = featureGenerations.contains(FeatureGeneration.ITERATIVE);
         if (base == null) {
             builder.addMethod(MethodSpec.methodBuilder("toString")
                 .addModifiers(Modifier.PUBLIC)
@@ -1249,69 +1795,106 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 .addCode(CodeBlock.builder().addStatement(
                     "$T builder = new $T()",
                     StringBuilder.class, StringBuilder.class
-                ).addStatement(
+                ).add(recursive ? CodeBlock.builder().addStatement(
                     "this.toString(builder, $T.newSetFromMap(new $T<>()))",
                     Collections.class, IdentityHashMap.class
-                ).addStatement(
+                ).build() : CodeBlock.builder().addStatement(
+                    "this.toString(builder, $T.emptySet())",
+                    Collections.class
+                ).build()).addStatement(
                     "return builder.toString()"
                 ).build())
                 .build());
         }
-        builder.addMethod(MethodSpec.methodBuilder("toString")
-            .addModifiers(Modifier.PUBLIC)
+        ParameterSpec checked = ParameterSpec.builder(ParameterizedTypeName.get(Set.class, Object.class), "checked").build(),
+            tracking = iterative ? ParameterSpec.builder(WorkStack.class, "stack").build() : checked;
+        for (ParameterSpec parameter : iterative ? Arrays.asList(checked, tracking) : Collections.singletonList(checked)) {
+            builder.addMethod(MethodSpec.methodBuilder("toString")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(void.class)
+                .addParameter(StringBuilder.class, "builder")
+                .addParameter(parameter)
+                .addAnnotation(Override.class)
+                .addCode(CodeBlock.builder().addStatement(
+                    "$T.toString($L, builder, $N)",
+                    projection, delegate(singular.isLeaf()), parameter
+                ).build())
+                .build());
+        }
+        MethodSpec doToStringSignature = MethodSpec.methodBuilder("doToString")
+            .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
             .returns(void.class)
+            .addParameter(singular.getType(), "value")
             .addParameter(StringBuilder.class, "builder")
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
-            .addAnnotation(Override.class)
-            .addCode(CodeBlock.builder().addStatement(
-                "$T.toString(this.$N, builder, checked)",
-                projection, DELEGATE
-            ).build())
-            .build());
+            .addParameter(tracking)
+            .build();
         CodeBlock.Builder doToString = CodeBlock.builder();
         if (singular.isLeaf()) {
-            doToString.addStatement("builder.append($S + $T.class.getTypeName() + $S)", " - ", projection, ": ");
-            doToString.addStatement("builder.append(value)");
+            if (iterative) {
+                doToString.addStatement("stack.pushText($S + $T.class.getTypeName() + $S + value)", " - ", projection, ": ");
+            } else {
+                doToString.addStatement("builder.append($S + $T.class.getTypeName() + $S)", " - ", projection, ": ");
+                doToString.addStatement("builder.append(value)");
+            }
         } else {
+            List<CodeBlock> chunks = new ArrayList<>();
             singular.getProperties().forEach((name, property) -> {
+                CodeBlock.Builder chunk = CodeBlock.builder();
                 Class<?> target = property.getDescription().getType();
                 CodeBlock value = accessResolver.getter(
                     singular.getType(), target, property.getName(), property.getCardinality(),
                     CodeBlock.builder().add("value").build()
                 );
-                doToString.addStatement("builder.append($S)", " - " + name + ": ");
-                if (property.getDescription().isLeaf()) {
-                    doToString.addStatement("builder.append($L)", value);
+                if (iterative) {
+                    if (property.getDescription().isLeaf()) {
+                        chunk.addStatement("stack.pushText($S + $L)", " - " + name + ": ", value);
+                    } else {
+                        ClassName nested = nameResolver.projection(properties.get(name).getDescription(), property.getDescription());
+                        if (property.getCardinality() == Cardinality.LIST) {
+                            chunk.addStatement("stack.pushText($S)", " - " + name + ": [");
+                            chunk.beginControlFlow("for (int index = 0; index < $L.size(); index++)", value)
+                                .addStatement("stack.pushText(index + $S)", ": ")
+                                .addStatement("stack.pushToString($L.get(index), $T::toString)", value, nested)
+                                .endControlFlow();
+                            chunk.addStatement("stack.pushText($S)", "]");
+                        } else {
+                            chunk.addStatement("stack.pushText($S)", " - " + name + ": ");
+                            chunk.addStatement("stack.pushToString($L, $T::toString)", value, nested);
+                        }
+                    }
                 } else {
-                    if (property.getCardinality() == Cardinality.LIST) {
-                        doToString.addStatement("builder.append($S)", "[");
-                        doToString.beginControlFlow("for (int index = 0; index < $L.size(); index++)", value)
-                            .addStatement("builder.append(index).append($S)", ": ")
-                            .addStatement(
-                                "$T.toString($L.get(index), builder, checked)",
+                    chunk.addStatement("builder.append($S)", " - " + name + ": ");
+                    if (property.getDescription().isLeaf()) {
+                        chunk.addStatement("builder.append($L)", value);
+                    } else {
+                        if (property.getCardinality() == Cardinality.LIST) {
+                            chunk.addStatement("builder.append($S)", "[");
+                            chunk.beginControlFlow("for (int index = 0; index < $L.size(); index++)", value)
+                                .addStatement("builder.append(index).append($S)", ": ")
+                                .addStatement(
+                                    "$T.toString($L.get(index), builder, checked)",
+                                    nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
+                                    value
+                                )
+                                .endControlFlow();
+                            chunk.addStatement("builder.append($S)", "]");
+                        } else {
+                            chunk.addStatement(
+                                "$T.toString($L, builder, checked)",
                                 nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
                                 value
-                            )
-                            .endControlFlow();
-                        doToString.addStatement("builder.append($S)", "]");
-                    } else {
-                        doToString.addStatement(
-                            "$T.toString($L, builder, checked)",
-                            nameResolver.projection(properties.get(name).getDescription(), property.getDescription()),
-                            value
-                        );
+                            );
+                        }
                     }
                 }
+                chunks.add(chunk.build());
             });
+            doToString.add(methodSplitter.split(
+                builder, projection, doToStringSignature,
+                chunks, CodeBlock.builder().build()
+            ));
         }
-        builder.addMethod(MethodSpec.methodBuilder("doToString")
-            .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
-            .returns(void.class)
-            .addParameter(singular.getType(), "value")
-            .addParameter(StringBuilder.class, "builder")
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
-            .addCode(doToString.build())
-            .build());
+        builder.addMethod(doToStringSignature.toBuilder().addCode(doToString.build()).build());
         CodeBlock.Builder toString = CodeBlock.builder();
         if (singular.isLeaf()) {
             toString.addStatement(
@@ -1319,49 +1902,430 @@ public class ProjectionEmitter implements BiConsumer<CompoundDescription, Map<St
                 "Expansion of ", singular.getType(), " to structure ", structure
             );
         } else {
-            toString.beginControlFlow("if (value == null)")
-                .addStatement("builder.append($S)", "null")
-                .addStatement("return")
-                .nextControlFlow("if (!checked.add(value))")
-                .addStatement(
-                    "builder.append($S).append($T.identityHashCode(value))",
-                    "Recursive reference to projection of ", System.class
-                )
-                .addStatement("return")
-                .endControlFlow()
-                .addStatement(
-                    "builder.append($S).append($T.class.getTypeName())"
-                        + ".append($S).append($T.class.getTypeName())"
-                        + ".append($S).append($T.class.getTypeName())"
-                        + ".append($S).append($T.identityHashCode(value))",
-                    "Projection ", projection, " of ", singular.getType(), " to structure ", structure,
-                    " with identity ", System.class
-                );
+            if (!iterative) {
+                toString.beginControlFlow("if (value == null)")
+                    .addStatement("builder.append($S)", "null")
+                    .addStatement("return");
+                if (recursive) {
+                    toString.nextControlFlow("if (!checked.add(value))")
+                        .addStatement(
+                            "builder.append($S).append($T.identityHashCode(value))",
+                            "Recursive reference to projection of ", System.class
+                        )
+                        .addStatement("return");
+                }
+                toString.endControlFlow();
+            }
+            toString.addStatement(
+                "builder.append($S).append($T.class.getTypeName())"
+                    + ".append($S).append($T.class.getTypeName())"
+                    + ".append($S).append($T.class.getTypeName())"
+                    + ".append($S).append($T.identityHashCode(value))",
+                "Projection ", projection, " of ", singular.getType(), " to structure ", structure,
+                " with identity ", System.class
+            );
         }
         if (base != null) {
-            toString.addStatement("$T.doToString(value, builder, checked)", base);
+            toString.addStatement("$T.doToString(value, builder, $N)", base, tracking);
         }
-        toString.addStatement("doToString(value, builder, checked)");
+        toString.addStatement("doToString(value, builder, $N)", tracking);
         builder.addMethod(MethodSpec.methodBuilder("toString")
             .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
             .returns(void.class)
             .addParameter(singular.getType(), "value")
             .addParameter(StringBuilder.class, "builder")
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
+            .addParameter(tracking)
             .addCode(toString.build())
             .build());
+        if (iterative) {
+            builder.addMethod(MethodSpec.methodBuilder("toString")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(void.class)
+                .addParameter(singular.getType(), "value")
+                .addParameter(StringBuilder.class, "builder")
+                .addParameter(checked)
+                .addCode(CodeBlock.builder().addStatement(
+                    "$T.toString(value, $T::toString, builder, $L)",
+                    WorkStack.class, projection, !singular.isLeaf() && recursive ? "checked" : "null"
+                ).build())
+                .build());
+        }
+    }
+
+    private CodeBlock addListAdapter(
+        TypeSpec.Builder builder, ClassName projection, SingularDescription.Property property,
+        String name, Class<?> owner, TypeName type,
+        Function<CodeBlock, CodeBlock> wrap, Function<CodeBlock, CodeBlock> unwrap
+    ) {
+        String simpleName = Character.toUpperCase(name.charAt(0)) + name.substring(1) + "List";
+        Set<String> used = builder.typeSpecs.stream().map(spec -> spec.name).collect(Collectors.toSet());
+        used.add(projection.simpleName());
+        ClassName adapter = projection.nestedClass(simpleName);
+        for (int index = 1; used.contains(adapter.simpleName()); index++) {
+            adapter = projection.nestedClass(simpleName + index);
+        }
+        TypeName element = type.box(), value = TypeName.get(property.getDescription().getType()).box();
+        TypeName adapted = ParameterizedTypeName.get(ClassName.get(List.class), element);
+        String field = name + "List";
+        Set<String> fields = builder.fieldSpecs.stream().map(spec -> spec.name).collect(Collectors.toSet());
+        for (int index = 1; fields.contains(field); index++) {
+            field = name + "List" + index;
+        }
+        builder.addField(FieldSpec.builder(adapted, field).addModifiers(Modifier.PRIVATE).build());
+        TypeSpec.Builder list = TypeSpec.classBuilder(adapter)
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .superclass(ParameterizedTypeName.get(ClassName.get(AbstractList.class), element));
+        CodeBlock target = CodeBlock.builder().add("this.$N", DELEGATE).build(), expression;
+        if (property.getCardinality() == Cardinality.LIST) {
+            used.add(adapter.simpleName());
+            ClassName randomAccess = projection.nestedClass(
+                Character.toUpperCase(name.charAt(0)) + name.substring(1) + "RandomAccessList"
+            );
+            for (int index = 1; used.contains(randomAccess.simpleName()); index++) {
+                randomAccess = projection.nestedClass(
+                    Character.toUpperCase(name.charAt(0)) + name.substring(1) + "RandomAccessList" + index
+                );
+            }
+            TypeName delegate = ParameterizedTypeName.get(ClassName.get(List.class), value);
+            list.addField(FieldSpec.builder(delegate, DELEGATE)
+                .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+            list.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(delegate, DELEGATE)
+                .addStatement("this.$N = $N", DELEGATE, DELEGATE)
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("of")
+                .addModifiers(Modifier.STATIC)
+                .returns(adapted)
+                .addParameter(adapted, "previous")
+                .addParameter(delegate, DELEGATE)
+                .beginControlFlow("if ($N == null)", DELEGATE)
+                .addStatement(
+                    "return previous instanceof $T ? previous : new $T<>()",
+                    ProjectingEmptyList.class, ProjectingEmptyList.class
+                )
+                .nextControlFlow(
+                    "else if (previous instanceof $T && (($T) previous).$N == $N)",
+                    adapter, adapter, DELEGATE, DELEGATE
+                )
+                .addStatement("return previous")
+                .nextControlFlow("else if ($N instanceof $T)", DELEGATE, RandomAccess.class)
+                .addStatement("return new $T($N)", randomAccess, DELEGATE)
+                .nextControlFlow("else")
+                .addStatement("return new $T($N)", adapter, DELEGATE)
+                .endControlFlow()
+                .build());
+            builder.addType(TypeSpec.classBuilder(randomAccess)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(adapter)
+                .addSuperinterface(RandomAccess.class)
+                .addMethod(MethodSpec.constructorBuilder()
+                    .addModifiers(Modifier.PRIVATE)
+                    .addParameter(delegate, DELEGATE)
+                    .addStatement("super($N)", DELEGATE)
+                    .build())
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("get")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(element)
+                .addParameter(int.class, "index")
+                .addStatement("$T value = $L.get(index)", value, target)
+                .addStatement("return $L", wrap.apply(CodeBlock.builder().add("value").build()))
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("set")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(element)
+                .addParameter(int.class, "index")
+                .addParameter(element, "element")
+                .addStatement("$T value = $L", value, unwrap.apply(CodeBlock.builder().add("element").build()))
+                .addStatement(
+                    "$T previous = value == null ? $L.remove(index) : $L.set(index, value)",
+                    value, target, target
+                )
+                .addStatement("return $L", wrap.apply(CodeBlock.builder().add("previous").build()))
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("add")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(int.class, "index")
+                .addParameter(element, "element")
+                .addStatement("$T value = $L", value, unwrap.apply(CodeBlock.builder().add("element").build()))
+                .beginControlFlow("if (value != null)")
+                .addStatement("$L.add(index, value)", target)
+                .endControlFlow()
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("remove")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(element)
+                .addParameter(int.class, "index")
+                .addStatement("$T value = $L.remove(index)", value, target)
+                .addStatement("return $L", wrap.apply(CodeBlock.builder().add("value").build()))
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("size")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addStatement("return $L.size()", target)
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("spliterator")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(Spliterator.class), element))
+                .addStatement(
+                    "return new $T<>($L.spliterator(), value -> $L)",
+                    ProjectingSpliterator.class, target, wrap.apply(CodeBlock.builder().add("value").build())
+                )
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("iterator")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(Iterator.class), element))
+                .addStatement("return listIterator(0)")
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("listIterator")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(ListIterator.class), element))
+                .addParameter(int.class, "index")
+                .addStatement(
+                    "return new $T<>($L.listIterator(index), value -> $L, element -> $L)",
+                    ProjectingListIterator.class, target,
+                    wrap.apply(CodeBlock.builder().add("value").build()),
+                    unwrap.apply(CodeBlock.builder().add("element").build())
+                )
+                .build());
+            TypeName elements = ParameterizedTypeName.get(ClassName.get(Collection.class), WildcardTypeName.subtypeOf(element));
+            list.addMethod(MethodSpec.methodBuilder("values")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(delegate)
+                .addParameter(elements, "elements")
+                .addStatement("$T values = new $T<>(elements.size())", delegate, ArrayList.class)
+                .beginControlFlow("for ($T element : elements)", element)
+                .addStatement("$T value = $L", value, unwrap.apply(CodeBlock.builder().add("element").build()))
+                .beginControlFlow("if (value != null)")
+                .addStatement("values.add(value)")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return values")
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("addAll")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(elements, "elements")
+                .addStatement("return $L.addAll(values(elements))", target)
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("addAll")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(int.class, "index")
+                .addParameter(elements, "elements")
+                .addStatement("return $L.addAll(index, values(elements))", target)
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("removeIf")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Predicate.class), WildcardTypeName.supertypeOf(element)), "filter")
+                .addStatement(
+                    "return $L.removeIf(value -> filter.test($L))",
+                    target, wrap.apply(CodeBlock.builder().add("value").build())
+                )
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("removeAll")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Collection.class), WildcardTypeName.subtypeOf(Object.class)), "elements")
+                .addStatement("return removeIf(elements::contains)")
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("retainAll")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Collection.class), WildcardTypeName.subtypeOf(Object.class)), "elements")
+                .addStatement("return removeIf(element -> !elements.contains(element))")
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("replaceAll")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(UnaryOperator.class), element), "operator")
+                .addStatement("$T iterator = $L.listIterator()", ParameterizedTypeName.get(ClassName.get(ListIterator.class), value), target)
+                .beginControlFlow("while (iterator.hasNext())")
+                .addStatement("$T value = iterator.next()", value)
+                .addStatement("$T element = operator.apply($L)", element, wrap.apply(CodeBlock.builder().add("value").build()))
+                .addStatement("$T replacement = $L", value, unwrap.apply(CodeBlock.builder().add("element").build()))
+                .beginControlFlow("if (replacement == null)")
+                .addStatement("iterator.remove()")
+                .nextControlFlow("else")
+                .addStatement("iterator.set(replacement)")
+                .endControlFlow()
+                .endControlFlow()
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("sort")
+                .addAnnotation(Override.class)
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "{$S, $S}", "unchecked", "rawtypes").build())
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Comparator.class), WildcardTypeName.supertypeOf(element)), "comparator")
+                .addStatement(
+                    "$T resolved = comparator == null ? ($T) $T.naturalOrder() : comparator",
+                    ParameterizedTypeName.get(ClassName.get(Comparator.class), WildcardTypeName.supertypeOf(element)),
+                    Comparator.class,
+                    Comparator.class
+                )
+                .addStatement(
+                    "$L.sort((left, right) -> resolved.compare($L, $L))",
+                    target,
+                    wrap.apply(CodeBlock.builder().add("left").build()),
+                    wrap.apply(CodeBlock.builder().add("right").build())
+                )
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("clear")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("$L.clear()", target)
+                .build());
+            expression = CodeBlock.builder().add(
+                "(this.$N = $T.of(this.$N, $L))",
+                field,
+                adapter,
+                field,
+                accessResolver.getter(
+                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
+                    delegate(false)
+                )
+            ).build();
+        } else {
+            CodeBlock getter = accessResolver.getter(
+                owner, property.getDescription().getType(), property.getName(), property.getCardinality(), target
+            );
+            list.addModifiers(Modifier.FINAL).addSuperinterface(RandomAccess.class);
+            list.addField(FieldSpec.builder(owner, DELEGATE)
+                .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+            list.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(owner, DELEGATE)
+                .addStatement("this.$N = $N", DELEGATE, DELEGATE)
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("of")
+                .addModifiers(Modifier.STATIC)
+                .returns(adapted)
+                .addParameter(adapted, "previous")
+                .addParameter(owner, DELEGATE)
+                .addStatement(
+                    "return previous instanceof $T && (($T) previous).$N == $N ? previous : new $T($N)",
+                    adapter, adapter, DELEGATE, DELEGATE, adapter, DELEGATE
+                )
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("get")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(element)
+                .addParameter(int.class, "index")
+                .beginControlFlow("if (index == 0)")
+                .addStatement("$T value = $L", value, getter)
+                .beginControlFlow("if (value != null)")
+                .addStatement("return $L", wrap.apply(CodeBlock.builder().add("value").build()))
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("throw new $T(index)", IndexOutOfBoundsException.class)
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("set")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(element)
+                .addParameter(int.class, "index")
+                .addParameter(element, "element")
+                .beginControlFlow("if (index == 0)")
+                .addStatement("$T value = $L", value, getter)
+                .addStatement(accessResolver.setter(
+                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(), target,
+                    unwrap.apply(CodeBlock.builder().add("element").build())
+                ))
+                .addStatement("return $L", wrap.apply(CodeBlock.builder().add("value").build()))
+                .endControlFlow()
+                .addStatement("throw new $T(index)", IndexOutOfBoundsException.class)
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("add")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(int.class, "index")
+                .addParameter(element, "element")
+                .beginControlFlow("if (index < 0)")
+                .addStatement("throw new $T(index)", IndexOutOfBoundsException.class)
+                .endControlFlow()
+                .addStatement("$T value = $L", value, getter)
+                .beginControlFlow("if (index == 0 && value == null)")
+                .addStatement(accessResolver.setter(
+                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(), target,
+                    unwrap.apply(CodeBlock.builder().add("element").build())
+                ))
+                .endControlFlow()
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("remove")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(element)
+                .addParameter(int.class, "index")
+                .beginControlFlow("if (index == 0)")
+                .addStatement("$T value = $L", value, getter)
+                .beginControlFlow("if (value != null)")
+                .addStatement(accessResolver.setter(
+                    owner, property.getDescription().getType(), property.getName(), property.getCardinality(), target,
+                    CodeBlock.builder().add("($T) null", value).build()
+                ))
+                .addStatement("return $L", wrap.apply(CodeBlock.builder().add("value").build()))
+                .endControlFlow()
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("throw new $T(index)", IndexOutOfBoundsException.class)
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("size")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addStatement("$T value = $L", value, getter)
+                .addStatement("return value == null ? 0 : 1")
+                .build());
+            list.addMethod(MethodSpec.methodBuilder("spliterator")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(Spliterator.class), element))
+                .addStatement("$T value = $L", value, getter)
+                .addStatement(
+                    "return value == null ? $T.emptySpliterator() : new $T<>($T.singletonList(value).spliterator(), element -> $L)",
+                    Spliterators.class, ProjectingSpliterator.class, Collections.class,
+                    wrap.apply(CodeBlock.builder().add("element").build())
+                )
+                .build());
+            expression = CodeBlock.builder().add(
+                "(this.$N = $T.of(this.$N, $L))", field, adapter, field, delegate(false)
+            ).build();
+        }
+        builder.addType(list.build());
+        return expression;
     }
 
     private CodeBlock.Builder list(Class<?> owner, SingularDescription.Property property) {
+        return list(owner, property, delegate(false));
+    }
+
+    private CodeBlock.Builder list(Class<?> owner, SingularDescription.Property property, CodeBlock target) {
         return property.getCardinality() == Cardinality.LIST ? accessResolver.list(
             owner, property.getDescription().getType(), property.getName()
         ).map(
             code -> CodeBlock.builder().beginControlFlow("if ($L == null)", accessResolver.getter(
                 owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                CodeBlock.builder().add("this.$N", DELEGATE).build()
+                target
             )).addStatement(accessResolver.setter(
                 owner, property.getDescription().getType(), property.getName(), property.getCardinality(),
-                CodeBlock.builder().add("this.$N", DELEGATE).build(),
+                target,
                 code
             )).endControlFlow()
         ).orElseGet(CodeBlock::builder) : CodeBlock.builder();
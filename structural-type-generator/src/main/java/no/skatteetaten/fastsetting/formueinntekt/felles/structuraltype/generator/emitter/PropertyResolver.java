@@ -10,9 +10,17 @@ import javax.lang.model.element.Modifier;
 
 import com.squareup.javapoet.*;
 
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.DoubleProjectingList;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.IntProjectingList;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ListCopier;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.LongProjectingList;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ProjectionTypeException;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.PropertyDefinition;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.Trial;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.TrialException;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.TrialFailure;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.TrialSink;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.WorkStack;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.Cardinality;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.PropertyGeneration;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.compound.CompoundDescription;
@@ -52,6 +60,37 @@ public interface PropertyResolver {
             ).build()).build();
     }
 
+    default MethodSpec nullable(
+        ClassName structure, String name, TypeName type,
+        CodeBlock implementation
+    ) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(accessor(structure, name, PropertyGeneration.NULLABLE) + "OrNull")
+            .returns(type.box());
+        if (implementation == null) {
+            builder.addModifiers(Modifier.PUBLIC, Modifier.DEFAULT).addCode(CodeBlock.builder().addStatement(
+                "return this.$N().orElse(null)",
+                accessor(structure, name, PropertyGeneration.GETTER)
+            ).build());
+        } else {
+            builder.addModifiers(Modifier.PUBLIC).addAnnotation(Override.class).addCode(implementation);
+        }
+        return builder.build();
+    }
+
+    default MethodSpec orElse(
+        ClassName structure, String name, TypeName type
+    ) {
+        return MethodSpec.methodBuilder(accessor(structure, name, PropertyGeneration.NULLABLE) + "OrElse")
+            .returns(type.box())
+            .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+            .addParameter(type.box(), "fallback")
+            .addCode(CodeBlock.builder()
+                .addStatement("$T value = this.$N()", type.box(), accessor(structure, name, PropertyGeneration.NULLABLE) + "OrNull")
+                .addStatement("return value == null ? fallback : value")
+                .build())
+            .build();
+    }
+
     default MethodSpec.Builder setter(
         ClassName structure, String name, TypeName type,
         boolean implemented, boolean declared
@@ -96,6 +135,62 @@ public interface PropertyResolver {
             .build();
     }
 
+    default MethodSpec trial(
+        ClassName structure, String name, TypeName type,
+        boolean checked
+    ) {
+        String sink = name.equals("sink") ? "sink0" : "sink", exception = name.equals("exception") ? "exception0" : "exception";
+        CodeBlock.Builder code = CodeBlock.builder();
+        if (checked) {
+            code.beginControlFlow("if (!this.$N($N))", accessor(structure, name, PropertyGeneration.CHECK), name)
+                .addStatement(
+                    "$N.onFailure(this, $S, $T.$N, () -> new $T($S, $T.$N, null))",
+                    sink, name, TrialFailure.class, TrialFailure.CONVERSION.name(),
+                    TrialException.class, name, TrialFailure.class, TrialFailure.CONVERSION.name()
+                )
+                .addStatement("return false")
+                .endControlFlow();
+        }
+        return MethodSpec.methodBuilder(accessor(structure, name, PropertyGeneration.TRIAL))
+            .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+            .returns(boolean.class)
+            .addParameter(type, name)
+            .addParameter(ParameterizedTypeName.get(ClassName.get(TrialSink.class), WildcardTypeName.supertypeOf(structure)), sink)
+            .addCode(code
+                .beginControlFlow("try")
+                .addStatement("this.$N($N)", accessor(structure, name, PropertyGeneration.SETTER), name)
+                .addStatement("return true")
+                .nextControlFlow("catch ($T $N)", RuntimeException.class, exception)
+                .addStatement(
+                    "$N.onFailure(this, $S, $T.of($N), () -> new $T($S, $T.of($N), $N))",
+                    sink, name, TrialFailure.class, exception,
+                    TrialException.class, name, TrialFailure.class, exception, exception
+                )
+                .addStatement("return false")
+                .endControlFlow()
+                .build())
+            .build();
+    }
+
+    default MethodSpec check(
+        ClassName structure, String name, TypeName type,
+        CodeBlock condition
+    ) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(accessor(structure, name, PropertyGeneration.CHECK))
+            .returns(boolean.class)
+            .addParameter(type, name);
+        if (condition == null) {
+            builder.addModifiers(Modifier.PUBLIC, Modifier.DEFAULT).addCode(CodeBlock.builder()
+                .addStatement("return true")
+                .build());
+        } else {
+            builder.addModifiers(Modifier.PUBLIC).addAnnotation(Override.class).addCode(CodeBlock.builder()
+                .addStatement("return $L", condition)
+                .build());
+        }
+        return builder.build();
+    }
+
     default MethodSpec fluent(
         ClassName structure, String name, TypeName type,
         Cardinality cardinality, boolean implemented, boolean defined
@@ -224,6 +319,61 @@ public interface PropertyResolver {
         }
     }
 
+    default MethodSpec primitive(
+        ClassName structure, String name, Class<?> element,
+        Class<?> primitive, CodeBlock list
+    ) {
+        ClassName type;
+        String suffix;
+        if (primitive == int.class) {
+            type = ClassName.get(IntProjectingList.class);
+            suffix = "AsInts";
+        } else if (primitive == long.class) {
+            type = ClassName.get(LongProjectingList.class);
+            suffix = "AsLongs";
+        } else if (primitive == double.class) {
+            type = ClassName.get(DoubleProjectingList.class);
+            suffix = "AsDoubles";
+        } else {
+            throw new IllegalArgumentException("Unexpected primitive type: " + primitive);
+        }
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(accessor(structure, name, PropertyGeneration.PRIMITIVE) + suffix)
+            .returns(type);
+        if (list == null) {
+            builder.addModifiers(Modifier.PUBLIC, Modifier.DEFAULT).addCode(CodeBlock.builder().addStatement(
+                "return $T.of(this.$N(), $T::$N)",
+                type, accessor(structure, name, PropertyGeneration.GETTER), element, primitive.getName() + "Value"
+            ).build());
+        } else {
+            builder.addModifiers(Modifier.PUBLIC).addAnnotation(Override.class).addCode(CodeBlock.builder().addStatement(
+                "return $T.of($L, $T::$N)",
+                type, list, element, primitive.getName() + "Value"
+            ).build());
+        }
+        return builder.build();
+    }
+
+    default MethodSpec primitive(
+        ClassName structure, String name, TypeName type,
+        Cardinality cardinality, Class<?> primitive, CodeBlock implementation
+    ) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(accessor(structure, name, PropertyGeneration.PRIMITIVE)
+            + "As" + primitive.getName().substring(0, 1).toUpperCase() + primitive.getName().substring(1)
+        ).returns(primitive).addParameter(primitive, "defaultValue");
+        if (implementation == null) {
+            builder.addModifiers(Modifier.PUBLIC, Modifier.DEFAULT).addCode(CodeBlock.builder()
+                .addStatement(
+                    cardinality == Cardinality.OPTIONAL ? "$T value = this.$N().orElse(null)" : "$T value = this.$N()",
+                    type, accessor(structure, name, PropertyGeneration.GETTER)
+                )
+                .addStatement("return value == null ? defaultValue : value.$N()", primitive.getName() + "Value")
+                .build());
+        } else {
+            builder.addModifiers(Modifier.PUBLIC).addAnnotation(Override.class).addCode(implementation);
+        }
+        return builder.build();
+    }
+
     default MethodSpec owner(
         ClassName structure, String name,
         Cardinality cardinality, boolean implemented
@@ -259,43 +409,49 @@ public interface PropertyResolver {
     }
 
     default MethodSpec copyOfExpansion(
-        ClassName structure
+        ClassName structure, boolean tracked
     ) {
         return MethodSpec.methodBuilder("copyOf")
             .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
             .returns(structure)
             .addParameter(structure, "original")
-            .addCode(CodeBlock.builder()
+            .addCode(tracked ? CodeBlock.builder()
                 .addStatement("return copyOf(original, new $T<>())", IdentityHashMap.class)
+                .build() : CodeBlock.builder()
+                .addStatement("return copyOf(original, $T.emptyMap())", Collections.class)
                 .build())
             .build();
     }
 
     default MethodSpec copyOfExpansion(
-        ClassName structure, ClassName expansion
+        ClassName structure, ClassName expansion, boolean tracked
     ) {
+        CodeBlock.Builder code = CodeBlock.builder();
+        if (tracked) {
+            code.beginControlFlow("if (copies.containsKey(original))")
+                .addStatement("return ($T) copies.get(original)", structure)
+                .endControlFlow();
+        }
+        code.addStatement(
+            "$T copy = original.$N().map($T::of).orElse(null)",
+            structure,
+            accessor(structure, CompoundDescription.EXPANSION, PropertyGeneration.GETTER),
+            expansion
+        );
+        if (tracked) {
+            code.addStatement("copies.put(original, copy)");
+        }
         return MethodSpec.methodBuilder("copyOf")
             .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
             .returns(structure)
             .addParameter(structure, "original")
             .addParameter(ParameterizedTypeName.get(Map.class, Object.class, Object.class), "copies")
-            .addCode(CodeBlock.builder()
-                .beginControlFlow("if (copies.containsKey(original))")
-                .addStatement("return ($T) copies.get(original)", structure)
-                .endControlFlow()
-                .addStatement(
-                    "$T copy = original.$N().map($T::of).orElse(null)",
-                    structure,
-                    accessor(structure, CompoundDescription.EXPANSION, PropertyGeneration.GETTER),
-                    expansion
-                )
-                .addStatement("copies.put(original, copy)")
-                .addStatement("return copy").build())
+            .addCode(code.addStatement("return copy").build())
             .build();
     }
 
     default MethodSpec copyOf(
-        ClassName structure, ClassName superType, CodeBlock value
+        ClassName structure, ClassName superType, CodeBlock value, boolean tracked
     ) {
         CodeBlock.Builder code;
         if (value == null) {
@@ -306,12 +462,16 @@ public interface PropertyResolver {
                 structure
             );
         } else {
-            code = CodeBlock.builder()
-                .beginControlFlow("if (copies.containsKey(original))")
-                .addStatement("return ($T) copies.get(original)", structure)
-                .endControlFlow()
-                .addStatement("$T copy = $L", structure, value)
-                .addStatement("copies.put(original, copy)");
+            code = CodeBlock.builder();
+            if (tracked) {
+                code.beginControlFlow("if (copies.containsKey(original))")
+                    .addStatement("return ($T) copies.get(original)", structure)
+                    .endControlFlow()
+                    .addStatement("$T copy = $L", structure, value)
+                    .addStatement("copies.put(original, copy)");
+            } else {
+                code.addStatement("$T copy = $L", structure, value);
+            }
             if (superType != null) {
                 code.addStatement("$T.copyOf(original, copy, copies)", superType);
             }
@@ -326,16 +486,68 @@ public interface PropertyResolver {
             .build();
     }
 
+    default MethodSpec copyOfIterative(ClassName structure, ClassName type) {
+        return MethodSpec.methodBuilder("copyOf")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(structure)
+            .addParameter(structure, "original")
+            .addParameter(ParameterizedTypeName.get(Map.class, Object.class, Object.class), "copies")
+            .addStatement("return $T.copy(original, copies, $T::copyOf)", WorkStack.class, type)
+            .build();
+    }
+
+    default MethodSpec copyOfIterative(
+        ClassName structure, ClassName type, ClassName superType, CodeBlock value, boolean tracked
+    ) {
+        CodeBlock.Builder code;
+        if (value == null) {
+            code = CodeBlock.builder().addStatement(
+                "throw new $T($S + $T.class.getTypeName())",
+                UnsupportedOperationException.class,
+                "Cannot instantiate copy of ",
+                structure
+            );
+        } else {
+            code = CodeBlock.builder();
+            if (tracked) {
+                code.beginControlFlow("if (copies.containsKey(original))")
+                    .addStatement("return ($T) copies.get(original)", structure)
+                    .endControlFlow()
+                    .addStatement("$T copy = $L", structure, value)
+                    .addStatement("copies.put(original, copy)");
+            } else {
+                code.addStatement("$T copy = $L", structure, value);
+            }
+            if (superType != null) {
+                code.addStatement("stack.pushCopy(original, copy, $T::copyOf)", superType);
+            }
+            code.addStatement("stack.pushCopy(original, copy, $T::copyOf)", type).addStatement("return copy");
+        }
+        return MethodSpec.methodBuilder("copyOf")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(structure)
+            .addParameter(structure, "original")
+            .addParameter(ParameterizedTypeName.get(Map.class, Object.class, Object.class), "copies")
+            .addParameter(WorkStack.class, "stack")
+            .addCode(code.build())
+            .build();
+    }
+
     default MethodSpec copyOf(
         ClassName structure,
         List<String> names,
         Predicate<String> terminals,
         Function<String, Cardinality> cardinalities,
         Function<String, TypeName> types,
-        BiFunction<String, String, CodeBlock> copy
+        BiFunction<String, String, CodeBlock> copy,
+        BiFunction<MethodSpec, List<CodeBlock>, CodeBlock> splitter,
+        boolean tracked,
+        boolean iterative,
+        int threshold
     ) {
-        CodeBlock.Builder code = CodeBlock.builder();
+        List<CodeBlock> chunks = new ArrayList<>();
         names.stream().filter(entry -> !entry.isEmpty()).forEach(name -> {
+            CodeBlock.Builder code = CodeBlock.builder();
             if (terminals.test(name)) {
                 switch (cardinalities.apply(name)) {
                     case SINGLE:
@@ -364,7 +576,8 @@ public interface PropertyResolver {
                 }
             } else {
                 String variable = name;
-                if (variable.equals("copy") || variable.equals("original") || variable.equals("copies")) {
+                if (variable.equals("copy") || variable.equals("original") || variable.equals("copies")
+                    || iterative && (variable.equals("stack") || variable.equals("index"))) {
                     int index = 0;
                     do {
                         variable = name + index++;
@@ -388,37 +601,86 @@ public interface PropertyResolver {
                         ).endControlFlow();
                         break;
                     case OPTIONAL:
-                        code.addStatement(
-                            "original.$N().map($N -> $N.$L).ifPresent(copy::$N)",
-                            accessor(structure, name, PropertyGeneration.GETTER),
-                            variable,
-                            variable,
-                            copy.apply(name, "copies"),
-                            accessor(structure, name, PropertyGeneration.SETTER)
-                        );
+                        if (iterative) {
+                            code.addStatement(
+                                "$T $N = original.$N().orElse(null)",
+                                types.apply(name),
+                                variable,
+                                accessor(structure, name, PropertyGeneration.GETTER)
+                            ).beginControlFlow(
+                                "if ($N != null)",
+                                variable
+                            ).addStatement(
+                                "copy.$N($N.$L)",
+                                accessor(structure, name, PropertyGeneration.SETTER),
+                                variable,
+                                copy.apply(name, "copies")
+                            ).endControlFlow();
+                        } else {
+                            code.addStatement(
+                                "original.$N().map($N -> $N.$L).ifPresent(copy::$N)",
+                                accessor(structure, name, PropertyGeneration.GETTER),
+                                variable,
+                                variable,
+                                copy.apply(name, "copies"),
+                                accessor(structure, name, PropertyGeneration.SETTER)
+                            );
+                        }
                         break;
                     case LIST:
-                        code.addStatement(
-                            "original.$N().stream().map($N -> $N.$L).forEach(copy.$N()::add)",
-                            accessor(structure, name, PropertyGeneration.GETTER),
-                            variable,
-                            variable,
-                            copy.apply(name, "copies"),
-                            accessor(structure, name, PropertyGeneration.GETTER)
-                        );
+                        if (iterative) {
+                            code.addStatement(
+                                "$T $N = original.$N()",
+                                ParameterizedTypeName.get(ClassName.get(List.class), types.apply(name)),
+                                variable,
+                                accessor(structure, name, PropertyGeneration.GETTER)
+                            ).beginControlFlow(
+                                "for (int index = 0; index < $N.size(); index++)",
+                                variable
+                            ).addStatement(
+                                "copy.$N().add($N.get(index).$L)",
+                                accessor(structure, name, PropertyGeneration.GETTER),
+                                variable,
+                                copy.apply(name, "copies")
+                            ).endControlFlow();
+                        } else if (tracked) {
+                            code.addStatement(
+                                "original.$N().stream().map($N -> $N.$L).forEach(copy.$N()::add)",
+                                accessor(structure, name, PropertyGeneration.GETTER),
+                                variable,
+                                variable,
+                                copy.apply(name, "copies"),
+                                accessor(structure, name, PropertyGeneration.GETTER)
+                            );
+                        } else {
+                            code.addStatement(
+                                "$T.copy(original.$N(), copy.$N(), $N -> $N.$L, $L)",
+                                ListCopier.class,
+                                accessor(structure, name, PropertyGeneration.GETTER),
+                                accessor(structure, name, PropertyGeneration.GETTER),
+                                variable,
+                                variable,
+                                copy.apply(name, "copies"),
+                                threshold
+                            );
+                        }
                         break;
                     default:
                         throw new IllegalStateException();
                 }
             }
+            chunks.add(code.build());
         });
-        return MethodSpec.methodBuilder("copyOf")
+        MethodSpec.Builder signature = MethodSpec.methodBuilder("copyOf")
             .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
             .returns(void.class)
             .addParameter(structure, "original")
             .addParameter(structure, "copy")
-            .addParameter(ParameterizedTypeName.get(Map.class, Object.class, Object.class), "copies")
-            .addCode(code.build())
-            .build();
+            .addParameter(ParameterizedTypeName.get(Map.class, Object.class, Object.class), "copies");
+        if (iterative) {
+            signature.addParameter(WorkStack.class, "stack");
+        }
+        MethodSpec method = signature.build();
+        return method.toBuilder().addCode(splitter.apply(method, chunks)).build();
     }
 }
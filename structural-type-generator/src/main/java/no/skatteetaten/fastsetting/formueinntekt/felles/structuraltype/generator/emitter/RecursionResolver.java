@@ -0,0 +1,8 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.emitter;
+
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.compound.CompoundDescription;
+
+public interface RecursionResolver {
+
+    boolean isRecursive(CompoundDescription compound);
+}
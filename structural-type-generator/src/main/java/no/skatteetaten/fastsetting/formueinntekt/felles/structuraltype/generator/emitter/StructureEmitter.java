@@ -17,6 +17,8 @@ import java.lang.reflect.TypeVariable;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -34,6 +36,10 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
 
     private final Map<ClassName, List<Class<?>>> interfaces;
 
+    private final RecursionResolver recursionResolver;
+
+    private final MethodSplitter methodSplitter;
+
     private final BiConsumer<ClassName, JavaFile> consumer;
 
     public StructureEmitter(
@@ -43,6 +49,8 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
         NameResolver nameResolver,
         PropertyResolver propertyResolver,
         Map<ClassName, List<Class<?>>> interfaces,
+        RecursionResolver recursionResolver,
+        MethodSplitter methodSplitter,
         BiConsumer<ClassName, JavaFile> consumer
     ) {
         this.propertyGenerations = propertyGenerations;
@@ -51,9 +59,63 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
         this.nameResolver = nameResolver;
         this.propertyResolver = propertyResolver;
         this.interfaces = interfaces;
+        this.recursionResolver = recursionResolver;
+        this.methodSplitter = methodSplitter;
         this.consumer = consumer;
     }
 
+    private void addDispatch(CompoundDescription compound, CodeBlock.Builder any, CodeBlock.Builder type) {
+        compound.getSubDescriptions().forEach(subDescription -> addDispatch(subDescription, any, type));
+        compound.getSingulars().forEach(singular -> {
+            if (any.isEmpty()) {
+                any.beginControlFlow("if ($T.class.isAssignableFrom(type))", singular.getBoxedType());
+            } else {
+                any.nextControlFlow("else if ($T.class.isAssignableFrom(type))", singular.getBoxedType());
+            }
+            any.addStatement("return value -> $T.of(($T) value)", nameResolver.structure(compound), singular.getBoxedType());
+            if (!singular.isLeaf() && !java.lang.reflect.Modifier.isAbstract(singular.getType().getModifiers())) {
+                if (type.isEmpty()) {
+                    type.beginControlFlow("if (type == $T.class)", singular.getBoxedType());
+                } else {
+                    type.nextControlFlow("else if (type == $T.class)", singular.getBoxedType());
+                }
+                type.addStatement("return $T::new", nameResolver.projection(compound, singular));
+            }
+        });
+    }
+
+    private static TypeSpec dispatch(ClassName structure, ClassName dispatch, CodeBlock.Builder any, CodeBlock.Builder type) {
+        TypeName anyType = ParameterizedTypeName.get(ClassName.get(Function.class), TypeName.OBJECT, structure);
+        TypeName typeType = ParameterizedTypeName.get(ClassName.get(Supplier.class), structure);
+        return TypeSpec.classBuilder(dispatch)
+            .addModifiers(Modifier.FINAL)
+            .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+            .addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(ClassValue.class), anyType), "ANY")
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", dispatcher(anyType, any))
+                .build())
+            .addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(ClassValue.class), typeType), "TYPE")
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", dispatcher(typeType, type))
+                .build())
+            .build();
+    }
+
+    private static TypeSpec dispatcher(TypeName type, CodeBlock.Builder dispatch) {
+        return TypeSpec.anonymousClassBuilder("")
+            .superclass(ParameterizedTypeName.get(ClassName.get(ClassValue.class), type))
+            .addMethod(MethodSpec.methodBuilder("computeValue")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(type)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)), "type")
+                .addCode(dispatch.isEmpty()
+                    ? CodeBlock.builder().addStatement("return null").build()
+                    : dispatch.nextControlFlow("else").addStatement("return null").endControlFlow().build())
+                .build())
+            .build();
+    }
+
     @Override
     public void accept(CompoundDescription compound, Map<String, CompoundDescription.Property> properties) {
         ClassName structure = nameResolver.structure(compound);
@@ -128,10 +190,11 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                 }
                 ofAny.beginControlFlow("if (value == null)").addStatement(
                     "throw new $T()", NullPointerException.class
-                );
+                ).endControlFlow();
                 ofType.beginControlFlow("if (type == null)").addStatement(
                     "throw new $T()", NullPointerException.class
-                );
+                ).endControlFlow();
+                List<CodeBlock> anyChunks = new ArrayList<>(), typeChunks = new ArrayList<>();
                 compound.getSingulars().forEach(singular -> {
                     builder.addMethod(MethodSpec.methodBuilder("of")
                         .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
@@ -142,46 +205,88 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                             nameResolver.projection(compound, singular)
                         ).build())
                         .build());
-                    ofAny.nextControlFlow("else if (value instanceof $T)", singular.getBoxedType()).addStatement(
-                        "return $T.of(of(($T) value))", Optional.class, singular.getBoxedType()
-                    );
+                    anyChunks.add(CodeBlock.builder()
+                        .beginControlFlow("if (value instanceof $T)", singular.getBoxedType())
+                        .addStatement("return $T.of(of(($T) value))", Optional.class, singular.getBoxedType())
+                        .endControlFlow()
+                        .build());
                     if (!singular.isLeaf() && !java.lang.reflect.Modifier.isAbstract(singular.getType().getModifiers())) {
-                        ofType.nextControlFlow("else if (type == $T.class)", singular.getBoxedType()).addStatement(
-                            "return $T.of(new $T())", Optional.class, nameResolver.projection(compound, singular)
-                        );
+                        typeChunks.add(CodeBlock.builder()
+                            .beginControlFlow("if (type == $T.class)", singular.getBoxedType())
+                            .addStatement("return $T.of(new $T())", Optional.class, nameResolver.projection(compound, singular))
+                            .endControlFlow()
+                            .build());
                     }
                 });
-                ofAny.nextControlFlow("else")
-                    .addStatement("return $T.empty()", Optional.class)
-                    .endControlFlow();
-                ofType.nextControlFlow("else")
-                    .addStatement("return $T.empty()", Optional.class)
-                    .endControlFlow();
-                if (!compound.getSubDescriptions().isEmpty()) {
-                    ofAny.unindent().addStatement("})").unindent();
-                    ofType.unindent().addStatement("})").unindent();
-                }
-                builder.addMethod(MethodSpec.methodBuilder("ofAny")
+                MethodSpec ofAnySignature = MethodSpec.methodBuilder("ofAny")
                     .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                     .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), structure))
                     .addParameter(Object.class, "value")
-                    .addCode(ofAny.build())
-                    .build());
-                builder.addMethod(MethodSpec.methodBuilder("ofType")
+                    .build(), ofTypeSignature = MethodSpec.methodBuilder("ofType")
                     .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                     .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), structure))
                     .addParameter(ParameterizedTypeName.get(
                         ClassName.get(Class.class),
                         WildcardTypeName.subtypeOf(Object.class)
                     ), "type")
-                    .addCode(ofType.build())
+                    .build();
+                boolean dispatched = featureGenerations.contains(FeatureGeneration.CLASS_DISPATCH);
+                if (!dispatched) {
+                    ofAny.add(methodSplitter.split(
+                        builder, structure, ofAnySignature,
+                        anyChunks, CodeBlock.builder().addStatement("return $T.empty()", Optional.class).build()
+                    ));
+                    ofType.add(methodSplitter.split(
+                        builder, structure, ofTypeSignature,
+                        typeChunks, CodeBlock.builder().addStatement("return $T.empty()", Optional.class).build()
+                    ));
+                }
+                if (!compound.getSubDescriptions().isEmpty()) {
+                    ofAny.unindent().addStatement("})").unindent();
+                    ofType.unindent().addStatement("})").unindent();
+                }
+                if (dispatched) {
+                    CodeBlock.Builder anyDispatch = CodeBlock.builder(), typeDispatch = CodeBlock.builder();
+                    addDispatch(compound, anyDispatch, typeDispatch);
+                    ClassName dispatch = nameResolver.dispatch(compound);
+                    consumer.accept(dispatch, JavaFile.builder(
+                        dispatch.packageName(), dispatch(structure, dispatch, anyDispatch, typeDispatch)
+                    ).skipJavaLangImports(true).build());
+                }
+                builder.addMethod(ofAnySignature.toBuilder()
+                    .addCode(dispatched ? CodeBlock.builder()
+                        .beginControlFlow("if (value == null)")
+                        .addStatement("throw new $T()", NullPointerException.class)
+                        .endControlFlow()
+                        .addStatement(
+                            "$T<$T, $T> factory = $T.ANY.get(value.getClass())",
+                            Function.class, Object.class, structure, nameResolver.dispatch(compound)
+                        )
+                        .addStatement("return factory == null ? $T.empty() : $T.of(factory.apply(value))", Optional.class, Optional.class)
+                        .build() : ofAny.build())
+                    .build());
+                builder.addMethod(ofTypeSignature.toBuilder()
+                    .addCode(dispatched ? CodeBlock.builder()
+                        .beginControlFlow("if (type == null)")
+                        .addStatement("throw new $T()", NullPointerException.class)
+                        .endControlFlow()
+                        .addStatement("$T<$T> factory = $T.TYPE.get(type)", Supplier.class, structure, nameResolver.dispatch(compound))
+                        .addStatement("return factory == null ? $T.empty() : $T.of(factory.get())", Optional.class, Optional.class)
+                        .build() : ofType.build())
                     .build());
             }
         }
+        if (featureGenerations.contains(FeatureGeneration.FAST_COPY)
+            && !featureGenerations.contains(FeatureGeneration.COPY)) {
+            throw new IllegalStateException("The fast copy feature requires the copy feature to be enabled");
+        }
         if (featureGenerations.contains(FeatureGeneration.COPY)) {
             if (!propertyGenerations.containsAll(EnumSet.of(PropertyGeneration.GETTER, PropertyGeneration.SETTER))) {
                 throw new IllegalStateException("The copy feature requires getter and setter properties to be enabled");
             }
+            CodeBlock copies = !featureGenerations.contains(FeatureGeneration.FAST_COPY) || recursionResolver.isRecursive(compound)
+                ? CodeBlock.builder().add("new $T<>()", IdentityHashMap.class).build()
+                : CodeBlock.builder().add("$T.emptyMap()", Collections.class).build();
             if (implementationGenerations.contains(ImplementationGeneration.PROJECTION)) {
                 builder.addMethod(MethodSpec.methodBuilder("copyTo")
                     .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
@@ -195,8 +300,8 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                         ClassName.get(Class.class), WildcardTypeName.subtypeOf(TypeName.OBJECT)
                     ), "target")
                     .addCode(CodeBlock.builder().addStatement(
-                        "return this.copyTo(target, new $T<>())",
-                        IdentityHashMap.class
+                        "return this.copyTo(target, $L)",
+                        copies
                     ).build()).build());
                 CodeBlock.Builder code = CodeBlock.builder()
                     .beginControlFlow("if (target == null)")
@@ -222,6 +327,33 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                         .endControlFlow()
                         .build())
                     .build());
+                if (featureGenerations.contains(FeatureGeneration.ITERATIVE)) {
+                    CodeBlock.Builder iterative = CodeBlock.builder()
+                        .beginControlFlow("if (target == null)")
+                        .addStatement("throw new $T()", NullPointerException.class);
+                    compound.getSingulars().forEach(singular -> iterative
+                        .nextControlFlow("else if (target == $T.class)", singular.getType())
+                        .addStatement(
+                            singular.isLeaf() ? "return $T.of($T.copyOf(this, copies))" : "return $T.of($T.copyOf(this, copies, stack))",
+                            Optional.class, nameResolver.projection(compound, singular)
+                        ));
+                    builder.addMethod(MethodSpec.methodBuilder("copyTo")
+                        .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                        .addAnnotations(compound.getSuperDescription().isPresent()
+                            ? Collections.singleton(AnnotationSpec.builder(Override.class).build())
+                            : Collections.emptySet())
+                        .addParameter(ParameterizedTypeName.get(
+                            ClassName.get(Class.class), WildcardTypeName.subtypeOf(TypeName.OBJECT)
+                        ), "target")
+                        .addParameter(ParameterizedTypeName.get(Map.class, Object.class, Object.class), "copies")
+                        .addParameter(WorkStack.class, "stack")
+                        .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), WildcardTypeName.subtypeOf(structure)))
+                        .addCode(iterative.nextControlFlow("else")
+                            .addStatement("return $T.empty()", Optional.class)
+                            .endControlFlow()
+                            .build())
+                        .build());
+                }
             }
             if (implementationGenerations.contains(ImplementationGeneration.TEMPLATE)) {
                 builder.addMethod(MethodSpec.methodBuilder("copyToTemplate")
@@ -231,8 +363,8 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                         : Collections.emptySet())
                     .returns(structure)
                     .addCode(CodeBlock.builder().addStatement(
-                        "return this.copyToTemplate(new $T<>())",
-                        IdentityHashMap.class
+                        "return this.copyToTemplate($L)",
+                        copies
                     ).build()).build());
                 builder.addMethod(MethodSpec.methodBuilder("copyToTemplate")
                     .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
@@ -245,6 +377,20 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                         "return $T.copyOf(this, copies)",
                         nameResolver.template(compound)
                     ).build()).build());
+                if (featureGenerations.contains(FeatureGeneration.ITERATIVE)) {
+                    builder.addMethod(MethodSpec.methodBuilder("copyToTemplate")
+                        .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                        .addAnnotations(compound.getSuperDescription().isPresent()
+                            ? Collections.singleton(AnnotationSpec.builder(Override.class).build())
+                            : Collections.emptySet())
+                        .returns(structure)
+                        .addParameter(ParameterizedTypeName.get(Map.class, Object.class, Object.class), "copies")
+                        .addParameter(WorkStack.class, "stack")
+                        .addCode(CodeBlock.builder().addStatement(
+                            "return $T.copyOf(this, copies, stack)",
+                            nameResolver.template(compound)
+                        ).build()).build());
+                }
             }
             builder.addMethod(MethodSpec.methodBuilder("copy")
                 .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
@@ -273,10 +419,17 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                     .build())
                 .build());
         }
-        properties.forEach((name, property) -> property.accept((cardinality, type) -> addProperty(
-            builder, structure, false, name, cardinality,
-            TypeName.get(type), null
-        ), (cardinality, ignored) -> addProperty(
+        properties.forEach((name, property) -> property.accept((cardinality, type) -> {
+            addProperty(
+                builder, structure, false, name, cardinality,
+                TypeName.get(type), null
+            );
+            if (!name.isEmpty()
+                && Number.class.isAssignableFrom(type)
+                && propertyGenerations.contains(PropertyGeneration.PRIMITIVE)) {
+                addPrimitive(builder, structure, name, cardinality, type);
+            }
+        }, (cardinality, ignored) -> addProperty(
             builder, structure, false, name, cardinality,
             nameResolver.structure(property.getDescription()), null
         ), (cardinality, nested) -> addProperty(
@@ -290,6 +443,13 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
         if (featureGenerations.contains(FeatureGeneration.TO_STRING) && compound.getSuperDescription().isEmpty()) {
             addToString(builder);
         }
+        if (featureGenerations.contains(FeatureGeneration.FINGERPRINT)) {
+            if (!propertyGenerations.contains(PropertyGeneration.GETTER)) {
+                throw new IllegalStateException("The fingerprint feature requires getter properties to be enabled");
+            }
+            addFingerprint(builder, compound, structure);
+            addStructurallyEquals(builder, compound, structure);
+        }
         interfaces.get(structure).stream().distinct().forEach(type -> {
             if (!type.isInterface()) {
                 throw new IllegalArgumentException("Expected interface but found class " + type.getTypeName());
@@ -308,6 +468,17 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
         ).skipJavaLangImports(true).build());
     }
 
+    private void addPrimitive(TypeSpec.Builder builder, ClassName structure, String name, Cardinality cardinality, Class<?> type) {
+        if (!propertyGenerations.contains(PropertyGeneration.GETTER)) {
+            throw new IllegalStateException("Cannot generate primitive getters without the getter feature enabled");
+        }
+        for (Class<?> primitive : Arrays.asList(int.class, long.class, double.class)) {
+            builder.addMethod(cardinality == Cardinality.LIST
+                ? propertyResolver.primitive(structure, name, type, primitive, null)
+                : propertyResolver.primitive(structure, name, TypeName.get(type), cardinality, primitive, null));
+        }
+    }
+
     private void addProperty(
         TypeSpec.Builder builder, ClassName structure, boolean branch,
         String name, Cardinality cardinality, TypeName type, CompoundDescription.Property expansion
@@ -321,6 +492,13 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
             }
             builder.addMethod(propertyResolver.assume(structure, name, type));
         }
+        if (cardinality == Cardinality.OPTIONAL && propertyGenerations.contains(PropertyGeneration.NULLABLE)) {
+            if (!propertyGenerations.contains(PropertyGeneration.GETTER)) {
+                throw new IllegalStateException("Cannot generate nullable getters without the getter feature enabled");
+            }
+            builder.addMethod(propertyResolver.nullable(structure, name, type, null));
+            builder.addMethod(propertyResolver.orElse(structure, name, type));
+        }
         if (!name.isEmpty()) {
             if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
                 builder.addMethod(propertyResolver.setter(structure, name, type, false, false).build());
@@ -334,8 +512,16 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                     });
                 }
             }
+            if (propertyGenerations.contains(PropertyGeneration.CHECK)) {
+                builder.addMethod(propertyResolver.check(structure, name, type, null));
+            }
             if (propertyGenerations.contains(PropertyGeneration.TRIAL)) {
                 builder.addMethod(propertyResolver.trial(structure, name, type, false, false));
+                if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
+                    builder.addMethod(propertyResolver.trial(
+                        structure, name, type, propertyGenerations.contains(PropertyGeneration.CHECK)
+                    ));
+                }
                 if (expansion != null) {
                     expansion.getDescription().accept(expansionType -> builder.addMethod(propertyResolver.trial(
                         structure, name, TypeName.get(expansionType), false, false
@@ -344,6 +530,15 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                     )), ignored -> {
                         throw new IllegalStateException("Unexpected branch for expansion property of " + type);
                     });
+                    if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
+                        expansion.getDescription().accept(expansionType -> builder.addMethod(propertyResolver.trial(
+                            structure, name, TypeName.get(expansionType), false
+                        )), ignored -> builder.addMethod(propertyResolver.trial(
+                            structure, name, nameResolver.structure(expansion.getDescription()), false
+                        )), ignored -> {
+                            throw new IllegalStateException("Unexpected branch for expansion property of " + type);
+                        });
+                    }
                 }
             }
             if (propertyGenerations.contains(PropertyGeneration.FLUENT)) {
@@ -485,6 +680,13 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
             .returns(int.class)
             .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
             .build());
+        if (featureGenerations.contains(FeatureGeneration.ITERATIVE)) {
+            builder.addMethod(MethodSpec.methodBuilder("hashCode")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(int.class)
+                .addParameter(WorkStack.class, "stack")
+                .build());
+        }
     }
 
     private void addEquals(TypeSpec.Builder builder) {
@@ -496,6 +698,14 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
                 ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
             ), "checked")
             .build());
+        if (featureGenerations.contains(FeatureGeneration.ITERATIVE)) {
+            builder.addMethod(MethodSpec.methodBuilder("equals")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(boolean.class)
+                .addParameter(Object.class, "other")
+                .addParameter(WorkStack.class, "stack")
+                .build());
+        }
     }
 
     private void addToString(TypeSpec.Builder builder) {
@@ -505,6 +715,259 @@ public class StructureEmitter implements BiConsumer<CompoundDescription, Map<Str
             .addParameter(StringBuilder.class, "builder")
             .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
             .build());
+        if (featureGenerations.contains(FeatureGeneration.ITERATIVE)) {
+            builder.addMethod(MethodSpec.methodBuilder("toString")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(void.class)
+                .addParameter(StringBuilder.class, "builder")
+                .addParameter(WorkStack.class, "stack")
+                .build());
+        }
+    }
+
+    private void addFingerprint(TypeSpec.Builder builder, CompoundDescription compound, ClassName structure) {
+        CompoundDescription root = root(compound);
+        if (root == compound) {
+            builder.addMethod(MethodSpec.methodBuilder("structuralIdentity")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(Object.class)
+                .addStatement("return this")
+                .build());
+            builder.addMethod(MethodSpec.methodBuilder("fingerprint")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(long.class)
+                .addCode(recursionResolver.isRecursive(compound) ? CodeBlock.builder().addStatement(
+                    "return this.fingerprint($T.newSetFromMap(new $T<>()))",
+                    Collections.class, IdentityHashMap.class
+                ).build() : CodeBlock.builder().addStatement(
+                    "return this.fingerprint($T.emptySet())",
+                    Collections.class
+                ).build())
+                .build());
+        }
+        List<CodeBlock> doFingerprint = new ArrayList<>();
+        structural(compound).forEach((name, owner) -> {
+            CodeBlock.Builder chunk = CodeBlock.builder();
+            String getter = propertyResolver.accessor(owner.getKey(), name, PropertyGeneration.GETTER);
+            String nested = "nested" + doFingerprint.size();
+            Consumer<Cardinality> onLeaf = cardinality -> {
+                if (cardinality == Cardinality.LIST) {
+                    chunk.addStatement("fingerprint = $T.ofValues(fingerprint, $S, value.$N())", Fingerprint.class, name, getter);
+                } else if (cardinality == Cardinality.OPTIONAL) {
+                    chunk.addStatement("fingerprint = $T.ofValue(fingerprint, $S, value.$N().orElse(null))", Fingerprint.class, name, getter);
+                } else {
+                    chunk.addStatement("fingerprint = $T.ofValue(fingerprint, $S, value.$N())", Fingerprint.class, name, getter);
+                }
+            };
+            owner.getValue().accept(
+                (cardinality, ignored) -> onLeaf.accept(cardinality),
+                (cardinality, ignored) -> onLeaf.accept(cardinality),
+                (cardinality, ignored) -> {
+                    ClassName type = nameResolver.structure(owner.getValue().getDescription());
+                    if (cardinality == Cardinality.LIST) {
+                        chunk.addStatement("$T $N = value.$N()", cardinality.asReturnType(type), nested, getter)
+                            .beginControlFlow("if ($N != null)", nested)
+                            .addStatement("fingerprint = $T.ofStructures(fingerprint, $S, $N.size())", Fingerprint.class, name, nested)
+                            .beginControlFlow("for (int index = 0; index < $N.size(); index++)", nested)
+                            .addStatement(
+                                "fingerprint = $T.ofNumber(fingerprint, $N.get(index) == null ? 0 : $N.get(index).fingerprint(checked))",
+                                Fingerprint.class, nested, nested
+                            )
+                            .endControlFlow()
+                            .endControlFlow();
+                    } else {
+                        chunk.addStatement(
+                            cardinality == Cardinality.OPTIONAL ? "$T $N = value.$N().orElse(null)" : "$T $N = value.$N()",
+                            type, nested, getter
+                        ).beginControlFlow("if ($N != null)", nested)
+                            .addStatement("fingerprint = $T.ofStructure(fingerprint, $S, $N.fingerprint(checked))", Fingerprint.class, name, nested)
+                            .endControlFlow();
+                    }
+                }
+            );
+            doFingerprint.add(chunk.build());
+        });
+        MethodSpec doFingerprintSignature = MethodSpec.methodBuilder("doFingerprint")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(long.class)
+            .addParameter(structure, "value")
+            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
+            .build();
+        builder.addMethod(doFingerprintSignature.toBuilder()
+            .addStatement("long fingerprint = $T.INITIAL", Fingerprint.class)
+            .addCode(methodSplitter.split(
+                builder, structure, doFingerprintSignature,
+                Collections.singletonList(ParameterSpec.builder(long.class, "fingerprint").build()),
+                doFingerprint, CodeBlock.builder().addStatement("return $T.complete(fingerprint)", Fingerprint.class).build()
+            ))
+            .build());
+        CodeBlock.Builder fingerprint = CodeBlock.builder();
+        if (recursionResolver.isRecursive(compound)) {
+            fingerprint.addStatement("$T identity = this.structuralIdentity()", Object.class)
+                .beginControlFlow("if (!checked.add(identity))")
+                .addStatement("return 0")
+                .endControlFlow()
+                .addStatement("long fingerprint = doFingerprint(this, checked)")
+                .addStatement("checked.remove(identity)")
+                .addStatement("return fingerprint");
+        } else {
+            fingerprint.addStatement("return doFingerprint(this, checked)");
+        }
+        builder.addMethod(MethodSpec.methodBuilder("fingerprint")
+            .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+            .addAnnotations(root == compound
+                ? Collections.emptySet()
+                : Collections.singleton(AnnotationSpec.builder(Override.class).build()))
+            .returns(long.class)
+            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
+            .addCode(fingerprint.build())
+            .build());
+    }
+
+    private void addStructurallyEquals(TypeSpec.Builder builder, CompoundDescription compound, ClassName structure) {
+        CompoundDescription root = root(compound);
+        ClassName base = nameResolver.structure(root);
+        ParameterSpec checked = ParameterSpec.builder(ParameterizedTypeName.get(
+            ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
+        ), "checked").build();
+        if (root == compound) {
+            builder.addMethod(MethodSpec.methodBuilder("structurallyEquals")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(boolean.class)
+                .addParameter(base, "other")
+                .addCode(recursionResolver.isRecursive(compound) ? CodeBlock.builder().addStatement(
+                    "return this.structurallyEquals(other, new $T<>())",
+                    IdentityHashMap.class
+                ).build() : CodeBlock.builder().addStatement(
+                    "return this.structurallyEquals(other, $T.emptyMap())",
+                    Collections.class
+                ).build())
+                .build());
+        }
+        List<CodeBlock> doStructurallyEquals = new ArrayList<>();
+        structural(compound).forEach((name, owner) -> {
+            CodeBlock.Builder chunk = CodeBlock.builder();
+            String getter = propertyResolver.accessor(owner.getKey(), name, PropertyGeneration.GETTER);
+            String left = "left" + doStructurallyEquals.size(),
+                right = "right" + doStructurallyEquals.size(),
+                size = "size" + doStructurallyEquals.size();
+            Consumer<Cardinality> onLeaf = cardinality -> {
+                if (cardinality == Cardinality.LIST) {
+                    chunk.beginControlFlow("if (!$T.equals(left.$N(), right.$N()))", Objects.class, getter, getter);
+                } else if (cardinality == Cardinality.OPTIONAL) {
+                    chunk.beginControlFlow(
+                        "if (!$T.deepEquals(left.$N().orElse(null), right.$N().orElse(null)))",
+                        Objects.class, getter, getter
+                    );
+                } else {
+                    chunk.beginControlFlow("if (!$T.deepEquals(left.$N(), right.$N()))", Objects.class, getter, getter);
+                }
+                chunk.addStatement("return false").endControlFlow();
+            };
+            owner.getValue().accept(
+                (cardinality, ignored) -> onLeaf.accept(cardinality),
+                (cardinality, ignored) -> onLeaf.accept(cardinality),
+                (cardinality, ignored) -> {
+                    ClassName type = nameResolver.structure(owner.getValue().getDescription());
+                    if (cardinality == Cardinality.LIST) {
+                        chunk.addStatement(
+                            "$T $N = left.$N(), $N = right.$N()",
+                            cardinality.asReturnType(type), left, getter, right, getter
+                        ).addStatement("int $N = $N == null ? 0 : $N.size()", size, left, left)
+                            .beginControlFlow("if ($N != ($N == null ? 0 : $N.size()))", size, right, right)
+                            .addStatement("return false")
+                            .endControlFlow()
+                            .beginControlFlow("for (int index = 0; index < $N; index++)", size)
+                            .beginControlFlow(
+                                "if ($N.get(index) == null ? $N.get(index) != null : !$N.get(index).structurallyEquals($N.get(index), checked))",
+                                left, right, left, right
+                            )
+                            .addStatement("return false")
+                            .endControlFlow()
+                            .endControlFlow();
+                    } else {
+                        chunk.addStatement(
+                            cardinality == Cardinality.OPTIONAL
+                                ? "$T $N = left.$N().orElse(null), $N = right.$N().orElse(null)"
+                                : "$T $N = left.$N(), $N = right.$N()",
+                            type, left, getter, right, getter
+                        ).beginControlFlow(
+                            "if ($N == null ? $N != null : !$N.structurallyEquals($N, checked))",
+                            left, right, left, right
+                        ).addStatement("return false").endControlFlow();
+                    }
+                }
+            );
+            doStructurallyEquals.add(chunk.build());
+        });
+        MethodSpec doStructurallyEqualsSignature = MethodSpec.methodBuilder("doStructurallyEquals")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(boolean.class)
+            .addParameter(structure, "left")
+            .addParameter(structure, "right")
+            .addParameter(checked)
+            .build();
+        builder.addMethod(doStructurallyEqualsSignature.toBuilder()
+            .addCode(methodSplitter.split(
+                builder, structure, doStructurallyEqualsSignature,
+                doStructurallyEquals, CodeBlock.builder().addStatement("return true").build()
+            ))
+            .build());
+        CodeBlock.Builder structurallyEquals = CodeBlock.builder()
+            .beginControlFlow("if (this == other)")
+            .addStatement("return true");
+        if (root == compound) {
+            structurallyEquals.nextControlFlow("else if (other == null)");
+        } else {
+            structurallyEquals.nextControlFlow("else if (!(other instanceof $T))", structure);
+        }
+        structurallyEquals.addStatement("return false");
+        compound.getSubDescriptions().forEach(sub -> structurallyEquals
+            .nextControlFlow("else if (other instanceof $T)", nameResolver.structure(sub))
+            .addStatement("return false"));
+        structurallyEquals.endControlFlow();
+        if (recursionResolver.isRecursive(compound)) {
+            structurallyEquals.beginControlFlow(
+                "if (!checked.computeIfAbsent(this.structuralIdentity(), ignored -> $T.newSetFromMap(new $T<>())).add(other.structuralIdentity()))",
+                Collections.class, IdentityHashMap.class
+            ).addStatement("return true").endControlFlow();
+        }
+        builder.addMethod(MethodSpec.methodBuilder("structurallyEquals")
+            .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+            .addAnnotations(root == compound
+                ? Collections.emptySet()
+                : Collections.singleton(AnnotationSpec.builder(Override.class).build()))
+            .returns(boolean.class)
+            .addParameter(base, "other")
+            .addParameter(checked)
+            .addCode(root == compound
+                ? structurallyEquals.addStatement("return doStructurallyEquals(this, other, checked)").build()
+                : structurallyEquals.addStatement("return doStructurallyEquals(this, ($T) other, checked)", structure).build())
+            .build());
+    }
+
+    private SortedMap<String, Map.Entry<ClassName, CompoundDescription.Property>> structural(CompoundDescription compound) {
+        SortedMap<String, Map.Entry<ClassName, CompoundDescription.Property>> properties = new TreeMap<>();
+        for (CompoundDescription current = compound; current != null; current = current.getSuperDescription().orElse(null)) {
+            ClassName owner = nameResolver.structure(current);
+            current.accept(
+                type -> { },
+                constants -> { },
+                values -> values.forEach((name, property) -> properties.putIfAbsent(
+                    name,
+                    new AbstractMap.SimpleImmutableEntry<>(owner, property)
+                ))
+            );
+        }
+        return properties;
+    }
+
+    private static CompoundDescription root(CompoundDescription compound) {
+        CompoundDescription root = compound;
+        while (root.getSuperDescription().isPresent()) {
+            root = root.getSuperDescription().get();
+        }
+        return root;
     }
 
     private void addInterface(TypeSpec.Builder builder, ClassName structure, Class<?> type) {
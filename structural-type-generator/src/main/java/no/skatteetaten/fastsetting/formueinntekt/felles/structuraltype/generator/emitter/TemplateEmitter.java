@@ -1,7 +1,10 @@
 package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.emitter;
 
 import com.squareup.javapoet.*;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.HashCodeCache;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.ModificationTrackingList;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.TemplateOf;
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.WorkStack;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.Cardinality;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.FeatureGeneration;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.PropertyGeneration;
@@ -18,6 +21,9 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
     private final Set<FeatureGeneration> featureGenerations;
     private final NameResolver nameResolver;
     private final PropertyResolver propertyResolver;
+    private final RecursionResolver recursionResolver;
+    private final MethodSplitter methodSplitter;
+    private final int parallelCopyThreshold;
     private final BiConsumer<ClassName, JavaFile> consumer;
 
     public TemplateEmitter(
@@ -25,12 +31,18 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
         Set<FeatureGeneration> featureGenerations,
         NameResolver nameResolver,
         PropertyResolver propertyResolver,
+        RecursionResolver recursionResolver,
+        MethodSplitter methodSplitter,
+        int parallelCopyThreshold,
         BiConsumer<ClassName, JavaFile> consumer
     ) {
         this.propertyGenerations = propertyGenerations;
         this.featureGenerations = featureGenerations;
         this.nameResolver = nameResolver;
         this.propertyResolver = propertyResolver;
+        this.recursionResolver = recursionResolver;
+        this.methodSplitter = methodSplitter;
+        this.parallelCopyThreshold = parallelCopyThreshold;
         this.consumer = consumer;
     }
 
@@ -45,15 +57,33 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
                 .addMember("value", CodeBlock.builder().add("$T.class", structure).build())
                 .build());
         compound.getSuperDescription().ifPresent(superCompound -> builder.superclass(nameResolver.template(superCompound)));
+        if (featureGenerations.contains(FeatureGeneration.CACHED_HASHCODE)
+            && !featureGenerations.contains(FeatureGeneration.HASHCODE_EQUALS)) {
+            throw new IllegalStateException("The cached hash code feature requires the hash code and equals feature to be enabled");
+        }
         if (featureGenerations.contains(FeatureGeneration.COPY)) {
             if (!propertyGenerations.containsAll(EnumSet.of(PropertyGeneration.GETTER, PropertyGeneration.SETTER))) {
                 throw new IllegalStateException("The copy feature requires getter and setter properties to be enabled");
             }
+            boolean tracked = !featureGenerations.contains(FeatureGeneration.FAST_COPY) || recursionResolver.isRecursive(compound);
+            boolean iterative = featureGenerations.contains(FeatureGeneration.ITERATIVE);
+            if (iterative) {
+                builder.addMethod(propertyResolver.copyOfIterative(structure, template)).addMethod(propertyResolver.copyOfIterative(
+                    structure,
+                    template,
+                    compound.getSuperDescription().map(nameResolver::template).orElse(null),
+                    CodeBlock.builder().add("new $T()", template).build(),
+                    tracked
+                ));
+            } else {
+                builder.addMethod(propertyResolver.copyOf(
+                    structure,
+                    compound.getSuperDescription().map(nameResolver::template).orElse(null),
+                    CodeBlock.builder().add("new $T()", template).build(),
+                    tracked
+                ));
+            }
             builder.addMethod(propertyResolver.copyOf(
-                structure,
-                compound.getSuperDescription().map(nameResolver::template).orElse(null),
-                CodeBlock.builder().add("new $T()", template).build()
-            )).addMethod(propertyResolver.copyOf(
                 structure,
                 new ArrayList<>(properties.keySet()),
                 name -> properties.get(name).getDescription().getSort() != CompoundDescription.Sort.BRANCH,
@@ -63,7 +93,11 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
                     ignored -> nameResolver.structure(properties.get(name).getDescription()),
                     ignored -> nameResolver.structure(properties.get(name).getDescription())
                 ),
-                (name, copies) -> CodeBlock.builder().add("copyToTemplate($N)", copies).build()
+                (name, copies) -> CodeBlock.builder().add(iterative ? "copyToTemplate($N, stack)" : "copyToTemplate($N)", copies).build(),
+                (signature, chunks) -> methodSplitter.split(builder, template, signature, chunks, CodeBlock.builder().build()),
+                tracked,
+                iterative,
+                parallelCopyThreshold
             ));
             builder.addMethod(MethodSpec.methodBuilder("copy")
                 .addModifiers(Modifier.PUBLIC)
@@ -79,10 +113,25 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
                 .addAnnotation(Override.class)
                 .addCode(CodeBlock.builder().addStatement("return $T.empty()", Optional.class).build()).build());
         }
-        properties.forEach((name, property) -> property.accept((cardinality, type) -> addProperty(
-            builder, structure, property.getDescription(), false,
-            name, cardinality, TypeName.get(type), null, properties.keySet()
-        ), (cardinality, ignored) -> addProperty(
+        properties.forEach((name, property) -> property.accept((cardinality, type) -> {
+            addProperty(
+                builder, structure, property.getDescription(), false,
+                name, cardinality, TypeName.get(type), null, properties.keySet()
+            );
+            if (cardinality != Cardinality.LIST && !name.isEmpty()
+                && Number.class.isAssignableFrom(type)
+                && propertyGenerations.contains(PropertyGeneration.PRIMITIVE)) {
+                for (Class<?> primitive : Arrays.asList(int.class, long.class, double.class)) {
+                    builder.addMethod(propertyResolver.primitive(
+                        structure, name, TypeName.get(type), cardinality, primitive,
+                        CodeBlock.builder().addStatement(
+                            "return this.$N == null ? defaultValue : this.$N.$N()",
+                            name, name, primitive.getName() + "Value"
+                        ).build()
+                    ));
+                }
+            }
+        }, (cardinality, ignored) -> addProperty(
             builder, structure, property.getDescription(), false,
             name, cardinality, nameResolver.structure(property.getDescription()), null, properties.keySet()
         ), (cardinality, nested) -> addProperty(
@@ -93,21 +142,41 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
         if (featureGenerations.contains(FeatureGeneration.HASHCODE_EQUALS)) {
             addHashCode(builder, template, compound.getSuperDescription()
                 .map(nameResolver::template)
-                .orElse(null), properties);
+                .orElse(null), properties, recursionResolver.isRecursive(compound));
             addEquals(builder, template, compound.getSuperDescription()
                 .map(nameResolver::template)
-                .orElse(null), properties);
+                .orElse(null), properties, recursionResolver.isRecursive(compound));
         }
         if (featureGenerations.contains(FeatureGeneration.TO_STRING)) {
             addToString(builder, structure, template, compound.getSuperDescription()
                 .map(nameResolver::template)
-                .orElse(null), properties);
+                .orElse(null), properties, recursionResolver.isRecursive(compound));
         }
         consumer.accept(template, JavaFile.builder(
             template.packageName(), builder.build()
         ).skipJavaLangImports(true).build());
     }
 
+    private CodeBlock newList(Set<String> names) {
+        return featureGenerations.contains(FeatureGeneration.CACHED_HASHCODE)
+            ? CodeBlock.builder().add("new $T<>(this.$N)", ModificationTrackingList.class, toCache(names)).build()
+            : CodeBlock.builder().add("new $T<>()", ArrayList.class).build();
+    }
+
+    private CodeBlock modification(Set<String> names) {
+        return featureGenerations.contains(FeatureGeneration.CACHED_HASHCODE)
+            ? CodeBlock.builder().addStatement("this.$N.invalidate()", toCache(names)).build()
+            : CodeBlock.builder().build();
+    }
+
+    private static String toCache(Set<String> names) {
+        String cache = "cachedHashCode";
+        while (names.contains(cache)) {
+            cache = cache + "_";
+        }
+        return cache;
+    }
+
     private static String toVariable(String name, Set<String> names) {
         if (name.isEmpty()) {
             String candidate = PropertyResolver.MASKED;
@@ -161,7 +230,7 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
             case LIST:
                 getter = CodeBlock.builder()
                     .beginControlFlow("if (this.$N == null)", variable)
-                    .addStatement("this.$N = new $T<>()", variable, ArrayList.class)
+                    .addStatement("this.$N = $L", variable, newList(names))
                     .endControlFlow();
                 if (propertyGenerations.contains(PropertyGeneration.SETTER)) {
                     getter.addStatement("return this.$N", variable);
@@ -175,6 +244,12 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
             builder.addMethod(propertyResolver.getter(structure, name, type, cardinality, true, true)
                 .addCode(getter.build())
                 .build());
+            if (cardinality == Cardinality.OPTIONAL && propertyGenerations.contains(PropertyGeneration.NULLABLE)) {
+                builder.addMethod(propertyResolver.nullable(
+                    structure, name, type,
+                    CodeBlock.builder().addStatement("return this.$N", variable).build()
+                ));
+            }
         }
         if (!name.isEmpty()) {
             if (!Collections.disjoint(propertyGenerations, EnumSet.of(
@@ -189,14 +264,14 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
                     "if (this.$N == null)",
                     variable
                 ).addStatement(
-                    "this.$N = new $T<>()",
-                    variable, ArrayList.class
+                    "this.$N = $L",
+                    variable, newList(names)
                 ).endControlFlow().addStatement(
                     "this.$N.add($N)", variable, variable
                 ).build() : CodeBlock.builder().addStatement(
                     "this.$N = $N",
                     variable, variable
-                ).build()).build());
+                ).add(modification(names)).build()).build());
                 if (expansion != null) {
                     expansion.getDescription().accept(expansionType -> builder.addMethod(propertyResolver.setter(
                         structure, name, TypeName.get(expansionType),
@@ -205,30 +280,30 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
                         "if (this.$N == null)",
                         variable
                     ).addStatement(
-                        "this.$N = new $T<>()",
-                        variable, ArrayList.class
+                        "this.$N = $L",
+                        variable, newList(names)
                     ).endControlFlow().addStatement(
                         "this.$N.add(new $T($N))",
                         variable, nameResolver.template(target), variable
                     ).build() : CodeBlock.builder().addStatement(
                         "this.$N = new $T($N)",
                         variable, nameResolver.template(target), variable
-                    ).build()).build()), ignored -> builder.addMethod(propertyResolver.setter(
+                    ).add(modification(names)).build()).build()), ignored -> builder.addMethod(propertyResolver.setter(
                         structure, name, nameResolver.structure(expansion.getDescription()),
                         true, propertyGenerations.contains(PropertyGeneration.SETTER)
                     ).addCode(cardinality == Cardinality.LIST ? CodeBlock.builder().beginControlFlow(
                         "if (this.$N == null)",
                         variable
                     ).addStatement(
-                        "this.$N = new $T<>()",
-                        variable, ArrayList.class
+                        "this.$N = $L",
+                        variable, newList(names)
                     ).endControlFlow().addStatement(
                         "this.$N.add(new $T($N))",
                         variable, nameResolver.template(target), variable
                     ).build() : CodeBlock.builder().addStatement(
                         "this.$N = new $T($N)",
                         variable, nameResolver.template(target), variable
-                    ).build()).build()), ignored -> {
+                    ).add(modification(names)).build()).build()), ignored -> {
                         throw new IllegalStateException("Unexpected branch for expansion property of " + type);
                     });
                 }
@@ -306,38 +381,56 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
         TypeSpec.Builder builder,
         ClassName template,
         ClassName base,
-        Map<String, CompoundDescription.Property> properties
+        Map<String, CompoundDescription.Property> properties,
+        boolean recursive
     ) {
+        boolean iterative = featureGenerations.contains(FeatureGeneration.ITERATIVE);
+        boolean cached = featureGenerations.contains(FeatureGeneration.CACHED_HASHCODE);
         if (base == null) {
             builder.addMethod(MethodSpec.methodBuilder("hashCode")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(int.class)
                 .addAnnotation(Override.class)
-                .addCode(CodeBlock.builder().addStatement(
+                .addCode(recursive ? CodeBlock.builder().addStatement(
                     "return this.hashCode($T.newSetFromMap(new $T<>()))",
                     Collections.class, IdentityHashMap.class
+                ).build() : CodeBlock.builder().addStatement(
+                    "return this.hashCode($T.emptySet())",
+                    Collections.class
                 ).build())
                 .build());
         }
-        CodeBlock.Builder doHashCode = CodeBlock.builder().addStatement("int hashCode = 0");
+        List<CodeBlock> doHashCode = new ArrayList<>(), doValueHashCode = cached ? new ArrayList<>() : doHashCode;
         properties.forEach((name, property) -> {
+            CodeBlock.Builder chunk = CodeBlock.builder();
             String variable = toVariable(name, properties.keySet());
+            List<CodeBlock> chunks = property.getDescription().getSort() == CompoundDescription.Sort.BRANCH ? doHashCode : doValueHashCode;
             property.accept((cardinality, type) -> {
                 if (type.isPrimitive()) {
-                    doHashCode.addStatement(
+                    chunk.addStatement(
                         "hashCode = hashCode + $T.hashCode(value.$N)",
                         TypeName.get(type).box(), variable
                     );
                 } else {
-                    doHashCode.beginControlFlow("if (value.$N != null)", variable)
+                    chunk.beginControlFlow("if (value.$N != null)", variable)
                         .addStatement("hashCode = hashCode + value.$N.hashCode()", variable)
                         .endControlFlow();
                 }
-            }, (cardinality, ignored) -> doHashCode.beginControlFlow(
+            }, (cardinality, ignored) -> chunk.beginControlFlow(
                 "if (value.$N != null)", variable
             ).addStatement("hashCode = 31 * value.$N.hashCode()", variable).endControlFlow(), (cardinality, ignored) -> {
-                if (cardinality == Cardinality.LIST) {
-                    doHashCode.beginControlFlow("if (value.$N != null)", variable)
+                ClassName nested = nameResolver.structure(property.getDescription());
+                if (iterative && cardinality == Cardinality.LIST) {
+                    chunk.beginControlFlow("if (value.$N != null)", variable)
+                        .addStatement("hashCode = hashCode + value.$N.size()", variable)
+                        .beginControlFlow("for (int index = 0; index < value.$N.size(); index++)", variable)
+                        .addStatement("stack.pushHashCode(value.$N.get(index), $T::hashCode)", variable, nested)
+                        .endControlFlow()
+                        .endControlFlow();
+                } else if (iterative) {
+                    chunk.addStatement("stack.pushHashCode(value.$N, $T::hashCode)", variable, nested);
+                } else if (cardinality == Cardinality.LIST) {
+                    chunk.beginControlFlow("if (value.$N != null)", variable)
                         .addStatement("hashCode = 31 * hashCode")
                         .beginControlFlow("for (int index = 0; index < value.$N.size(); index++)", variable)
                         .addStatement(
@@ -347,165 +440,270 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
                         .endControlFlow()
                         .endControlFlow();
                 } else {
-                    doHashCode.beginControlFlow("if (value.$N != null)", variable)
+                    chunk.beginControlFlow("if (value.$N != null)", variable)
                         .addStatement("hashCode = 31 * hashCode + value.$N.hashCode(checked)", variable)
                         .endControlFlow();
                 }
             });
-            doHashCode.addStatement("hashCode = 31 * hashCode");
+            chunks.add(chunk.addStatement("hashCode = 31 * hashCode").build());
         });
-        builder.addMethod(MethodSpec.methodBuilder("doHashCode")
+        ParameterSpec checked = ParameterSpec.builder(ParameterizedTypeName.get(Set.class, Object.class), "checked").build(),
+            tracking = iterative ? ParameterSpec.builder(WorkStack.class, "stack").build() : checked;
+        MethodSpec doHashCodeSignature = MethodSpec.methodBuilder("doHashCode")
             .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
             .returns(int.class)
             .addParameter(template, "value")
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
-            .addCode(doHashCode.addStatement("return hashCode").build())
-            .build());
-        CodeBlock.Builder hashCode = CodeBlock.builder()
-            .beginControlFlow("if (!checked.add(this))")
-            .addStatement("return 0")
-            .endControlFlow()
-            .addStatement("$T hashCode = $T.class.hashCode()", int.class, template);
+            .addParameter(tracking)
+            .build();
+        if (cached) {
+            String cache = toCache(properties.keySet());
+            builder.addField(FieldSpec.builder(HashCodeCache.class, cache, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T()", HashCodeCache.class)
+                .build());
+            MethodSpec doValueHashCodeSignature = MethodSpec.methodBuilder("doValueHashCode")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(int.class)
+                .addParameter(template, "value")
+                .build();
+            builder.addMethod(doValueHashCodeSignature.toBuilder()
+                .addStatement("int hashCode = 0")
+                .addCode(methodSplitter.split(
+                    builder, template, doValueHashCodeSignature,
+                    Collections.singletonList(ParameterSpec.builder(int.class, "hashCode").build()),
+                    doValueHashCode, CodeBlock.builder().addStatement("return hashCode").build()
+                ))
+                .build());
+            builder.addMethod(doHashCodeSignature.toBuilder()
+                .addStatement("int hashCode = value.$N.hashCode(value, $T::doValueHashCode)", cache, template)
+                .addCode(methodSplitter.split(
+                    builder, template, doHashCodeSignature,
+                    Collections.singletonList(ParameterSpec.builder(int.class, "hashCode").build()),
+                    doHashCode, CodeBlock.builder().addStatement("return hashCode").build()
+                ))
+                .build());
+        } else {
+            builder.addMethod(doHashCodeSignature.toBuilder()
+                .addStatement("int hashCode = 0")
+                .addCode(methodSplitter.split(
+                    builder, template, doHashCodeSignature,
+                    Collections.singletonList(ParameterSpec.builder(int.class, "hashCode").build()),
+                    doHashCode, CodeBlock.builder().addStatement("return hashCode").build()
+                ))
+                .build());
+        }
+        CodeBlock.Builder hashCode = CodeBlock.builder();
+        if (!iterative && recursive) {
+            hashCode.beginControlFlow("if (!checked.add(this))")
+                .addStatement("return 0")
+                .endControlFlow();
+        }
+        hashCode.addStatement("$T hashCode = $T.class.hashCode()", int.class, template);
         if (base != null) {
-            hashCode.addStatement("hashCode = hashCode + 31 * $T.doHashCode(this, checked)", base);
+            hashCode.addStatement("hashCode = hashCode + 31 * $T.doHashCode(this, $N)", base, tracking);
         }
-        hashCode.addStatement("hashCode = hashCode + doHashCode(this, checked)");
+        hashCode.addStatement("hashCode = hashCode + doHashCode(this, $N)", tracking);
         builder.addMethod(MethodSpec.methodBuilder("hashCode")
             .addModifiers(Modifier.PUBLIC)
             .returns(int.class)
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
+            .addParameter(tracking)
             .addAnnotation(Override.class)
             .addCode(hashCode.addStatement("return hashCode").build())
             .build());
+        if (iterative) {
+            builder.addMethod(MethodSpec.methodBuilder("hashCode")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addParameter(checked)
+                .addAnnotation(Override.class)
+                .addCode(CodeBlock.builder().addStatement(
+                    "return $T.hashCode(this, $T::hashCode, $L)",
+                    WorkStack.class, template, recursive ? "checked" : "null"
+                ).build())
+                .build());
+        }
     }
 
     private void addEquals(
         TypeSpec.Builder builder,
         ClassName template,
         ClassName base,
-        Map<String, CompoundDescription.Property> properties
+        Map<String, CompoundDescription.Property> properties,
+        boolean recursive
     ) {
+        boolean iterative = featureGenerations.contains(FeatureGeneration.ITERATIVE);
         if (base == null) {
             builder.addMethod(MethodSpec.methodBuilder("equals")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(boolean.class)
                 .addParameter(Object.class, "other")
                 .addAnnotation(Override.class)
-                .addCode(CodeBlock.builder().addStatement(
+                .addCode(recursive ? CodeBlock.builder().addStatement(
                     "return this.equals(other, new $T<>())",
                     IdentityHashMap.class
+                ).build() : CodeBlock.builder().addStatement(
+                    "return this.equals(other, $T.emptyMap())",
+                    Collections.class
                 ).build())
                 .build());
         }
-        CodeBlock.Builder doEquals = CodeBlock.builder();
+        List<CodeBlock> doEquals = new ArrayList<>();
         properties.forEach((name, property) -> {
+            CodeBlock.Builder chunk = CodeBlock.builder();
             String variable = toVariable(name, properties.keySet());
-            property.accept((cardinality, type) -> {
-                if (type == float.class) {
-                    doEquals.beginControlFlow("if ($T.compareTo(left.$N, right.$N) != 0)", Float.class, variable, variable);
-                } else if (type == double.class) {
-                    doEquals.beginControlFlow("if ($T.compareTo(left.$N, right.$N) != 0)", Float.class, variable, variable);
-                } else if (type.isPrimitive()) {
-                    doEquals.beginControlFlow("if (left.$N != right.$N)", variable, variable);
-                } else if (cardinality == Cardinality.LIST) {
-                    doEquals.beginControlFlow(
-                        "if (left.$N == null && right.$N != null && !right.$N.isEmpty() "
-                            + "|| left.$N != null && right.$N == null && !left.$N.isEmpty() "
-                            + "|| left.$N != null && right.$N != null && !left.$N.equals(right.$N))",
-                        variable, variable, variable,
-                        variable, variable, variable,
-                        variable, variable, variable, variable
-                    );
-                } else {
-                    doEquals.beginControlFlow("if (!$T.equals(left.$N, right.$N))", Objects.class, variable, variable);
-                }
-            }, (cardinality, ignored) -> {
-                if (cardinality == Cardinality.LIST) {
-                    doEquals.beginControlFlow(
-                        "if (left.$N == null && right.$N != null && !right.$N.isEmpty() "
-                            + "|| left.$N != null && right.$N == null && !left.$N.isEmpty() "
-                            + "|| left.$N != null && right.$N != null && !left.$N.equals(right.$N))",
-                        variable, variable, variable,
-                        variable, variable, variable,
-                        variable, variable, variable, variable
-                    );
-                } else {
-                    doEquals.beginControlFlow("if (left.$N != right.$N)", variable, variable);
-                }
-            }, (cardinality, ignored) -> {
-                if (cardinality == Cardinality.LIST) {
-                    doEquals.beginControlFlow(
-                        "if (left.$N == null && right.$N != null && !right.$N.isEmpty() "
-                            + "|| left.$N != null && right.$N == null && !left.$N.isEmpty() "
-                            + "|| left.$N != null && right.$N != null && (left.$N.size() != right.$N.size()"
-                            + "|| $T.range(0, left.$N.size()).anyMatch("
-                            + "index -> left.$N.get(index) == null && right.$N.get(index) != null "
-                            + "|| !left.$N.get(index).equals(right.$N.get(index), checked))))",
-                        variable, variable, variable,
-                        variable, variable, variable,
-                        variable, variable, variable, variable,
-                        IntStream.class, variable,
-                        variable, variable,
-                        variable, variable
-                    );
+            if (iterative && property.getDescription().getSort() == CompoundDescription.Sort.BRANCH) {
+                ClassName nested = nameResolver.structure(property.getDescription());
+                if (property.getCardinality() == Cardinality.LIST) {
+                    chunk.beginControlFlow("if (left.$N != null && right.$N != null)", variable, variable)
+                        .beginControlFlow("if (left.$N.size() != right.$N.size())", variable, variable)
+                        .addStatement("return false")
+                        .endControlFlow()
+                        .beginControlFlow("for (int index = 0; index < left.$N.size(); index++)", variable)
+                        .addStatement("stack.pushEquals(left.$N.get(index), right.$N.get(index), $T::equals)", variable, variable, nested)
+                        .endControlFlow()
+                        .nextControlFlow(
+                            "else if (left.$N != null ? !left.$N.isEmpty() : right.$N != null && !right.$N.isEmpty())",
+                            variable, variable, variable, variable
+                        )
+                        .addStatement("return false")
+                        .endControlFlow();
                 } else {
-                    doEquals.beginControlFlow(
-                        "if (left.$N == null && right.$N != null "
-                            + "|| left.$N != null && !left.$N.equals(right.$N, checked))",
-                        variable, variable,
-                        variable, variable, variable
-                    );
+                    chunk.addStatement("stack.pushEquals(left.$N, right.$N, $T::equals)", variable, variable, nested);
                 }
-            });
-            doEquals.addStatement("return false").endControlFlow();
+                doEquals.add(chunk.build());
+            } else {
+                property.accept((cardinality, type) -> {
+                    if (type == float.class) {
+                        chunk.beginControlFlow("if ($T.compareTo(left.$N, right.$N) != 0)", Float.class, variable, variable);
+                    } else if (type == double.class) {
+                        chunk.beginControlFlow("if ($T.compareTo(left.$N, right.$N) != 0)", Float.class, variable, variable);
+                    } else if (type.isPrimitive()) {
+                        chunk.beginControlFlow("if (left.$N != right.$N)", variable, variable);
+                    } else if (cardinality == Cardinality.LIST) {
+                        chunk.beginControlFlow(
+                            "if (left.$N == null && right.$N != null && !right.$N.isEmpty() "
+                                + "|| left.$N != null && right.$N == null && !left.$N.isEmpty() "
+                                + "|| left.$N != null && right.$N != null && !left.$N.equals(right.$N))",
+                            variable, variable, variable,
+                            variable, variable, variable,
+                            variable, variable, variable, variable
+                        );
+                    } else {
+                        chunk.beginControlFlow("if (!$T.equals(left.$N, right.$N))", Objects.class, variable, variable);
+                    }
+                }, (cardinality, ignored) -> {
+                    if (cardinality == Cardinality.LIST) {
+                        chunk.beginControlFlow(
+                            "if (left.$N == null && right.$N != null && !right.$N.isEmpty() "
+                                + "|| left.$N != null && right.$N == null && !left.$N.isEmpty() "
+                                + "|| left.$N != null && right.$N != null && !left.$N.equals(right.$N))",
+                            variable, variable, variable,
+                            variable, variable, variable,
+                            variable, variable, variable, variable
+                        );
+                    } else {
+                        chunk.beginControlFlow("if (left.$N != right.$N)", variable, variable);
+                    }
+                }, (cardinality, ignored) -> {
+                    if (cardinality == Cardinality.LIST) {
+                        chunk.beginControlFlow(
+                            "if (left.$N == null && right.$N != null && !right.$N.isEmpty() "
+                                + "|| left.$N != null && right.$N == null && !left.$N.isEmpty() "
+                                + "|| left.$N != null && right.$N != null && (left.$N.size() != right.$N.size()"
+                                + "|| $T.range(0, left.$N.size()).anyMatch("
+                                + "index -> left.$N.get(index) == null && right.$N.get(index) != null "
+                                + "|| !left.$N.get(index).equals(right.$N.get(index), checked))))",
+                            variable, variable, variable,
+                            variable, variable, variable,
+                            variable, variable, variable, variable,
+                            IntStream.class, variable,
+                            variable, variable,
+                            variable, variable
+                        );
+                    } else {
+                        chunk.beginControlFlow(
+                            "if (left.$N == null && right.$N != null "
+                                + "|| left.$N != null && !left.$N.equals(right.$N, checked))",
+                            variable, variable,
+                            variable, variable, variable
+                        );
+                    }
+                });
+                doEquals.add(chunk.addStatement("return false").endControlFlow().build());
+            }
         });
-        builder.addMethod(MethodSpec.methodBuilder("doEquals")
+        ParameterSpec checked = ParameterSpec.builder(ParameterizedTypeName.get(
+            ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
+        ), "checked").build(), tracking = iterative ? ParameterSpec.builder(WorkStack.class, "stack").build() : checked;
+        MethodSpec doEqualsSignature = MethodSpec.methodBuilder("doEquals")
             .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
             .returns(boolean.class)
             .addParameter(template, "left")
             .addParameter(template, "right")
-            .addParameter(ParameterizedTypeName.get(
-                ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
-            ), "checked")
-            .addCode(doEquals.addStatement("return true").build())
-            .build());
+            .addParameter(tracking)
+            .build();
+        builder.addMethod(doEqualsSignature.toBuilder().addCode(methodSplitter.split(
+            builder, template, doEqualsSignature,
+            doEquals, CodeBlock.builder().addStatement("return true").build()
+        )).build());
         CodeBlock.Builder equals = CodeBlock.builder()
             .beginControlFlow("if (other == null || this.getClass() != other.getClass())")
-            .addStatement("return false")
-            .nextControlFlow("if (checked.containsKey(this) && checked.get(this).contains(other))")
-            .addStatement("return true")
-            .endControlFlow()
-            .addStatement("$T current = checked.get(this)", ParameterizedTypeName.get(Set.class, Object.class))
-            .beginControlFlow("if (current == null)")
-            .addStatement("current = $T.newSetFromMap(new $T<>())", Collections.class, IdentityHashMap.class)
-            .addStatement("checked.put(this, current)")
-            .endControlFlow()
-            .addStatement("current.add(other)");
+            .addStatement("return false");
+        if (!iterative && recursive) {
+            equals.nextControlFlow("if (checked.containsKey(this) && checked.get(this).contains(other))")
+                .addStatement("return true")
+                .endControlFlow()
+                .addStatement("$T current = checked.get(this)", ParameterizedTypeName.get(Set.class, Object.class))
+                .beginControlFlow("if (current == null)")
+                .addStatement("current = $T.newSetFromMap(new $T<>())", Collections.class, IdentityHashMap.class)
+                .addStatement("checked.put(this, current)")
+                .endControlFlow()
+                .addStatement("current.add(other)");
+        } else {
+            equals.endControlFlow();
+        }
         if (base != null) {
             equals.addStatement(
-                "return $T.doEquals(this, ($T) other, checked) && doEquals(this, ($T) other, checked)",
-                base, template, template
+                "return $T.doEquals(this, ($T) other, $N) && doEquals(this, ($T) other, $N)",
+                base, template, tracking, template, tracking
             );
         } else {
-            equals.addStatement("return doEquals(this, ($T) other, checked)", template);
+            equals.addStatement("return doEquals(this, ($T) other, $N)", template, tracking);
         }
         builder.addMethod(MethodSpec.methodBuilder("equals")
             .addModifiers(Modifier.PUBLIC)
             .returns(boolean.class)
             .addParameter(Object.class, "other")
-            .addParameter(ParameterizedTypeName.get(
-                ClassName.get(Map.class), ClassName.OBJECT, ParameterizedTypeName.get(Set.class, Object.class)
-            ), "checked")
+            .addParameter(tracking)
             .addAnnotation(Override.class)
             .addCode(equals.build())
             .build());
+        if (iterative) {
+            builder.addMethod(MethodSpec.methodBuilder("equals")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(Object.class, "other")
+                .addParameter(checked)
+                .addAnnotation(Override.class)
+                .addCode(CodeBlock.builder()
+                    .beginControlFlow("if (other == null || this.getClass() != other.getClass())")
+                    .addStatement("return false")
+                    .endControlFlow()
+                    .addStatement(
+                        "return $T.equals(this, ($T) other, $T::equals, $L)",
+                        WorkStack.class, template, template, recursive ? "checked" : "null"
+                    )
+                    .build())
+                .build());
+        }
     }
 
     private void addToString(
         TypeSpec.Builder builder,
         ClassName structure, ClassName template, ClassName base,
-        Map<String, CompoundDescription.Property> properties
+        Map<String, CompoundDescription.Property> properties,
+        boolean recursive
     ) {
+        boolean iterative = featureGenerations.contains(FeatureGeneration.ITERATIVE);
         if (base == null) {
             builder.addMethod(MethodSpec.methodBuilder("toString")
                 .addModifiers(Modifier.PUBLIC)
@@ -514,73 +712,123 @@ public class TemplateEmitter implements BiConsumer<CompoundDescription, Map<Stri
                 .addCode(CodeBlock.builder().addStatement(
                     "$T builder = new $T()",
                     StringBuilder.class, StringBuilder.class
-                ).addStatement(
+                ).add(recursive ? CodeBlock.builder().addStatement(
                     "this.toString(builder, $T.newSetFromMap(new $T<>()))",
                     Collections.class, IdentityHashMap.class
-                ).addStatement("return builder.toString()").build())
+                ).build() : CodeBlock.builder().addStatement(
+                    "this.toString(builder, $T.emptySet())",
+                    Collections.class
+                ).build()).addStatement("return builder.toString()").build())
                 .build());
         }
-        CodeBlock.Builder doToString = CodeBlock.builder();
+        List<CodeBlock> doToString = new ArrayList<>();
         properties.forEach((name, property) -> {
+            CodeBlock.Builder chunk = CodeBlock.builder();
             String variable = toVariable(name, properties.keySet());
-            doToString.addStatement("builder.append($S).append($S).append($S)", " - ", variable, ": ");
-            property.accept((cardinality, type) -> doToString.addStatement(
-                "builder.append(value.$N)", variable
-            ), (cardinality, ignored) -> doToString.addStatement(
-                "builder.append(value.$N)", variable
-            ), (cardinality, ignored) -> {
-                if (cardinality == Cardinality.LIST) {
-                    doToString.beginControlFlow("if (value.$N == null)", variable)
-                        .addStatement("builder.append($S)", "null")
-                        .nextControlFlow("else")
-                        .addStatement("builder.append($S)", "[")
-                        .beginControlFlow("for (int index = 0; index < value.$N.size(); index++)", variable)
-                        .addStatement(
-                            "builder.append($N).append($S).append(value.$N.get(index))",
-                            "index", ": ", variable
-                        )
-                        .endControlFlow()
-                        .addStatement("builder.append($S)", "]")
-                        .endControlFlow();
-                } else {
-                    doToString.addStatement("builder.append(value.$N)", variable);
-                }
-            });
+            if (iterative) {
+                property.accept((cardinality, type) -> chunk.addStatement(
+                    "stack.pushText($S + value.$N)", " - " + variable + ": ", variable
+                ), (cardinality, ignored) -> chunk.addStatement(
+                    "stack.pushText($S + value.$N)", " - " + variable + ": ", variable
+                ), (cardinality, ignored) -> {
+                    ClassName nested = nameResolver.structure(property.getDescription());
+                    if (cardinality == Cardinality.LIST) {
+                        chunk.beginControlFlow("if (value.$N == null)", variable)
+                            .addStatement("stack.pushText($S)", " - " + variable + ": null")
+                            .nextControlFlow("else")
+                            .addStatement("stack.pushText($S)", " - " + variable + ": [")
+                            .beginControlFlow("for (int index = 0; index < value.$N.size(); index++)", variable)
+                            .addStatement("stack.pushText(index + $S)", ": ")
+                            .addStatement("stack.pushToString(value.$N.get(index), $T::toString)", variable, nested)
+                            .endControlFlow()
+                            .addStatement("stack.pushText($S)", "]")
+                            .endControlFlow();
+                    } else {
+                        chunk.addStatement("stack.pushText($S)", " - " + variable + ": ")
+                            .addStatement("stack.pushToString(value.$N, $T::toString)", variable, nested);
+                    }
+                });
+            } else {
+                chunk.addStatement("builder.append($S).append($S).append($S)", " - ", variable, ": ");
+                property.accept((cardinality, type) -> chunk.addStatement(
+                    "builder.append(value.$N)", variable
+                ), (cardinality, ignored) -> chunk.addStatement(
+                    "builder.append(value.$N)", variable
+                ), (cardinality, ignored) -> {
+                    if (cardinality == Cardinality.LIST) {
+                        chunk.beginControlFlow("if (value.$N == null)", variable)
+                            .addStatement("builder.append($S)", "null")
+                            .nextControlFlow("else")
+                            .addStatement("builder.append($S)", "[")
+                            .beginControlFlow("for (int index = 0; index < value.$N.size(); index++)", variable)
+                            .addStatement(
+                                "builder.append($N).append($S).append(value.$N.get(index))",
+                                "index", ": ", variable
+                            )
+                            .endControlFlow()
+                            .addStatement("builder.append($S)", "]")
+                            .endControlFlow();
+                    } else {
+                        chunk.addStatement("builder.append(value.$N)", variable);
+                    }
+                });
+            }
+            doToString.add(chunk.build());
         });
-        builder.addMethod(MethodSpec.methodBuilder("doToString")
+        ParameterSpec checked = ParameterSpec.builder(ParameterizedTypeName.get(Set.class, Object.class), "checked").build(),
+            tracking = iterative ? ParameterSpec.builder(WorkStack.class, "stack").build() : checked;
+        MethodSpec doToStringSignature = MethodSpec.methodBuilder("doToString")
             .addModifiers(Modifier.PROTECTED, Modifier.STATIC)
             .returns(void.class)
             .addParameter(StringBuilder.class, "builder")
             .addParameter(template, "value")
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
-            .addCode(doToString.build())
-            .build());
-        CodeBlock.Builder toString = CodeBlock.builder()
-            .beginControlFlow("if (!checked.add(this))")
-            .addStatement(
-                "builder.append($S).append($T.identityHashCode(this))",
-                "Recursive reference to template ", System.class
-            )
-            .addStatement("return")
-            .endControlFlow()
-            .addStatement(
-                "builder.append($S).append($T.class.getTypeName())"
-                    + ".append($S).append($T.class.getTypeName())"
-                    + ".append($S).append($T.identityHashCode(this))",
-                "Template ", template, " of structure ", structure,
-                " with identity ", System.class
-            );
+            .addParameter(tracking)
+            .build();
+        builder.addMethod(doToStringSignature.toBuilder().addCode(methodSplitter.split(
+            builder, template, doToStringSignature,
+            doToString, CodeBlock.builder().build()
+        )).build());
+        CodeBlock.Builder toString = CodeBlock.builder();
+        if (!iterative && recursive) {
+            toString.beginControlFlow("if (!checked.add(this))")
+                .addStatement(
+                    "builder.append($S).append($T.identityHashCode(this))",
+                    "Recursive reference to template ", System.class
+                )
+                .addStatement("return")
+                .endControlFlow();
+        }
+        toString.addStatement(
+            "builder.append($S).append($T.class.getTypeName())"
+                + ".append($S).append($T.class.getTypeName())"
+                + ".append($S).append($T.identityHashCode(this))",
+            "Template ", template, " of structure ", structure,
+            " with identity ", System.class
+        );
         if (base != null) {
-            toString.addStatement("$T.doToString(builder, this, checked)", base);
+            toString.addStatement("$T.doToString(builder, this, $N)", base, tracking);
         }
-        toString.addStatement("doToString(builder, this, checked)");
+        toString.addStatement("doToString(builder, this, $N)", tracking);
         builder.addMethod(MethodSpec.methodBuilder("toString")
             .addModifiers(Modifier.PUBLIC)
             .returns(void.class)
             .addParameter(StringBuilder.class, "builder")
-            .addParameter(ParameterizedTypeName.get(Set.class, Object.class), "checked")
+            .addParameter(tracking)
             .addAnnotation(Override.class)
             .addCode(toString.build())
             .build());
+        if (iterative) {
+            builder.addMethod(MethodSpec.methodBuilder("toString")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(void.class)
+                .addParameter(StringBuilder.class, "builder")
+                .addParameter(checked)
+                .addAnnotation(Override.class)
+                .addCode(CodeBlock.builder().addStatement(
+                    "$T.toString(this, $T::toString, builder, $L)",
+                    WorkStack.class, template, recursive ? "checked" : "null"
+                ).build())
+                .build());
+        }
     }
 }
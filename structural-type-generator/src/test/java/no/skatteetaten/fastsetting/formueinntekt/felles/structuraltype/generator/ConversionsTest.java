@@ -0,0 +1,151 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.Conversions;
+import org.junit.Test;
+
+public class ConversionsTest {
+
+    @Test
+    public void can_convert_null() {
+        assertThat(Conversions.booleanValue((Boolean) null)).isFalse();
+        assertThat(Conversions.intValue((Number) null)).isZero();
+        assertThat(Conversions.longValue((String) null)).isZero();
+        assertThat(Conversions.toInteger((Number) null)).isNull();
+        assertThat(Conversions.toDouble((String) null)).isNull();
+        assertThat(Conversions.toBigInteger((Number) null)).isNull();
+        assertThat(Conversions.toBigInteger((BigDecimal) null)).isNull();
+        assertThat(Conversions.toBigInteger((String) null)).isNull();
+        assertThat(Conversions.toBigDecimal((Number) null)).isNull();
+        assertThat(Conversions.toBigDecimal((Float) null)).isNull();
+        assertThat(Conversions.toNumber(null)).isNull();
+    }
+
+    @Test
+    public void can_cache_small_values() {
+        assertThat(Conversions.toBigInteger(-128L)).isSameAs(Conversions.toBigInteger(-128L));
+        assertThat(Conversions.toBigInteger(1024L)).isSameAs(Conversions.toBigInteger(1024L));
+        assertThat(Conversions.toBigInteger((Number) 42)).isSameAs(Conversions.toBigInteger(42L));
+        assertThat(Conversions.toBigInteger(-129L))
+            .isNotSameAs(Conversions.toBigInteger(-129L))
+            .isEqualTo(BigInteger.valueOf(-129));
+        assertThat(Conversions.toBigInteger(1025L))
+            .isNotSameAs(Conversions.toBigInteger(1025L))
+            .isEqualTo(BigInteger.valueOf(1025));
+        assertThat(Conversions.toBigDecimal(-128L)).isSameAs(Conversions.toBigDecimal(-128L));
+        assertThat(Conversions.toBigDecimal(1024L)).isSameAs(Conversions.toBigDecimal(1024L));
+        assertThat(Conversions.toBigDecimal(-129L))
+            .isNotSameAs(Conversions.toBigDecimal(-129L))
+            .isEqualTo(BigDecimal.valueOf(-129));
+        assertThat(Conversions.toBigDecimal(1025L))
+            .isNotSameAs(Conversions.toBigDecimal(1025L))
+            .isEqualTo(BigDecimal.valueOf(1025));
+    }
+
+    @Test
+    public void can_convert_big_integer() {
+        assertThat(Conversions.toBigInteger(new BigDecimal("1.5"))).isEqualTo(BigInteger.ONE);
+        assertThat(Conversions.toBigInteger((Number) new BigDecimal("2"))).isEqualTo(BigInteger.TWO);
+        assertThat(Conversions.toBigInteger((Number) Long.MIN_VALUE)).isEqualTo(BigInteger.valueOf(Long.MIN_VALUE));
+        BigInteger large = BigInteger.TWO.pow(100);
+        assertThat(Conversions.toBigInteger((Number) large)).isSameAs(large);
+        assertThatThrownBy(() -> Conversions.toBigInteger((Number) new BigDecimal("1.5")))
+            .isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Conversions.toBigInteger((Number) 1.5d))
+            .isInstanceOf(NumberFormatException.class);
+        for (Number value : Arrays.<Number>asList(
+            42, 42L, (short) 42, (byte) 42, 42f, 42d, 1.5d, large,
+            new BigDecimal("42"), new BigDecimal("1.5"), new BigDecimal("1E+3"), new BigDecimal("-0")
+        )) {
+            boolean convertible;
+            try {
+                Conversions.toBigInteger(value);
+                convertible = true;
+            } catch (NumberFormatException ignored) {
+                convertible = false;
+            }
+            assertThat(Conversions.isBigInteger(value.toString())).as("%s", value).isEqualTo(convertible);
+        }
+    }
+
+    @Test
+    public void can_convert_big_decimal() {
+        assertThat(Conversions.toBigDecimal((Number) 0.1d)).isEqualTo(new BigDecimal("0.1"));
+        assertThat(Conversions.toBigDecimal((Number) 0.1f)).isEqualTo(new BigDecimal("0.1"));
+        assertThat(Conversions.toBigDecimal(0.1f)).isEqualTo(BigDecimal.valueOf(0.1f));
+        assertThat(Conversions.toBigDecimal((Number) BigInteger.TWO.pow(100)))
+            .isEqualTo(new BigDecimal(BigInteger.TWO.pow(100).toString()));
+        BigDecimal value = new BigDecimal("1.50");
+        assertThat(Conversions.toBigDecimal((Number) value)).isSameAs(value);
+        assertThat(Conversions.toBigDecimal((Number) 42L).scale()).isZero();
+    }
+
+    @Test
+    public void can_check_floating() {
+        for (String value : Arrays.asList(
+            "1", "-1.5", ".5", "5.", "1e5", "1E-5d", " 2.5f ", "NaN", "-Infinity", "e5", ".", "1e", "1.5x",
+            "0x1p3", "-0X1.8P-1", "0x.8p1f", " 0xAp0D ", "0x1", "0x1.8", "0xp1", "0x.p1", "0x1p", "0x1p+",
+            "0x1g1p1", "0x1p1.5", "0x1p1x", "0x\u0661p1", "0x"
+        )) {
+            boolean parsable;
+            try {
+                Double.parseDouble(value);
+                parsable = true;
+            } catch (NumberFormatException ignored) {
+                parsable = false;
+            }
+            assertThat(Conversions.isDouble(value)).as("%s", value).isEqualTo(parsable);
+            assertThat(Conversions.isFloat(value)).as("%s", value).isEqualTo(parsable);
+        }
+    }
+
+    @Test
+    public void can_check_temporal() {
+        for (String value : Arrays.asList(
+            "2020-02-29", "2021-02-28", "2021-02-29", "2021-02-30", "2021-04-31", "2021-13-01", "2021-00-10",
+            "+999999999-12-31", "+1000000000-01-01", "2021-1-01", "2021-01-01x"
+        )) {
+            assertThat(Conversions.isLocalDate(value)).as("%s", value).isEqualTo(isParsable(value, LocalDate::parse));
+        }
+        for (String value : Arrays.asList("00:00", "23:59:59.999999999", "24:00", "23:60", "23:59:60", "12:00:00.")) {
+            assertThat(Conversions.isLocalTime(value)).as("%s", value).isEqualTo(isParsable(value, LocalTime::parse));
+        }
+        for (String value : Arrays.asList("2021-02-28T10:15", "2021-02-30T10:15", "2021-02-28T25:15")) {
+            assertThat(Conversions.isLocalDateTime(value)).as("%s", value).isEqualTo(isParsable(value, LocalDateTime::parse));
+        }
+        for (String value : Arrays.asList("2021-02-28T10:15+01:00", "2021-02-29T10:15Z", "2021-02-28T10:15+19:00")) {
+            assertThat(Conversions.isOffsetDateTime(value)).as("%s", value).isEqualTo(isParsable(value, OffsetDateTime::parse));
+        }
+        for (String value : Arrays.asList("10:15+01:00", "10:15+18:01", "10:61Z")) {
+            assertThat(Conversions.isOffsetTime(value)).as("%s", value).isEqualTo(isParsable(value, OffsetTime::parse));
+        }
+        for (String value : Arrays.asList(
+            "2021-02-28T10:15+01:00[Europe/Oslo]", "2021-02-30T10:15+01:00[Europe/Oslo]", "2021-02-28T10:15+01:00[Nowhere/Void]"
+        )) {
+            assertThat(Conversions.isZonedDateTime(value)).as("%s", value).isEqualTo(isParsable(value, ZonedDateTime::parse));
+        }
+    }
+
+    private static boolean isParsable(String value, Function<String, ?> parser) {
+        try {
+            parser.apply(value);
+            return true;
+        } catch (DateTimeException ignored) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CostAwareTypeResolverTest {
+
+    @Test
+    public void can_resolve_general_type_without_weights() {
+        assertThat(new CostAwareTypeResolver().merge(Set.of(LocalDate.class, String.class))).isEqualTo(String.class);
+    }
+
+    @Test
+    public void does_not_resolve_lossy_type_despite_weight() {
+        assertThat(new CostAwareTypeResolver()
+            .withWeight(LocalDate.class, 99)
+            .merge(Set.of(LocalDate.class, String.class))).isEqualTo(String.class);
+        assertThat(new CostAwareTypeResolver()
+            .withWeight(int.class, 99)
+            .merge(Set.of(int.class, BigDecimal.class))).isEqualTo(BigDecimal.class);
+        assertThat(new CostAwareTypeResolver()
+            .withWeight(int.class, 99)
+            .merge(Set.of(int.class, String.class))).isEqualTo(String.class);
+    }
+
+    @Test
+    public void does_not_resolve_lossy_type_despite_cost() {
+        assertThat(new CostAwareTypeResolver()
+            .withCost(String.class, LocalDateTime.class, 10)
+            .merge(Set.of(LocalDate.class, LocalDateTime.class, String.class))).isEqualTo(String.class);
+        assertThat(new CostAwareTypeResolver()
+            .withCost(LocalDateTime.class, LocalDate.class, 0)
+            .withCost(LocalDate.class, LocalDateTime.class, 10)
+            .merge(Set.of(LocalDate.class, LocalDateTime.class))).isEqualTo(new SimpleTypeResolver().merge(Set.of(LocalDate.class, LocalDateTime.class)));
+    }
+
+    @Test
+    public void does_not_resolve_type_without_conversion() {
+        assertThat(new CostAwareTypeResolver()
+            .withWeight(LocalDate.class, 99)
+            .merge(Set.of(LocalDate.class, int.class))).isEqualTo(String.class);
+    }
+
+    @Test
+    public void can_report_resolution() {
+        List<CostAwareTypeResolver.Resolution> resolutions = new ArrayList<>();
+        new CostAwareTypeResolver()
+            .withWeight(LocalDate.class, 3)
+            .withReporter(resolutions::add)
+            .merge(Set.of(LocalDate.class, String.class));
+        assertThat(resolutions).hasSize(1);
+        assertThat(resolutions.get(0).getTypes()).containsExactlyInAnyOrder(LocalDate.class, String.class);
+        assertThat(resolutions.get(0).getType()).isEqualTo(String.class);
+        assertThat(resolutions.get(0).getCost()).isEqualTo(6d);
+    }
+}
@@ -0,0 +1,42 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.Fingerprint;
+import org.junit.Test;
+
+public class FingerprintTest {
+
+    @Test
+    public void can_fingerprint_equal_calendars() throws Exception {
+        DatatypeFactory factory = DatatypeFactory.newInstance();
+        XMLGregorianCalendar calendar = factory.newXMLGregorianCalendar("2020-01-01T12:00:00.5+01:00"),
+            other = factory.newXMLGregorianCalendar("2020-01-01T11:00:00.500Z");
+        assertThat(calendar).isEqualTo(other);
+        assertThat(calendar.toString()).isNotEqualTo(other.toString());
+        assertThat(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", calendar))
+            .isEqualTo(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", other));
+        assertThat(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", calendar))
+            .isNotEqualTo(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", factory.newXMLGregorianCalendar("2020-01-01T12:00:00.5Z")));
+        assertThat(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", factory.newXMLGregorianCalendar("2020-01-01T12:00:00")))
+            .isNotEqualTo(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", factory.newXMLGregorianCalendar("2020-01-01T12:00:00Z")));
+    }
+
+    @Test
+    public void can_fingerprint_equal_durations() throws Exception {
+        DatatypeFactory factory = DatatypeFactory.newInstance();
+        assertThat(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", factory.newDuration("PT60S")))
+            .isEqualTo(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", factory.newDuration("PT1M")));
+    }
+
+    @Test
+    public void can_fingerprint_dates() {
+        assertThat(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", new Date(42)))
+            .isEqualTo(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", new Date(42)))
+            .isNotEqualTo(Fingerprint.ofValue(Fingerprint.INITIAL, "foo", new Date(43)));
+    }
+}
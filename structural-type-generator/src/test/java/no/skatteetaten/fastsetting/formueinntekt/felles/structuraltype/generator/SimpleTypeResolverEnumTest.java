@@ -0,0 +1,157 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.lang.model.element.Modifier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+
+public class SimpleTypeResolverEnumTest {
+
+    private Function<Map<ClassName, JavaFile>, List<Class<?>>> compiler;
+
+    @Before
+    public void setUp() {
+        compiler = new InMemoryCompiler();
+    }
+
+    @Test
+    public void can_resolve_constant_by_name() throws Throwable {
+        Class<?> sample = sample(new SimpleTypeResolver());
+        assertThat(convert(sample, "FOO")).isEqualTo(Valued.FOO);
+        assertThat(convert(sample, "BAR")).isEqualTo(Valued.BAR);
+        assertThat(convert(sample, null)).isNull();
+        assertThatThrownBy(() -> convert(sample, "foo")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(check(sample, "FOO")).isTrue();
+        assertThat(check(sample, "foo")).isFalse();
+        assertThat(check(sample, null)).isTrue();
+    }
+
+    @Test
+    public void can_resolve_constant_by_value() throws Throwable {
+        Class<?> sample = sample(new SimpleTypeResolver(new ValueHandler(true)));
+        assertThat(convert(sample, "foo")).isEqualTo(Valued.FOO);
+        assertThat(convert(sample, "bar")).isEqualTo(Valued.BAR);
+        assertThat(convert(sample, null)).isNull();
+        assertThatThrownBy(() -> convert(sample, "FOO")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(check(sample, "foo")).isTrue();
+        assertThat(check(sample, "FOO")).isFalse();
+        assertThat(check(sample, null)).isTrue();
+    }
+
+    @Test
+    public void can_resolve_constant_by_custom_deserializer() throws Throwable {
+        Class<?> sample = sample(new SimpleTypeResolver(new ValueHandler(false)));
+        assertThat(convert(sample, "foo")).isEqualTo(Valued.FOO);
+        assertThat(convert(sample, "BAR")).isEqualTo(Valued.BAR);
+        assertThat(convert(sample, null)).isNull();
+        assertThatThrownBy(() -> convert(sample, "qux")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(sample.getMethods()).noneMatch(method -> method.getName().equals("check"));
+    }
+
+    private Class<?> sample(SimpleTypeResolver typeResolver) {
+        CodeBlock value = CodeBlock.builder().add("value").build();
+        TypeSpec.Builder builder = TypeSpec.classBuilder(ClassName.get(SimpleTypeResolverEnumTest.class.getPackageName(), "Sample"))
+            .addModifiers(Modifier.PUBLIC)
+            .addMethod(MethodSpec.methodBuilder("convert")
+                .returns(Valued.class)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(String.class, "value")
+                .addStatement("return $L", typeResolver.convert(String.class, Valued.class, value).orElseThrow())
+                .build());
+        typeResolver.check(String.class, Valued.class, value).ifPresent(check -> builder.addMethod(MethodSpec.methodBuilder("check")
+            .returns(boolean.class)
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addParameter(String.class, "value")
+            .addStatement("return $L", check)
+            .build()));
+        List<Class<?>> types = compiler.apply(Collections.singletonMap(
+            ClassName.get(SimpleTypeResolverEnumTest.class.getPackageName(), "Sample"),
+            JavaFile.builder(SimpleTypeResolverEnumTest.class.getPackageName(), builder.build()).skipJavaLangImports(true).build()
+        ));
+
+        assertThat(types).hasSize(1);
+
+        return types.get(0);
+    }
+
+    private static Object convert(Class<?> sample, String value) throws Throwable {
+        return invoke(sample.getMethod("convert", String.class), value);
+    }
+
+    private static boolean check(Class<?> sample, String value) throws Throwable {
+        return (Boolean) invoke(sample.getMethod("check", String.class), value);
+    }
+
+    private static Object invoke(Method method, String value) throws Throwable {
+        try {
+            return method.invoke(null, value);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    public enum Valued {
+
+        FOO("foo"),
+        BAR("bar");
+
+        private final String value;
+
+        Valued(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        public static Valued parse(String value) {
+            for (Valued constant : values()) {
+                if (constant.value.equalsIgnoreCase(value)) {
+                    return constant;
+                }
+            }
+            throw new IllegalArgumentException(value);
+        }
+    }
+
+    private static class ValueHandler implements SimpleTypeResolver.EnumHandler {
+
+        private final boolean symmetric;
+
+        private ValueHandler(boolean symmetric) {
+            this.symmetric = symmetric;
+        }
+
+        @Override
+        public String serializer(Class<?> type) {
+            return "value";
+        }
+
+        @Override
+        public String deserializer(Class<?> type) {
+            return "parse";
+        }
+
+        @Override
+        public boolean isSymmetric(Class<?> type) {
+            return symmetric;
+        }
+    }
+}
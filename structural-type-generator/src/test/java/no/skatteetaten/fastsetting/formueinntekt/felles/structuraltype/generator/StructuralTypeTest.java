@@ -4,9 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.api.*;
 import no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.sample.*;
@@ -1130,6 +1137,65 @@ public class StructuralTypeTest {
         assertThat(get("getFoo", template)).isEqualTo(enumerationConstantOf(types, SampleEnumFoo.class, "FOO"));
     }
 
+    @Test
+    public void can_unwrap_enumeration() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().make(
+            SampleEnumLeafFoo.class,
+            SampleEnumLeafOtherFoo.class
+        ));
+
+        Class<?> enumeration = enumerationOf(types, SampleEnumFoo.class);
+        Method unwrap = enumeration.getMethod("unwrap", enumeration, Class.class);
+        assertThat(unwrap.invoke(null, enumerationConstantOf(types, SampleEnumFoo.class, "FOO"), SampleEnumFoo.class))
+            .isEqualTo(SampleEnumFoo.FOO);
+        assertThat(unwrap.invoke(null, enumerationConstantOf(types, SampleEnumFoo.class, "FOO"), SampleEnumOtherFoo.class))
+            .isEqualTo(SampleEnumOtherFoo.FOO);
+        assertThat(unwrap.invoke(null, enumerationConstantOf(types, SampleEnumFoo.class, "QUX"), SampleEnumOtherFoo.class))
+            .isEqualTo(SampleEnumOtherFoo.QUX);
+        assertThat(unwrap.invoke(null, enumerationConstantOf(types, SampleEnumFoo.class, "QUX"), SampleEnumFoo.class)).isNull();
+        assertThat(unwrap.invoke(null, enumerationConstantOf(types, SampleEnumFoo.class, "BAR"), SampleEnumOtherFoo.class)).isNull();
+        assertThat(unwrap.invoke(null, null, SampleEnumFoo.class)).isNull();
+        assertThatThrownBy(() -> unwrap.invoke(null, enumerationConstantOf(types, SampleEnumFoo.class, "FOO"), PropertyDefinition.class))
+            .isInstanceOf(InvocationTargetException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void can_resolve_reserved_nested_names() {
+        NamingStrategy namingStrategy = new CommonPrefixNamingStrategy();
+        List<Class<?>> types = compiler.apply(new StructuralType().withNamingStrategy(new NamingStrategy() {
+            @Override
+            public ClassName structure(Collection<Class<?>> types, boolean enumeration, Predicate<ClassName> used) {
+                return ClassName.get(namingStrategy.structure(types, enumeration, used).packageName(), enumeration ? "Unwrapping" : "Dispatch");
+            }
+
+            @Override
+            public ClassName projection(ClassName structure, Class<?> type, boolean expansion, Predicate<ClassName> used) {
+                return namingStrategy.projection(structure, type, expansion, used);
+            }
+
+            @Override
+            public ClassName template(ClassName structure, Predicate<ClassName> used) {
+                return namingStrategy.template(structure, used);
+            }
+        }).withFeatures(FeatureGeneration.values()).make(
+            SampleEnumLeafFoo.class,
+            SampleEnumLeafOtherFoo.class
+        ));
+
+        assertThat(structureOf(types, SampleEnumLeafFoo.class).getSimpleName()).isEqualTo("Dispatch");
+        assertThat(structureOf(types, SampleEnumLeafFoo.class).getDeclaredClasses()).isEmpty();
+        assertThat(types)
+            .filteredOn(type -> type.getSimpleName().equals("DispatchDispatch"))
+            .singleElement()
+            .satisfies(type -> assertThat(type.getPackageName()).isEqualTo(structureOf(types, SampleEnumLeafFoo.class).getPackageName()))
+            .satisfies(type -> assertThat(Modifier.isPublic(type.getModifiers())).isFalse());
+        assertThat(enumerationOf(types, SampleEnumFoo.class).getSimpleName()).isEqualTo("Unwrapping");
+        assertThat(enumerationOf(types, SampleEnumFoo.class).getDeclaredClasses())
+            .extracting(Class::getSimpleName)
+            .contains("Unwrapping0");
+    }
+
     @Test
     public void can_resolve_single_enum_leaf_and_optional_enum_leaf() {
         List<Class<?>> types = compiler.apply(new StructuralType().withStructuralResolver(new SimpleStructuralResolver(
@@ -4859,6 +4925,1164 @@ public class StructuralTypeTest {
             .hasRootCauseMessage("foo");
     }
 
+    @Test
+    public void can_resolve_list_adapter_typed_leaf() {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.HASHCODE_EQUALS,
+            FeatureGeneration.TO_STRING,
+            FeatureGeneration.LIST_ADAPTER
+        ).make(
+            SampleTypedLeafFoo.class,
+            SampleTypedLeafOtherIntegerListFoo.class
+        ));
+
+        assertThat(projectionOf(types, SampleTypedLeafFoo.class))
+            .hasOnlyDeclaredFields("delegate", "fooList")
+            .satisfies(type -> assertThat(type.getDeclaredClasses()).hasSize(1));
+
+        assertThat(projectionOf(types, SampleTypedLeafOtherIntegerListFoo.class))
+            .hasOnlyDeclaredFields("delegate", "fooList")
+            .satisfies(type -> assertThat(type.getDeclaredClasses()).hasSize(2));
+
+        SampleTypedLeafFoo foo = new SampleTypedLeafFoo();
+        Object fooProjection = projectionInstanceOf(types, foo);
+        assertThat(getList("getFoo", fooProjection)).isEmpty();
+        assertThat(getList("getFoo", fooProjection))
+            .isSameAs(getList("getFoo", fooProjection))
+            .isInstanceOf(RandomAccess.class);
+        foo.setFoo("foo");
+        assertThat(getList("getFoo", fooProjection)).containsExactly("foo");
+        getList("getFoo", fooProjection).set(0, "bar");
+        assertThat(foo.getFoo()).isEqualTo("bar");
+        getList("getFoo", fooProjection).add("nothing");
+        assertThat(getList("getFoo", fooProjection)).containsExactly("bar");
+        getList("getFoo", fooProjection).remove(0);
+        assertThat(foo.getFoo()).isNull();
+        assertThat(getList("getFoo", fooProjection)).isEmpty();
+
+        SampleTypedLeafOtherIntegerListFoo other = new SampleTypedLeafOtherIntegerListFoo();
+        Object otherProjection = projectionInstanceOf(types, other);
+        assertThat(getList("getFoo", otherProjection)).isEmpty();
+        other.getFoo().add(42);
+        assertThat(getList("getFoo", otherProjection)).containsExactly("42");
+        getList("getFoo", otherProjection).set(0, "21");
+        assertThat(other.getFoo()).containsExactly(21);
+        getList("getFoo", otherProjection).add("84");
+        assertThat(other.getFoo()).containsExactly(21, 84);
+        assertThat(getList("getFoo", otherProjection).remove(0)).isEqualTo("21");
+        assertThat(getList("getFoo", otherProjection)).containsExactly("84");
+        assertThat(getList("getFoo", otherProjection).parallelStream()).containsExactly("84");
+        assertThat(getList("getFoo", fooProjection).spliterator().estimateSize()).isZero();
+        assertThat(getList("getFoo", otherProjection))
+            .isSameAs(getList("getFoo", otherProjection))
+            .isInstanceOf(RandomAccess.class);
+        other.setFoo(new LinkedList<>(other.getFoo()));
+        assertThat(getList("getFoo", otherProjection))
+            .isNotInstanceOf(RandomAccess.class)
+            .containsExactly("84");
+        assertThat(getList("getFoo", otherProjection)).isSameAs(getList("getFoo", otherProjection));
+    }
+
+    @Test
+    public void can_resolve_list_adapter_sequential_access() {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.LIST_ADAPTER
+        ).make(
+            SampleTypedLeafFoo.class,
+            SampleTypedLeafOtherIntegerListFoo.class
+        ));
+
+        SampleTypedLeafOtherIntegerListFoo other = new SampleTypedLeafOtherIntegerListFoo();
+        other.setFoo(new LinkedList<>(List.of(1, 2, 3)) {
+            @Override
+            public Integer get(int index) {
+                throw new AssertionError("Unexpected indexed access");
+            }
+
+            @Override
+            public Integer set(int index, Integer element) {
+                throw new AssertionError("Unexpected indexed access");
+            }
+
+            @Override
+            public Integer remove(int index) {
+                throw new AssertionError("Unexpected indexed access");
+            }
+        });
+        List<Object> list = getList("getFoo", projectionInstanceOf(types, other));
+        assertThat(list).isNotInstanceOf(RandomAccess.class);
+
+        List<Object> values = new ArrayList<>();
+        for (Object value : list) {
+            values.add(value);
+        }
+        assertThat(values).containsExactly("1", "2", "3");
+        assertThat(list).contains("2").doesNotContain("4");
+        assertThat(list.indexOf("3")).isEqualTo(2);
+
+        ListIterator<Object> iterator = list.listIterator();
+        iterator.next();
+        iterator.set("4");
+        iterator.next();
+        iterator.remove();
+        assertThat(other.getFoo()).containsExactly(4, 3);
+
+        assertThat(list.addAll(List.of("5", "1"))).isTrue();
+        assertThat(list.addAll(0, List.of("6"))).isTrue();
+        assertThat(other.getFoo()).containsExactly(6, 4, 3, 5, 1);
+
+        assertThat(list.removeIf(value -> value.equals("3"))).isTrue();
+        assertThat(list.removeAll(List.of("5"))).isTrue();
+        assertThat(other.getFoo()).containsExactly(6, 4, 1);
+
+        list.replaceAll(value -> value + "0");
+        assertThat(other.getFoo()).containsExactly(60, 40, 10);
+
+        list.sort(null);
+        assertThat(other.getFoo()).containsExactly(10, 40, 60);
+
+        assertThat(list.retainAll(List.of("40"))).isTrue();
+        assertThat(other.getFoo()).containsExactly(40);
+
+        list.clear();
+        assertThat(other.getFoo()).isEmpty();
+    }
+
+    @Test
+    public void can_resolve_list_adapter_enum_leaf() {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.LIST_ADAPTER
+        ).make(
+            SampleEnumLeafListFoo.class,
+            SampleEnumLeafOtherFoo.class
+        ));
+
+        SampleEnumLeafListFoo leaf = new SampleEnumLeafListFoo();
+        Object leafProjection = projectionInstanceOf(types, leaf);
+        getList("getFoo", leafProjection).add(enumerationConstantOf(types, SampleEnumFoo.class, "FOO"));
+        assertThat(leaf.getFoo()).containsExactly(SampleEnumFoo.FOO);
+        getList("getFoo", leafProjection).add(enumerationConstantOf(types, SampleEnumFoo.class, "QUX"));
+        assertThat(getList("getFoo", leafProjection)).containsExactly(
+            enumerationConstantOf(types, SampleEnumFoo.class, "FOO"));
+
+        SampleEnumLeafOtherFoo leafOther = new SampleEnumLeafOtherFoo();
+        Object leafOtherProjection = projectionInstanceOf(types, leafOther);
+        getList("getFoo", leafOtherProjection).add(enumerationConstantOf(types, SampleEnumFoo.class, "QUX"));
+        assertThat(leafOther.getFoo()).isEqualTo(SampleEnumOtherFoo.QUX);
+    }
+
+    @Test
+    public void can_resolve_list_adapter_branch() {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.LIST_ADAPTER
+        ).make(
+            SampleBranchFoo.class,
+            SampleBranchOtherListFoo.class
+        ));
+
+        SampleBranchFoo branch = new SampleBranchFoo();
+        Object branchProjection = projectionInstanceOf(types, branch);
+        assertThat(getList("getFoo", branchProjection)).isEmpty();
+        Object branchFooProjection = projectionInstanceOf(types, new SampleTypedLeafFoo());
+        getList("getFoo", branchProjection).add(branchFooProjection);
+        assertThat(getList("getFoo", branchProjection))
+            .hasSize(1)
+            .allSatisfy(element -> assertThat(element).isInstanceOf(projectionOf(types, SampleTypedLeafFoo.class)));
+
+        SampleBranchOtherListFoo other = new SampleBranchOtherListFoo();
+        Object otherProjection = projectionInstanceOf(types, other);
+        Object otherFooProjection = projectionInstanceOf(types, new SampleTypedLeafOtherFoo());
+        getList("getFoo", otherProjection).add(otherFooProjection);
+        assertThat(other.getFoo()).hasSize(1);
+        assertThat(getList("getFoo", otherProjection))
+            .hasSize(1)
+            .allSatisfy(element -> assertThat(element).isInstanceOf(projectionOf(types, SampleTypedLeafOtherFoo.class)));
+    }
+
+    @Test
+    public void can_resolve_list_typed_leaf_bulk_operations() {
+        List<Class<?>> types = compiler.apply(new StructuralType().make(
+            SampleTypedLeafListFoo.class,
+            SampleTypedLeafOtherIntegerListFoo.class
+        ));
+
+        SampleTypedLeafOtherIntegerListFoo other = new SampleTypedLeafOtherIntegerListFoo();
+        Object otherProjection = projectionInstanceOf(types, other);
+        assertThat(getList("getFoo", otherProjection)).isInstanceOf(RandomAccess.class);
+        getList("getFoo", otherProjection).addAll(Arrays.asList("3", "1", "2"));
+        assertThat(other.getFoo()).containsExactly(3, 1, 2);
+        getList("getFoo", otherProjection).sort(null);
+        assertThat(other.getFoo()).containsExactly(1, 2, 3);
+
+        other.setFoo(new LinkedList<>(other.getFoo()));
+        List<String> linked = getList("getFoo", otherProjection);
+        assertThat(linked).isNotInstanceOf(RandomAccess.class);
+        linked.addAll(1, Arrays.asList("4", "5"));
+        assertThat(other.getFoo()).containsExactly(1, 4, 5, 2, 3);
+        assertThat(linked.removeIf(value -> Integer.parseInt(value) > 3)).isTrue();
+        assertThat(other.getFoo()).containsExactly(1, 2, 3);
+        linked.replaceAll(value -> value.equals("2") ? null : value + "0");
+        assertThat(other.getFoo()).containsExactly(10, 30);
+        ListIterator<String> iterator = linked.listIterator();
+        assertThat(iterator.next()).isEqualTo("10");
+        iterator.set("20");
+        iterator.add("25");
+        assertThat(iterator.next()).isEqualTo("30");
+        iterator.remove();
+        assertThat(other.getFoo()).containsExactly(20, 25);
+        linked.sort(Comparator.reverseOrder());
+        assertThat(other.getFoo()).containsExactly(25, 20);
+        linked.clear();
+        assertThat(other.getFoo()).isEmpty();
+    }
+
+    @Test
+    public void can_resolve_list_typed_leaf_null_replacement() {
+        List<Class<?>> types = compiler.apply(new StructuralType().make(
+            SampleTypedLeafListFoo.class,
+            SampleTypedLeafOtherIntegerListFoo.class
+        ));
+
+        UnaryOperator<String> operator = value -> value.equals("2") ? null : value + "0";
+
+        SampleTypedLeafOtherIntegerListFoo set = new SampleTypedLeafOtherIntegerListFoo();
+        set.setFoo(new ArrayList<>(List.of(1, 2, 3)));
+        List<String> setList = getList("getFoo", projectionInstanceOf(types, set));
+        for (int index = setList.size() - 1; index >= 0; index--) {
+            setList.set(index, operator.apply(setList.get(index)));
+        }
+
+        SampleTypedLeafOtherIntegerListFoo iterated = new SampleTypedLeafOtherIntegerListFoo();
+        iterated.setFoo(new LinkedList<>(List.of(1, 2, 3)));
+        ListIterator<String> iterator = StructuralTypeTest.<String>getList("getFoo", projectionInstanceOf(types, iterated)).listIterator();
+        while (iterator.hasNext()) {
+            iterator.set(operator.apply(iterator.next()));
+        }
+
+        SampleTypedLeafOtherIntegerListFoo replaced = new SampleTypedLeafOtherIntegerListFoo();
+        replaced.setFoo(new ArrayList<>(List.of(1, 2, 3)));
+        StructuralTypeTest.<String>getList("getFoo", projectionInstanceOf(types, replaced)).replaceAll(operator);
+
+        assertThat(set.getFoo()).containsExactly(10, 30);
+        assertThat(iterated.getFoo()).isEqualTo(set.getFoo());
+        assertThat(replaced.getFoo()).isEqualTo(set.getFoo());
+    }
+
+    @Test
+    public void can_resolve_list_typed_leaf_spliterator() {
+        List<Class<?>> types = compiler.apply(new StructuralType().make(
+            SampleTypedLeafFoo.class,
+            SampleTypedLeafOtherIntegerListFoo.class
+        ));
+
+        SampleTypedLeafOtherIntegerListFoo other = new SampleTypedLeafOtherIntegerListFoo();
+        other.setFoo(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+        Object otherProjection = projectionInstanceOf(types, other);
+        Spliterator<String> spliterator = StructuralTypeTest.<String>getList("getFoo", otherProjection).spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED)).isTrue();
+        assertThat(spliterator.trySplit()).isNotNull();
+        assertThat(StructuralTypeTest.<String>getList("getFoo", otherProjection).parallelStream().mapToInt(Integer::parseInt).toArray())
+            .isEqualTo(IntStream.range(0, 10_000).toArray());
+
+        SampleTypedLeafFoo foo = new SampleTypedLeafFoo();
+        Object fooProjection = projectionInstanceOf(types, foo);
+        assertThat(getList("getFoo", fooProjection).spliterator().estimateSize()).isZero();
+        foo.setFoo("foo");
+        assertThat(StructuralTypeTest.<String>getList("getFoo", fooProjection).spliterator().hasCharacteristics(Spliterator.SIZED)).isTrue();
+        assertThat(getList("getFoo", fooProjection).parallelStream()).containsExactly("foo");
+    }
+
+    @Test
+    public void can_resolve_list_typed_leaf_primitive() {
+        List<Class<?>> types = compiler.apply(new StructuralType().withProperties(PropertyGeneration.values()).make(
+            SampleTypedLeafOtherIntegerListFoo.class
+        ));
+
+        assertThat(structureOf(types, SampleTypedLeafOtherIntegerListFoo.class))
+            .hasDeclaredMethods("getFoo", "getFooAsInts", "getFooAsLongs", "getFooAsDoubles")
+            .isInterface();
+
+        assertThat(projectionOf(types, SampleTypedLeafOtherIntegerListFoo.class))
+            .hasOnlyDeclaredFields("delegate")
+            .hasDeclaredMethods("getFooAsInts", "getFooAsLongs", "getFooAsDoubles");
+
+        SampleTypedLeafOtherIntegerListFoo other = new SampleTypedLeafOtherIntegerListFoo();
+        Object otherProjection = projectionInstanceOf(types, other);
+        assertThat(((IntProjectingList) get("getFooAsInts", otherProjection)).toIntArray()).isEmpty();
+        other.setFoo(new ArrayList<>(List.of(1, 2, 3)));
+        IntProjectingList ints = (IntProjectingList) get("getFooAsInts", otherProjection);
+        assertThat(ints.getInt(1)).isEqualTo(2);
+        assertThat(ints.intStream().sum()).isEqualTo(6);
+        assertThat(ints).containsExactly(1, 2, 3);
+        PrimitiveIterator.OfInt iterator = ints.intIterator();
+        assertThat(iterator.nextInt()).isEqualTo(1);
+        assertThat(((LongProjectingList) get("getFooAsLongs", otherProjection)).toLongArray()).containsExactly(1L, 2L, 3L);
+        other.getFoo().add(4);
+        assertThat(((DoubleProjectingList) get("getFooAsDoubles", otherProjection)).doubleStream().sum()).isEqualTo(10d);
+
+        Object template = templateInstanceOf(types, SampleTypedLeafOtherIntegerListFoo.class);
+        assertThat(((LongProjectingList) get("getFooAsLongs", template)).longStream().sum()).isZero();
+        getList("getFoo", template).add(42);
+        assertThat(((LongProjectingList) get("getFooAsLongs", template)).getLong(0)).isEqualTo(42L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void can_resolve_branch_cursor() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(FeatureGeneration.values()).make(
+            SampleBranchFoo.class
+        ));
+
+        Class<?> cursorType = Arrays.stream(projectionOf(types, SampleBranchFoo.class).getDeclaredClasses())
+            .filter(type -> type.getSimpleName().equals("Cursor"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Cannot find cursor"));
+        assertThat(cursorType)
+            .satisfies(type -> assertThat(Rebindable.class.isAssignableFrom(type)).isTrue())
+            .satisfies(type -> assertThat(projectionOf(types, SampleBranchFoo.class).isAssignableFrom(type)).isTrue())
+            .isPublic();
+
+        List<SampleBranchFoo> foos = IntStream.range(0, 3).mapToObj(index -> {
+            SampleTypedLeafFoo leaf = new SampleTypedLeafFoo();
+            leaf.setFoo("foo" + index);
+            SampleBranchFoo foo = new SampleBranchFoo();
+            foo.setFoo(leaf);
+            return foo;
+        }).collect(Collectors.toList());
+        Rebindable<Object, Object> cursor = (Rebindable<Object, Object>) cursorType.getConstructor().newInstance();
+        List<Object> values = new ArrayList<>();
+        Rebindable.forEach(foos, cursor, projection -> values.add(get("getFoo", get("getFoo", projection))));
+        assertThat(values).containsExactly("foo0", "foo1", "foo2");
+        assertThat(Rebindable.iterate(foos, cursor)).hasSize(3).allSatisfy(projection -> assertThat(projection).isSameAs(cursor));
+
+        assertThat(Modifier.isFinal(projectionOf(types, SampleBranchFoo.class).getDeclaredField("delegate").getModifiers())).isTrue();
+        Object projection = projectionInstanceOf(types, foos.get(0)), other = cursorType.getConstructor().newInstance();
+        assertThat(cursor.rebind(foos.get(0)))
+            .isNotEqualTo(projection)
+            .isEqualTo(((Rebindable<Object, Object>) other).rebind(foos.get(0)))
+            .hasSameHashCodeAs(projection);
+
+        cursorType.getMethod("clearFoo").invoke(cursor.rebind(foos.get(1)));
+        assertThat(foos.get(1).getFoo()).isNull();
+        assertThat(foos.get(0).getFoo()).isNotNull();
+    }
+
+    @Test
+    public void can_assign_branch_cursor() throws Exception {
+        SampleTypedLeafFoo leaf = new SampleTypedLeafFoo(), other = new SampleTypedLeafFoo();
+        leaf.setFoo("foo");
+        other.setFoo("bar");
+
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(FeatureGeneration.COPY, FeatureGeneration.CURSOR).make(
+            SampleBranchFoo.class
+        ));
+        Rebindable<Object, Object> cursor = cursorOf(types, SampleTypedLeafFoo.class);
+        assertThat(projectionOf(types, SampleTypedLeafFoo.class).getMethod("unwrap", structureOf(types, SampleTypedLeafFoo.class))
+            .invoke(null, cursor.rebind(leaf))).isSameAs(leaf);
+
+        SampleBranchFoo foo = new SampleBranchFoo();
+        cursor.rebind(leaf);
+        set("setFoo", projectionInstanceOf(types, foo), cursor.rebind(other));
+        assertThat(foo.getFoo()).isSameAs(other);
+
+        types = compiler.apply(new StructuralType().withFeatures(FeatureGeneration.COPY, FeatureGeneration.CURSOR).make(
+            SampleBranchListFoo.class
+        ));
+        cursor = cursorOf(types, SampleTypedLeafFoo.class);
+        SampleBranchListFoo list = new SampleBranchListFoo();
+        list.setFoo(new ArrayList<>());
+        List<Object> projected = getList("getFoo", projectionInstanceOf(types, list));
+        projected.add(cursor.rebind(leaf));
+        projected.add(cursor.rebind(other));
+        assertThat(list.getFoo()).containsExactly(leaf, other);
+    }
+
+    @Test
+    public void can_resolve_branch_cache() {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.BRANCH_CACHE
+        ).make(
+            SampleBranchFoo.class
+        ));
+
+        assertThat(projectionOf(types, SampleBranchFoo.class))
+            .hasOnlyDeclaredFields("delegate", "fooCache");
+
+        SampleTypedLeafFoo leaf = new SampleTypedLeafFoo();
+        leaf.setFoo("foo");
+        SampleBranchFoo foo = new SampleBranchFoo();
+        foo.setFoo(leaf);
+        Object projection = projectionInstanceOf(types, foo);
+        Object nested = get("getFoo", projection);
+        assertThat(get("getFoo", nested)).isEqualTo("foo");
+        assertThat(get("getFoo", projection)).isSameAs(nested);
+
+        SampleTypedLeafFoo other = new SampleTypedLeafFoo();
+        other.setFoo("bar");
+        foo.setFoo(other);
+        assertThat(get("getFoo", projection)).isNotSameAs(nested);
+        assertThat(get("getFoo", get("getFoo", projection))).isEqualTo("bar");
+
+        foo.setFoo(null);
+        assertThat(get("getFoo", projection)).isNull();
+
+        set("setFoo", projection, nested);
+        assertThat(foo.getFoo()).isSameAs(leaf);
+        assertThat(get("getFoo", projection)).isNotNull().isNotSameAs(nested);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void can_resolve_static_access() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.STATIC_ACCESS
+        ).make(
+            SampleTypedLeafFoo.class,
+            SampleTypedLeafOtherIntegerListFoo.class
+        ));
+
+        Class<?> fooAccess = Class.forName(
+            projectionOf(types, SampleTypedLeafFoo.class).getName() + "$Access",
+            false,
+            projectionOf(types, SampleTypedLeafFoo.class).getClassLoader()
+        );
+        SampleTypedLeafFoo foo = new SampleTypedLeafFoo();
+        foo.setFoo("foo");
+        assertThat((List<Object>) fooAccess.getMethod("getFoo", SampleTypedLeafFoo.class).invoke(null, foo)).containsExactly("foo");
+
+        Class<?> otherAccess = Class.forName(
+            projectionOf(types, SampleTypedLeafOtherIntegerListFoo.class).getName() + "$Access",
+            false,
+            projectionOf(types, SampleTypedLeafOtherIntegerListFoo.class).getClassLoader()
+        );
+        SampleTypedLeafOtherIntegerListFoo other = new SampleTypedLeafOtherIntegerListFoo();
+        other.setFoo(new ArrayList<>(List.of(1, 2)));
+        assertThat((List<Object>) otherAccess.getMethod("getFoo", SampleTypedLeafOtherIntegerListFoo.class).invoke(null, other)).containsExactly("1", "2");
+    }
+
+    @Test
+    public void can_resolve_trial_sink() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().make(
+            SampleTypedLeafFoo.class,
+            SampleTypedLeafOtherIntegerFoo.class
+        ));
+
+        SampleTypedLeafOtherIntegerFoo other = new SampleTypedLeafOtherIntegerFoo();
+        Object projection = projectionInstanceOf(types, other);
+        Method trial = structureOf(types, SampleTypedLeafFoo.class).getMethod("trialFoo", String.class, TrialSink.class);
+        List<TrialFailure> failures = new ArrayList<>();
+        TrialSink<Object> sink = (target, property, failure, exception) -> {
+            assertThat(target).isSameAs(projection);
+            assertThat(property).isEqualTo("foo");
+            assertThat(exception.get())
+                .hasCauseInstanceOf(NumberFormatException.class)
+                .satisfies(value -> assertThat(value.getFailure()).isEqualTo(failure));
+            failures.add(failure);
+        };
+        assertThat(trial.invoke(projection, "42", sink)).isEqualTo(true);
+        assertThat(other.getFoo()).isEqualTo(42);
+        assertThat(trial.invoke(projection, "foo", sink)).isEqualTo(false);
+        assertThat(other.getFoo()).isEqualTo(42);
+        assertThat(failures).containsExactly(TrialFailure.CONVERSION);
+        assertThat(trial.invoke(projection, "bar", TrialSink.ignoring())).isEqualTo(false);
+        assertThatThrownBy(() -> {
+            try {
+                trial.invoke(projection, "bar", TrialSink.throwing());
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        }).isInstanceOf(TrialException.class)
+            .hasCauseInstanceOf(NumberFormatException.class)
+            .satisfies(exception -> assertThat(exception.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    public void can_resolve_setter_check() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withProperties(
+            PropertyGeneration.GETTER, PropertyGeneration.SETTER, PropertyGeneration.TRIAL, PropertyGeneration.CHECK
+        ).make(
+            SampleTypedLeafFoo.class,
+            SampleTypedLeafOtherIntegerFoo.class
+        ));
+
+        SampleTypedLeafOtherIntegerFoo other = new SampleTypedLeafOtherIntegerFoo();
+        Object projection = projectionInstanceOf(types, other);
+        Method check = structureOf(types, SampleTypedLeafFoo.class).getMethod("canSetFoo", String.class);
+        assertThat(check.invoke(projection, "42")).isEqualTo(true);
+        assertThat(check.invoke(projection, "-2147483648")).isEqualTo(true);
+        assertThat(check.invoke(projection, "2147483648")).isEqualTo(false);
+        assertThat(check.invoke(projection, "foo")).isEqualTo(false);
+        assertThat(check.invoke(projection, (Object) null)).isEqualTo(true);
+        assertThat(check.invoke(templateOf(types, SampleTypedLeafFoo.class).getConstructor().newInstance(), "foo")).isEqualTo(true);
+
+        Method trial = structureOf(types, SampleTypedLeafFoo.class).getMethod("trialFoo", String.class, TrialSink.class);
+        List<TrialFailure> failures = new ArrayList<>();
+        TrialSink<Object> sink = (target, property, failure, exception) -> {
+            assertThat(property).isEqualTo("foo");
+            assertThat(exception.get())
+                .hasNoCause()
+                .satisfies(value -> assertThat(value.getStackTrace()).isEmpty());
+            failures.add(failure);
+        };
+        assertThat(trial.invoke(projection, "42", sink)).isEqualTo(true);
+        assertThat(other.getFoo()).isEqualTo(42);
+        assertThat(trial.invoke(projection, "foo", sink)).isEqualTo(false);
+        assertThat(other.getFoo()).isEqualTo(42);
+        assertThat(failures).containsExactly(TrialFailure.CONVERSION);
+    }
+
+    @Test
+    public void can_resolve_enumerated_setter_check() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withProperties(
+            PropertyGeneration.GETTER, PropertyGeneration.SETTER, PropertyGeneration.TRIAL, PropertyGeneration.CHECK
+        ).make(
+            SampleEnumLeafFoo.class,
+            SampleEnumLeafOtherFoo.class
+        ));
+
+        Class<?> enumeration = enumerationOf(types, SampleEnumFoo.class);
+        Method check = structureOf(types, SampleEnumLeafFoo.class).getMethod("canSetFoo", enumeration);
+        Object projection = projectionInstanceOf(types, new SampleEnumLeafOtherFoo());
+        assertThat(check.invoke(projection, enumerationConstantOf(types, SampleEnumFoo.class, "FOO"))).isEqualTo(true);
+        assertThat(check.invoke(projection, enumerationConstantOf(types, SampleEnumFoo.class, "QUX"))).isEqualTo(true);
+        assertThat(check.invoke(projection, enumerationConstantOf(types, SampleEnumFoo.class, "BAR"))).isEqualTo(false);
+        assertThat(check.invoke(projection, (Object) null)).isEqualTo(true);
+
+        Method trial = structureOf(types, SampleEnumLeafFoo.class).getMethod("trialFoo", enumeration, TrialSink.class);
+        List<TrialFailure> failures = new ArrayList<>();
+        assertThat(trial.invoke(
+            projection,
+            enumerationConstantOf(types, SampleEnumFoo.class, "BAR"),
+            (TrialSink<Object>) (target, property, failure, exception) -> failures.add(failure)
+        )).isEqualTo(false);
+        assertThat(failures).containsExactly(TrialFailure.CONVERSION);
+    }
+
+    @Test
+    public void can_check_big_decimal() {
+        assertThat(Conversions.isBigDecimal("1")).isTrue();
+        assertThat(Conversions.isBigDecimal("-1.5")).isTrue();
+        assertThat(Conversions.isBigDecimal("+.5")).isTrue();
+        assertThat(Conversions.isBigDecimal("1.5e-5")).isTrue();
+        assertThat(Conversions.isBigDecimal("1E+5")).isTrue();
+        assertThat(Conversions.isBigDecimal("1e-2147483647")).isTrue();
+        assertThat(Conversions.isBigDecimal("")).isFalse();
+        assertThat(Conversions.isBigDecimal("-")).isFalse();
+        assertThat(Conversions.isBigDecimal(".")).isFalse();
+        assertThat(Conversions.isBigDecimal("1e")).isFalse();
+        assertThat(Conversions.isBigDecimal("1e-")).isFalse();
+        assertThat(Conversions.isBigDecimal("1e+-5")).isFalse();
+        assertThat(Conversions.isBigDecimal("1e-+5")).isFalse();
+        assertThat(Conversions.isBigDecimal("1e2147483648")).isFalse();
+        assertThat(Conversions.isBigDecimal("1e-2147483648")).isFalse();
+        for (String value : Arrays.asList("1", "-1.5", "+.5", "1.5e-5", "1E+5", "1e-2147483647")) {
+            assertThat(new BigDecimal(value)).isNotNull();
+        }
+        for (String value : Arrays.asList("", "-", ".", "1e", "1e-", "1e+-5", "1e-+5", "1e2147483648", "1e-2147483648")) {
+            assertThatThrownBy(() -> new BigDecimal(value)).isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    @Test
+    public void can_resolve_optional_nullable() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withProperties(
+            PropertyGeneration.GETTER, PropertyGeneration.SETTER, PropertyGeneration.NULLABLE
+        ).make(
+            SampleTypedLeafFoo.class,
+            SampleEmpty.class
+        ));
+
+        assertThat(projectionOf(types, SampleTypedLeafFoo.class)).hasDeclaredMethods("getFooOrNull");
+        assertThat(projectionOf(types, SampleEmpty.class)).hasDeclaredMethods("getFooOrNull");
+        assertThat(templateOf(types, SampleTypedLeafFoo.class)).hasDeclaredMethods("getFooOrNull");
+
+        Method orElse = structureOf(types, SampleTypedLeafFoo.class).getMethod("getFooOrElse", String.class);
+
+        SampleTypedLeafFoo foo = new SampleTypedLeafFoo();
+        Object fooProjection = projectionInstanceOf(types, foo);
+        assertThat(get("getFooOrNull", fooProjection)).isNull();
+        assertThat(orElse.invoke(fooProjection, "bar")).isEqualTo("bar");
+        foo.setFoo("foo");
+        assertThat(get("getFooOrNull", fooProjection)).isEqualTo("foo");
+        assertThat(orElse.invoke(fooProjection, "bar")).isEqualTo("foo");
+
+        Object emptyProjection = projectionInstanceOf(types, new SampleEmpty());
+        assertThat(get("getFooOrNull", emptyProjection)).isNull();
+        assertThat(orElse.invoke(emptyProjection, "bar")).isEqualTo("bar");
+
+        Object template = templateInstanceOf(types, SampleTypedLeafFoo.class);
+        assertThat(get("getFooOrNull", template)).isNull();
+        set("setFoo", template, "foo");
+        assertThat(get("getFooOrNull", template)).isEqualTo("foo");
+        assertThat(orElse.invoke(template, "bar")).isEqualTo("foo");
+    }
+
+    @Test
+    public void can_resolve_typed_leaf_primitive() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withProperties(
+            PropertyGeneration.GETTER, PropertyGeneration.SETTER, PropertyGeneration.PRIMITIVE
+        ).make(
+            SampleTypedLeafPrimitive.class,
+            SampleTypedLeafOtherIntegerFoo.class,
+            SampleEmpty.class
+        ));
+
+        assertThat(projectionOf(types, SampleTypedLeafPrimitive.class))
+            .hasDeclaredMethods("getFooAsInt", "getFooAsLong", "getFooAsDouble");
+
+        Method asInt = structureOf(types, SampleTypedLeafPrimitive.class).getMethod("getFooAsInt", int.class);
+        Method asLong = structureOf(types, SampleTypedLeafPrimitive.class).getMethod("getFooAsLong", long.class);
+        Method asDouble = structureOf(types, SampleTypedLeafPrimitive.class).getMethod("getFooAsDouble", double.class);
+
+        SampleTypedLeafPrimitive primitive = new SampleTypedLeafPrimitive();
+        primitive.setFoo(42);
+        Object primitiveProjection = projectionInstanceOf(types, primitive);
+        assertThat(asInt.invoke(primitiveProjection, -1)).isEqualTo(42);
+        assertThat(asLong.invoke(primitiveProjection, -1L)).isEqualTo(42L);
+        assertThat(asDouble.invoke(primitiveProjection, -1d)).isEqualTo(42d);
+
+        SampleTypedLeafOtherIntegerFoo other = new SampleTypedLeafOtherIntegerFoo();
+        Object otherProjection = projectionInstanceOf(types, other);
+        assertThat(asInt.invoke(otherProjection, -1)).isEqualTo(-1);
+        other.setFoo(84);
+        assertThat(asInt.invoke(otherProjection, -1)).isEqualTo(84);
+
+        Object emptyProjection = projectionInstanceOf(types, new SampleEmpty());
+        assertThat(asLong.invoke(emptyProjection, -1L)).isEqualTo(-1L);
+
+        Object template = templateInstanceOf(types, SampleTypedLeafPrimitive.class);
+        assertThat(asDouble.invoke(template, -1d)).isEqualTo(-1d);
+        set("setFoo", template, 21);
+        assertThat(asDouble.invoke(template, -1d)).isEqualTo(21d);
+    }
+
+    @Test
+    public void can_resolve_enum_leaf_expansion_flyweight() {
+        List<Class<?>> types = compiler.apply(new StructuralType().make(
+            SampleBranchFoo.class,
+            SampleEnumLeafFoo.class
+        ));
+
+        SampleEnumLeafFoo leaf = new SampleEnumLeafFoo();
+        Object leafProjection = projectionInstanceOf(types, leaf);
+        leaf.setFoo(SampleEnumFoo.BAR);
+        assertThat(get("getFoo", leafProjection)).isSameAs(get("getFoo", leafProjection));
+        leaf.setFoo(SampleEnumFoo.FOO);
+        assertThat(get("getFoo", leafProjection))
+            .isSameAs(get("getFoo", leafProjection))
+            .satisfies(value -> assertThat(getOptional("get", value))
+                .contains(enumerationConstantOf(types, SampleEnumFoo.class, "FOO")));
+        assertThat(expansionInstanceOf(types, SampleTypedLeafFoo.class, SampleEnumFoo.class, SampleEnumFoo.BAR))
+            .isSameAs(expansionInstanceOf(types, SampleTypedLeafFoo.class, SampleEnumFoo.class, SampleEnumFoo.BAR));
+    }
+
+    @Test
+    public void can_resolve_class_dispatch() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withStructuralResolver(type -> {
+            if (type.getPackageName().startsWith("no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype")) {
+                return Optional.of(new StructuralResolver.Branch<Field>() {
+                    @Override
+                    public Iterable<Field> getProperties() {
+                        return Arrays.asList(type.getDeclaredFields());
+                    }
+
+                    @Override
+                    public String getName(Field field) {
+                        return field.getName();
+                    }
+
+                    @Override
+                    public Class<?> getType(Field field) {
+                        return field.getType();
+                    }
+
+                    @Override
+                    public Optional<Class<?>> getSuperClass() {
+                        if (type == SampleSubLeftFoo.class || type == SampleSubRightFoo.class) {
+                            return Optional.of(SampleBaseFoo.class);
+                        } else {
+                            return Optional.empty();
+                        }
+                    }
+
+                    @Override
+                    public List<Class<?>> getSubClasses() {
+                        if (type == SampleBaseFoo.class) {
+                            return Arrays.asList(SampleSubLeftFoo.class, SampleSubRightFoo.class);
+                        } else {
+                            return Collections.emptyList();
+                        }
+                    }
+                });
+            } else {
+                return Optional.empty();
+            }
+        }).withFeatures(FeatureGeneration.FACTORY_ON_STRUCTURE, FeatureGeneration.CLASS_DISPATCH).make(SampleBaseFoo.class));
+
+        Method wrap = projectionOf(types, SampleBaseFoo.class).getMethod("wrap", SampleBaseFoo.class);
+        assertThat(wrap.invoke(null, (Object) null)).isNull();
+        assertThat(wrap.invoke(null, new SampleBaseFoo())).isExactlyInstanceOf(projectionOf(types, SampleBaseFoo.class));
+        assertThat(wrap.invoke(null, new SampleSubLeftFoo())).isExactlyInstanceOf(projectionOf(types, SampleSubLeftFoo.class));
+        assertThat(wrap.invoke(null, new SampleSubRightFoo())).isExactlyInstanceOf(projectionOf(types, SampleSubRightFoo.class));
+        assertThat(wrap.invoke(null, new SampleSubLeftFoo())).isExactlyInstanceOf(projectionOf(types, SampleSubLeftFoo.class));
+
+        Method ofAny = structureOf(types, SampleBaseFoo.class).getMethod("ofAny", Object.class);
+        assertThat((Optional<?>) ofAny.invoke(null, new SampleSubRightFoo()))
+            .containsInstanceOf(projectionOf(types, SampleSubRightFoo.class));
+        assertThat((Optional<?>) ofAny.invoke(null, new SampleBaseFoo()))
+            .containsInstanceOf(projectionOf(types, SampleBaseFoo.class));
+        assertThat((Optional<?>) ofAny.invoke(null, "foo")).isEmpty();
+
+        Method ofType = structureOf(types, SampleBaseFoo.class).getMethod("ofType", Class.class);
+        assertThat((Optional<?>) ofType.invoke(null, SampleSubLeftFoo.class))
+            .containsInstanceOf(projectionOf(types, SampleSubLeftFoo.class));
+        assertThat((Optional<?>) ofType.invoke(null, String.class)).isEmpty();
+
+        assertThat(structureOf(types, SampleBaseFoo.class).getDeclaredClasses()).isEmpty();
+        assertThat(types)
+            .filteredOn(type -> type.getSimpleName().endsWith("Dispatch"))
+            .isNotEmpty()
+            .allSatisfy(type -> assertThat(Modifier.isPublic(type.getModifiers())).isFalse());
+    }
+
+    @Test
+    public void can_resolve_acyclic_equality_without_tracking() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().make(SampleBranchFoo.class));
+
+        SampleBranchFoo left = new SampleBranchFoo(), right = new SampleBranchFoo();
+        left.setFoo(new SampleTypedLeafFoo());
+        left.getFoo().setFoo("foo");
+        right.setFoo(new SampleTypedLeafFoo());
+        right.getFoo().setFoo("foo");
+        Object leftProjection = projectionInstanceOf(types, left), rightProjection = projectionInstanceOf(types, right);
+        assertThat(leftProjection).isEqualTo(rightProjection);
+        assertThat(leftProjection.hashCode()).isEqualTo(rightProjection.hashCode());
+        assertThat(leftProjection.toString()).doesNotContain("Recursive reference");
+
+        Set<Object> checked = Collections.newSetFromMap(new IdentityHashMap<>());
+        assertThat(leftProjection.getClass().getMethod("hashCode", Set.class).invoke(leftProjection, checked))
+            .isEqualTo(leftProjection.hashCode());
+        assertThat(checked).isEmpty();
+
+        Object template = templateInstanceOf(types, SampleBranchFoo.class);
+        template.getClass().getMethod("hashCode", Set.class).invoke(template, checked);
+        assertThat(checked).isEmpty();
+    }
+
+    @Test
+    public void can_resolve_recursive_equality_with_tracking() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().make(
+            SampleBranchRecursiveFoo.class,
+            SampleBranchRecursiveOtherFoo.class
+        ));
+
+        Object template = templateInstanceOf(types, SampleBranchRecursiveFoo.class);
+        set("setFoo", template, template);
+        assertThat(template).isEqualTo(template);
+
+        Set<Object> checked = Collections.newSetFromMap(new IdentityHashMap<>());
+        assertThat(template.getClass().getMethod("hashCode", Set.class).invoke(template, checked))
+            .isEqualTo(template.hashCode());
+        assertThat(checked).containsExactly(template);
+    }
+
+    @Test
+    public void can_resolve_iterative_equality() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.HASHCODE_EQUALS,
+            FeatureGeneration.TO_STRING,
+            FeatureGeneration.ITERATIVE
+        ).make(
+            SampleBranchRecursiveFoo.class,
+            SampleBranchRecursiveOtherFoo.class
+        ));
+
+        SampleBranchRecursiveFoo left = new SampleBranchRecursiveFoo(), right = new SampleBranchRecursiveFoo();
+        SampleBranchRecursiveFoo leftCurrent = left, rightCurrent = right;
+        for (int index = 0; index < 100_000; index++) {
+            leftCurrent.setFoo(new SampleBranchRecursiveOtherFoo());
+            leftCurrent.getFoo().setFoo(new SampleBranchRecursiveFoo());
+            leftCurrent = leftCurrent.getFoo().getFoo();
+            rightCurrent.setFoo(new SampleBranchRecursiveOtherFoo());
+            rightCurrent.getFoo().setFoo(new SampleBranchRecursiveFoo());
+            rightCurrent = rightCurrent.getFoo().getFoo();
+        }
+        Object leftProjection = projectionInstanceOf(types, left), rightProjection = projectionInstanceOf(types, right);
+        assertThat(leftProjection).isEqualTo(rightProjection);
+        assertThat(leftProjection.hashCode()).isEqualTo(rightProjection.hashCode());
+        assertThat(leftProjection.toString()).contains(" - foo: ");
+
+        rightCurrent.setFoo(new SampleBranchRecursiveOtherFoo());
+        assertThat(leftProjection).isNotEqualTo(rightProjection);
+
+        leftCurrent.setFoo(new SampleBranchRecursiveOtherFoo());
+        leftCurrent.getFoo().setFoo(left);
+        assertThat(leftProjection).isEqualTo(leftProjection);
+        assertThat(leftProjection.toString()).contains("Recursive reference to ");
+
+        Object template = templateInstanceOf(types, SampleBranchRecursiveFoo.class), current = template;
+        for (int index = 0; index < 100_000; index++) {
+            Object next = templateInstanceOf(types, SampleBranchRecursiveFoo.class);
+            set("setFoo", current, next);
+            current = next;
+        }
+        assertThat(template).isNotEqualTo(current);
+        assertThat(template.hashCode()).isNotZero();
+        assertThat(template.toString()).contains(" - foo: ");
+
+        set("setFoo", current, template);
+        assertThat(template).isEqualTo(template);
+        assertThat(template.toString()).contains("Recursive reference to ");
+    }
+
+    @Test
+    public void can_resolve_iterative_copy() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.READ_DELEGATE,
+            FeatureGeneration.HASHCODE_EQUALS,
+            FeatureGeneration.ITERATIVE
+        ).make(
+            SampleBranchRecursiveFoo.class,
+            SampleBranchRecursiveOtherFoo.class
+        ));
+
+        SampleBranchRecursiveFoo foo = new SampleBranchRecursiveFoo(), current = foo;
+        for (int index = 0; index < 100_000; index++) {
+            current.setFoo(new SampleBranchRecursiveOtherFoo());
+            current.getFoo().setFoo(new SampleBranchRecursiveFoo());
+            current = current.getFoo().getFoo();
+        }
+        Object projection = projectionInstanceOf(types, foo);
+        Object copy = projection.getClass().getMethod("copy").invoke(projection);
+        assertThat(getOptional("delegate", copy).orElseThrow()).isNotSameAs(foo);
+        assertThat(copy).isEqualTo(projection);
+
+        Object template = projection.getClass().getMethod("copyToTemplate").invoke(projection);
+        assertThat(template.getClass()).isEqualTo(templateOf(types, SampleBranchRecursiveFoo.class));
+        assertThat(template).isEqualTo(template.getClass().getMethod("copy").invoke(template));
+
+        Object root = templateInstanceOf(types, SampleBranchRecursiveFoo.class), last = root;
+        for (int index = 0; index < 100_000; index++) {
+            Object next = templateInstanceOf(types, SampleBranchRecursiveFoo.class);
+            set("setFoo", last, next);
+            last = next;
+        }
+        set("setFoo", last, root);
+        Object recursive = root.getClass().getMethod("copy").invoke(root);
+        assertThat(recursive).isNotSameAs(root);
+        last = recursive;
+        for (int index = 0; index <= 100_000; index++) {
+            last = get("getFoo", last);
+        }
+        assertThat(last).isSameAs(recursive);
+    }
+
+    @Test
+    public void can_resolve_iterative_list_copy() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.READ_DELEGATE,
+            FeatureGeneration.ITERATIVE
+        ).make(
+            SampleBranchListFoo.class
+        ));
+
+        SampleBranchListFoo foo = new SampleBranchListFoo();
+        foo.setFoo(new ArrayList<>());
+        for (int index = 0; index < 100; index++) {
+            SampleTypedLeafFoo value = new SampleTypedLeafFoo();
+            value.setFoo(Integer.toString(index));
+            foo.getFoo().add(value);
+        }
+        SampleTypedLeafFoo shared = new SampleTypedLeafFoo();
+        shared.setFoo("shared");
+        foo.getFoo().add(shared);
+        foo.getFoo().add(shared);
+        Object projection = projectionInstanceOf(types, foo);
+
+        Object copy = ((Optional<?>) projection.getClass()
+            .getMethod("copyTo", Class.class)
+            .invoke(projection, SampleBranchListFoo.class)).orElseThrow();
+        SampleBranchListFoo delegate = (SampleBranchListFoo) getOptional("delegate", copy).orElseThrow();
+        assertThat(delegate.getFoo()).hasSize(102);
+        for (int index = 0; index < 100; index++) {
+            assertThat(delegate.getFoo().get(index)).isNotSameAs(foo.getFoo().get(index));
+            assertThat(delegate.getFoo().get(index).getFoo()).isEqualTo(Integer.toString(index));
+        }
+        assertThat(delegate.getFoo().get(101).getFoo()).isEqualTo("shared");
+
+        Object template = projection.getClass().getMethod("copyToTemplate").invoke(projection);
+        List<Object> values = getList("getFoo", template);
+        assertThat(values).hasSize(102);
+        for (int index = 0; index < 100; index++) {
+            assertThat(get("getFoo", values.get(index))).isEqualTo(Integer.toString(index));
+        }
+        assertThat(get("getFoo", values.get(101))).isEqualTo("shared");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void can_resolve_cached_hash_code() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.HASHCODE_EQUALS,
+            FeatureGeneration.CACHED_HASHCODE
+        ).make(
+            SampleBranchListFoo.class
+        ));
+
+        assertThat(templateOf(types, SampleBranchListFoo.class)).hasDeclaredFields("foo", "cachedHashCode");
+
+        Object template = templateInstanceOf(types, SampleBranchListFoo.class);
+        Object nested = templateInstanceOf(types, SampleTypedLeafFoo.class);
+        set("setFoo", nested, "foo");
+        set("addFoo", template, nested);
+        int hashCode = template.hashCode();
+        Field field = nested.getClass().getDeclaredField("foo");
+        field.setAccessible(true);
+        field.set(nested, "bar");
+        assertThat(template.hashCode()).isEqualTo(hashCode);
+
+        set("setFoo", nested, "bar");
+        assertThat(template.hashCode()).isNotEqualTo(hashCode);
+        set("setFoo", nested, "foo");
+        assertThat(template.hashCode()).isEqualTo(hashCode);
+
+        Object other = templateInstanceOf(types, SampleBranchListFoo.class);
+        set("addFoo", other, nested);
+        int otherHashCode = other.hashCode();
+        set("setFoo", nested, "qux");
+        assertThat(nested.hashCode()).isNotZero();
+        assertThat(template.hashCode()).isNotEqualTo(hashCode);
+        assertThat(other.hashCode()).isNotEqualTo(otherHashCode);
+        set("setFoo", nested, "foo");
+        assertThat(other.hashCode()).isEqualTo(otherHashCode);
+
+        List<Object> values = (List<Object>) get("getFoo", template);
+        values.remove(0);
+        assertThat(template.hashCode()).isNotEqualTo(hashCode);
+
+        SampleTypedLeafFoo delegate = new SampleTypedLeafFoo();
+        delegate.setFoo("foo");
+        values.add(projectionInstanceOf(types, delegate));
+        int projectedHashCode = template.hashCode();
+        delegate.setFoo("bar");
+        assertThat(template.hashCode()).isNotEqualTo(projectedHashCode);
+    }
+
+    @Test
+    public void can_resolve_cached_recursive_hash_code() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.HASHCODE_EQUALS,
+            FeatureGeneration.CACHED_HASHCODE
+        ).make(
+            SampleBranchRecursiveFoo.class,
+            SampleBranchRecursiveOtherFoo.class
+        ));
+
+        Object template = templateInstanceOf(types, SampleBranchRecursiveFoo.class);
+        Object nested = templateInstanceOf(types, SampleBranchRecursiveFoo.class);
+        set("setFoo", template, nested);
+        int hashCode = template.hashCode();
+        assertThat(template.hashCode()).isEqualTo(hashCode);
+
+        set("setFoo", nested, templateInstanceOf(types, SampleBranchRecursiveFoo.class));
+        assertThat(template.hashCode()).isNotEqualTo(hashCode);
+
+        set("setFoo", nested, template);
+        int recursiveHashCode = template.hashCode();
+        assertThat(template.hashCode()).isEqualTo(recursiveHashCode);
+    }
+
+    @Test
+    public void can_resolve_fingerprint() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.FINGERPRINT
+        ).make(
+            SampleBranchFoo.class,
+            SampleBranchOtherFoo.class
+        ));
+
+        Class<?> structure = structureOf(types, SampleBranchFoo.class);
+        Method fingerprint = structure.getMethod("fingerprint"),
+            structurallyEquals = structure.getMethod("structurallyEquals", structure);
+
+        SampleBranchFoo foo = new SampleBranchFoo();
+        foo.setFoo(new SampleTypedLeafFoo());
+        foo.getFoo().setFoo("foo");
+        SampleBranchOtherFoo otherFoo = new SampleBranchOtherFoo();
+        otherFoo.setFoo(new SampleTypedLeafOtherFoo());
+        otherFoo.getFoo().setFoo("foo");
+        Object projection = projectionInstanceOf(types, foo), otherProjection = projectionInstanceOf(types, otherFoo);
+        assertThat(projection).isNotEqualTo(otherProjection);
+        assertThat(structurallyEquals.invoke(projection, otherProjection)).isEqualTo(true);
+        assertThat(fingerprint.invoke(projection)).isEqualTo(fingerprint.invoke(otherProjection));
+        assertThat(fingerprint.invoke(projection)).isEqualTo(-5197239843720443719L);
+
+        Object template = templateInstanceOf(types, SampleBranchFoo.class),
+            nested = templateInstanceOf(types, SampleTypedLeafFoo.class);
+        set("setFoo", nested, "foo");
+        set("setFoo", template, nested);
+        assertThat(structurallyEquals.invoke(template, projection)).isEqualTo(true);
+        assertThat(structurallyEquals.invoke(projection, template)).isEqualTo(true);
+        assertThat(fingerprint.invoke(template)).isEqualTo(fingerprint.invoke(projection));
+
+        otherFoo.getFoo().setFoo("bar");
+        assertThat(structurallyEquals.invoke(projection, otherProjection)).isEqualTo(false);
+        assertThat(fingerprint.invoke(projection)).isNotEqualTo(fingerprint.invoke(otherProjection));
+
+        otherFoo.setFoo(null);
+        assertThat(structurallyEquals.invoke(otherProjection, projection)).isEqualTo(false);
+        assertThat(structurallyEquals.invoke(projection, (Object) null)).isEqualTo(false);
+        assertThat(fingerprint.invoke(otherProjection)).isNotEqualTo(fingerprint.invoke(projection));
+    }
+
+    @Test
+    public void can_resolve_recursive_fingerprint() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.FINGERPRINT
+        ).make(
+            SampleBranchRecursiveFoo.class
+        ));
+
+        Class<?> structure = structureOf(types, SampleBranchRecursiveFoo.class);
+        Method fingerprint = structure.getMethod("fingerprint"),
+            structurallyEquals = structure.getMethod("structurallyEquals", structure);
+
+        SampleBranchRecursiveFoo foo = new SampleBranchRecursiveFoo();
+        foo.setFoo(new SampleBranchRecursiveOtherFoo());
+        foo.getFoo().setFoo(foo);
+        Object projection = projectionInstanceOf(types, foo);
+        assertThat(structurallyEquals.invoke(projection, projection)).isEqualTo(true);
+        assertThat(fingerprint.invoke(projection)).isEqualTo(fingerprint.invoke(projectionInstanceOf(types, foo)));
+
+        Object template = templateInstanceOf(types, SampleBranchRecursiveFoo.class),
+            nested = templateInstanceOf(types, SampleBranchRecursiveOtherFoo.class);
+        set("setFoo", template, nested);
+        set("setFoo", nested, template);
+        assertThat(structurallyEquals.invoke(template, projection)).isEqualTo(true);
+        assertThat(fingerprint.invoke(template)).isEqualTo(fingerprint.invoke(projection));
+    }
+
+    @Test
+    public void can_resolve_shared_fingerprint() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.FINGERPRINT
+        ).make(
+            SampleBranchRecursiveListFoo.class
+        ));
+
+        Class<?> structure = structureOf(types, SampleBranchRecursiveListFoo.class);
+        Method fingerprint = structure.getMethod("fingerprint"),
+            structurallyEquals = structure.getMethod("structurallyEquals", structure);
+
+        SampleBranchRecursiveListFoo shared = new SampleBranchRecursiveListFoo(), other = new SampleBranchRecursiveListFoo();
+        shared.setBar("bar");
+        other.setBar("bar");
+        SampleBranchRecursiveListFoo foo = new SampleBranchRecursiveListFoo(), copied = new SampleBranchRecursiveListFoo();
+        foo.setFoo(Arrays.asList(shared, shared));
+        copied.setFoo(Arrays.asList(shared, other));
+        Object projection = projectionInstanceOf(types, foo), otherProjection = projectionInstanceOf(types, copied);
+        assertThat(structurallyEquals.invoke(projection, otherProjection)).isEqualTo(true);
+        assertThat(fingerprint.invoke(projection)).isEqualTo(fingerprint.invoke(otherProjection));
+
+        other.setBar("qux");
+        assertThat(structurallyEquals.invoke(projection, otherProjection)).isEqualTo(false);
+        assertThat(fingerprint.invoke(projection)).isNotEqualTo(fingerprint.invoke(otherProjection));
+    }
+
+    @Test
+    public void can_resolve_fast_copy() throws Exception {
+        List<Class<?>> types = compiler.apply(new StructuralType().withFeatures(
+            FeatureGeneration.COPY,
+            FeatureGeneration.READ_DELEGATE,
+            FeatureGeneration.FAST_COPY
+        ).withParallelCopyThreshold(10).make(
+            SampleBranchListFoo.class
+        ));
+
+        SampleBranchListFoo foo = new SampleBranchListFoo();
+        foo.setFoo(new ArrayList<>());
+        for (int index = 0; index < 100; index++) {
+            SampleTypedLeafFoo value = new SampleTypedLeafFoo();
+            value.setFoo(Integer.toString(index));
+            foo.getFoo().add(value);
+        }
+        SampleTypedLeafFoo shared = new SampleTypedLeafFoo();
+        shared.setFoo("shared");
+        foo.getFoo().add(shared);
+        foo.getFoo().add(shared);
+        Object projection = projectionInstanceOf(types, foo);
+
+        Object copy = ((Optional<?>) projection.getClass()
+            .getMethod("copyTo", Class.class)
+            .invoke(projection, SampleBranchListFoo.class)).orElseThrow();
+        SampleBranchListFoo delegate = (SampleBranchListFoo) getOptional("delegate", copy).orElseThrow();
+        assertThat(delegate).isNotSameAs(foo);
+        assertThat(delegate.getFoo()).hasSize(102);
+        for (int index = 0; index < 100; index++) {
+            assertThat(delegate.getFoo().get(index)).isNotSameAs(foo.getFoo().get(index));
+            assertThat(delegate.getFoo().get(index).getFoo()).isEqualTo(Integer.toString(index));
+        }
+        assertThat(delegate.getFoo().get(100).getFoo()).isEqualTo("shared");
+        assertThat(delegate.getFoo().get(100)).isNotSameAs(delegate.getFoo().get(101));
+
+        Object template = projection.getClass().getMethod("copyToTemplate").invoke(projection);
+        List<Object> values = getList("getFoo", template);
+        assertThat(values).hasSize(102);
+        for (int index = 0; index < 100; index++) {
+            assertThat(get("getFoo", values.get(index))).isEqualTo(Integer.toString(index));
+        }
+        assertThat(values.get(100)).isNotSameAs(values.get(101));
+    }
+
+    @Test
+    public void can_resolve_split_methods() throws Exception {
+        List<String> splits = new ArrayList<>();
+        List<Class<?>> types = compiler.apply(new StructuralType()
+            .withMethodSizeLimit(1)
+            .withMethodSplitListener((type, method) -> splits.add(type.simpleName() + "." + method))
+            .make(SampleEnumNestedBranchFoo.class));
+
+        String template = templateOf(types, SampleEnumNestedBranchFoo.class).getSimpleName();
+        String projection = projectionOf(types, SampleEnumNestedBranchFoo.class).getSimpleName();
+        assertThat(splits).containsExactlyInAnyOrder(
+            template + ".copyOf", template + ".doHashCode", template + ".doEquals", template + ".doToString",
+            projection + ".copyOf", projection + ".doHashCode", projection + ".doEquals", projection + ".doToString"
+        );
+
+        assertThat(projectionOf(types, SampleEnumNestedBranchFoo.class))
+            .hasDeclaredMethods("doHashCode0", "doHashCode1", "doEquals0", "doEquals1", "doToString0", "doToString1");
+
+        SampleEnumNestedBranchFoo left = new SampleEnumNestedBranchFoo(), right = new SampleEnumNestedBranchFoo();
+        left.setFoo(SampleEnumFoo.FOO);
+        left.setBar(SampleEnumFoo.BAR);
+        right.setFoo(SampleEnumFoo.FOO);
+        right.setBar(SampleEnumFoo.BAR);
+        Object leftProjection = projectionInstanceOf(types, left), rightProjection = projectionInstanceOf(types, right);
+        assertThat(leftProjection).isEqualTo(rightProjection);
+        assertThat(leftProjection.hashCode()).isEqualTo(rightProjection.hashCode());
+        assertThat(leftProjection.toString()).contains(" - foo: ", " - bar: ");
+
+        right.setBar(SampleEnumFoo.FOO);
+        assertThat(leftProjection).isNotEqualTo(rightProjection);
+
+        Object copy = leftProjection.getClass().getMethod("copy").invoke(leftProjection);
+        assertThat(copy).isEqualTo(leftProjection);
+    }
+
     private static Class<?> projectionOf(List<Class<?>> candidates, Class<?> type) {
         return candidates.stream()
             .filter(candidate -> candidate.isAnnotationPresent(ProjectionOf.class))
@@ -4867,6 +6091,16 @@ public class StructuralTypeTest {
             .orElseThrow(() -> new AssertionError("Cannot find projection for " + type));
     }
 
+    @SuppressWarnings("unchecked")
+    private static Rebindable<Object, Object> cursorOf(List<Class<?>> types, Class<?> type) throws Exception {
+        return (Rebindable<Object, Object>) Arrays.stream(projectionOf(types, type).getDeclaredClasses())
+            .filter(nested -> nested.getSimpleName().equals("Cursor"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Cannot find cursor"))
+            .getConstructor()
+            .newInstance();
+    }
+
     private static Class<?> structureOf(List<Class<?>> candidates, Class<?> type) {
         return projectionOf(candidates, type).getAnnotation(DelegationOf.class).value();
     }
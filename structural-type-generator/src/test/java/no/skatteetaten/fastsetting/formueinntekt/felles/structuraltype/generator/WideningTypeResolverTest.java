@@ -0,0 +1,139 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.lang.model.element.Modifier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+
+@RunWith(Parameterized.class)
+public class WideningTypeResolverTest {
+
+    @Parameterized.Parameters(name = "{0} + {1} -> {2}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][] {
+            // primitive widening
+            { byte.class, int.class, int.class, (byte) 42, 42, 84, 84 },
+            { short.class, long.class, long.class, (short) 42, 42L, 84L, 84L },
+            { int.class, long.class, long.class, 42, 42L, 84L, 84L },
+            { int.class, double.class, double.class, 42, 42d, 84d, 84d },
+            { int.class, float.class, double.class, 42, 42d, 84f, 84d },
+            { float.class, double.class, double.class, 42f, 42d, 84d, 84d },
+            // wrapper widening
+            { int.class, Integer.class, Integer.class, 42, 42, 84, 84 },
+            { short.class, Integer.class, Integer.class, (short) 42, 42, 84, 84 },
+            { int.class, Long.class, Long.class, 42, 42L, 84L, 84L },
+            { Integer.class, Long.class, Long.class, 42, 42L, 84L, 84L },
+            { Float.class, Double.class, Double.class, 42f, 42d, 84d, 84d },
+            // lossy widening
+            { long.class, double.class, BigDecimal.class, 42L, BigDecimal.valueOf(42L), 84d, BigDecimal.valueOf(84d) },
+            { long.class, float.class, BigDecimal.class, 42L, BigDecimal.valueOf(42L), 84f, BigDecimal.valueOf(84f) },
+            // non-numeric
+            { int.class, String.class, String.class, 42, "42", "foo", "foo" },
+            { boolean.class, Boolean.class, Boolean.class, true, true, false, false }
+        });
+    }
+
+    private final Class<?> source, target, merged;
+    private final Object sourceValue, mergedSourceValue, targetValue, mergedTargetValue;
+
+    public WideningTypeResolverTest(
+        Class<?> source, Class<?> target, Class<?> merged,
+        Object sourceValue, Object mergedSourceValue, Object targetValue, Object mergedTargetValue
+    ) {
+        this.source = source;
+        this.target = target;
+        this.merged = merged;
+        this.sourceValue = sourceValue;
+        this.targetValue = targetValue;
+        this.mergedSourceValue = mergedSourceValue;
+        this.mergedTargetValue = mergedTargetValue;
+    }
+
+    private Function<Map<ClassName, JavaFile>, List<Class<?>>> compiler;
+
+    private TypeResolver.WithPairedMerge typeResolver;
+
+    @Before
+    public void setUp() {
+        compiler = new InMemoryCompiler();
+        typeResolver = new WideningTypeResolver();
+    }
+
+    @Test
+    public void testGeneralization() {
+        assertThat(typeResolver.merge(source, target)).isEqualTo(merged);
+    }
+
+    @Test
+    public void testSourceToMergedMapping() {
+        assertThat(converter(source, merged, typeResolver.convert(
+            source, merged, CodeBlock.builder().add("value").build()
+        ).orElseGet(() -> CodeBlock.builder().add("value").build())).apply(sourceValue)).isEqualTo(mergedSourceValue);
+    }
+
+    @Test
+    public void testTargetToMergedMapping() {
+        assertThat(converter(target, merged, typeResolver.convert(
+            target, merged, CodeBlock.builder().add("value").build()
+        ).orElseGet(() -> CodeBlock.builder().add("value").build())).apply(targetValue)).isEqualTo(mergedTargetValue);
+    }
+
+    @Test
+    public void testSourceFromMergedMapping() {
+        assertThat(converter(merged, source, typeResolver.convert(
+            merged, source, CodeBlock.builder().add("value").build()
+        ).orElseGet(() -> CodeBlock.builder().add("value").build())).apply(mergedSourceValue)).isEqualTo(sourceValue);
+    }
+
+    @Test
+    public void testTargetFromMergedMapping() {
+        assertThat(converter(merged, target, typeResolver.convert(
+            merged, target, CodeBlock.builder().add("value").build()
+        ).orElseGet(() -> CodeBlock.builder().add("value").build())).apply(mergedTargetValue)).isEqualTo(targetValue);
+    }
+
+    private Function<Object, Object> converter(Class<?> input, Class<?> output, CodeBlock code) {
+        List<Class<?>> types = compiler.apply(Collections.singletonMap(
+            ClassName.get(WideningTypeResolverTest.class.getPackageName(), "Sample"),
+            JavaFile.builder(
+                WideningTypeResolverTest.class.getPackageName(),
+                TypeSpec.classBuilder(ClassName.get(WideningTypeResolverTest.class.getPackageName(), "Sample"))
+                    .addModifiers(Modifier.PUBLIC)
+                    .addMethod(MethodSpec.methodBuilder("convert")
+                        .returns(output)
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(input, "value")
+                        .addCode(CodeBlock.builder().addStatement("return $L", code).build())
+                        .build()).build()
+            ).skipJavaLangImports(true).build())
+        );
+
+        assertThat(types).hasSize(1);
+
+        return value -> {
+            try {
+                return types.get(0).getMethod("convert", input).invoke(null, value);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package no.skatteetaten.fastsetting.formueinntekt.felles.structuraltype.generator.sample;
+
+import java.util.List;
+
+public class SampleBranchRecursiveListFoo {
+
+    private String bar;
+
+    private List<SampleBranchRecursiveListFoo> foo;
+
+    public String getBar() {
+        return bar;
+    }
+
+    public void setBar(String bar) {
+        this.bar = bar;
+    }
+
+    public List<SampleBranchRecursiveListFoo> getFoo() {
+        return foo;
+    }
+
+    public void setFoo(List<SampleBranchRecursiveListFoo> foo) {
+        this.foo = foo;
+    }
+}
@@ -98,6 +98,12 @@ public class StructuralTypeMojo extends AbstractMojo {
     @Parameter(required = true, defaultValue = "false")
     public boolean exceptionOnEmptySetter;
 
+    @Parameter(required = true, defaultValue = "8000")
+    public int methodSizeLimit;
+
+    @Parameter(required = true, defaultValue = "10000")
+    public int parallelCopyThreshold;
+
     @Parameter
     public List<NormalizationDefinition> normalizations = Collections.emptyList();
 
@@ -196,6 +202,9 @@ public class StructuralTypeMojo extends AbstractMojo {
                     .toArray(Function[]::new))
                 .withPredefinitions(structures.toArray(Class<?>[]::new))
                 .withExceptionOnEmptySetter(exceptionOnEmptySetter)
+                .withMethodSizeLimit(methodSizeLimit)
+                .withMethodSplitListener((type, method) -> getLog().info("Split method " + method + " of " + type + " to stay within " + methodSizeLimit + " bytes"))
+                .withParallelCopyThreshold(parallelCopyThreshold)
                 .withCondition((type, property) -> exclusions.stream().noneMatch(exclusion -> exclusion.test(type, property)))
                 .withNamingStrategy(DecoratingNamingStrategy.withDuplicationResolution(DecoratingNamingStrategy.withReplacements(
                     new PrioritizingNamingStrategy(